@@ -41,7 +41,8 @@ public interface ICompletionRankingProvider {
 	 * @param proposals The completion proposals accepted by {@link CompletionProposalRequestor}.
 	 * @param context The completion context accepted by {@link CompletionProposalRequestor}.
 	 * @param unit The compilation unit where the completion happens.
-	 * @param monitor The progress monitor.
+	 * @param monitor The progress monitor, canceled when the completion is canceled or when the provider
+	 * takes too long. Providers should check it regularly, since they are not interrupted.
 	 * 
 	 * @return A {@link CompletionProposalRequestor} array. Each element of the array represents the ranking result
 	 * of the completion proposal in the same order of the input proposal list. If the provider does not want to add
@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal;
+
+import java.lang.ref.SoftReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.manipulation.CoreASTProvider;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+
+/**
+ * Keeps the binding-resolved ASTs of the recently used working copies, on top
+ * of {@link CoreASTProvider} which only retains the AST of the active element.
+ *
+ * An entry is keyed by the working copy and the modification stamp of its
+ * document. Since bindings depend on the other compilation units, all the
+ * entries are dropped whenever a working copy changes or the Java model
+ * reports a change. The cache is bounded by a number of entries and by the
+ * estimated footprint of the retained ASTs, and the ASTs are only softly
+ * reachable so that they can be reclaimed under memory pressure.
+ */
+public final class ASTCache {
+
+	private static final int MAX_ENTRIES = 8;
+
+	/**
+	 * Budget for the total footprint of the retained ASTs, as estimated by
+	 * {@link CompilationUnit#subtreeBytes()}.
+	 */
+	private static final long MAX_BYTES = 32L * 1024 * 1024;
+
+	private static final ASTCache INSTANCE = new ASTCache();
+
+	private final Map<ICompilationUnit, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private long bytes;
+	private long generation;
+
+	private ASTCache() {
+		IElementChangedListener listener = (ElementChangedEvent event) -> invalidate();
+		JavaCore.addElementChangedListener(listener, ElementChangedEvent.POST_CHANGE);
+	}
+
+	public static ASTCache getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Returns a shared AST for the given type root, like
+	 * {@link CoreASTProvider#getAST(ITypeRoot, CoreASTProvider.WAIT_FLAG, IProgressMonitor)},
+	 * but ASTs created for working copies other than the active element are
+	 * retained until they become outdated. The AST of the active element is
+	 * owned by the provider.
+	 *
+	 * Clients must not modify the returned AST.
+	 */
+	public CompilationUnit getAST(ITypeRoot input, CoreASTProvider.WAIT_FLAG waitFlag, IProgressMonitor monitor) {
+		CoreASTProvider provider = CoreASTProvider.getInstance();
+		if (!(input instanceof ICompilationUnit unit) || !unit.isWorkingCopy()) {
+			return provider.getAST(input, waitFlag, monitor);
+		}
+		long stamp = getModificationStamp(unit);
+		long currentGeneration;
+		synchronized (entries) {
+			CompilationUnit ast = get(unit, stamp);
+			if (ast != null) {
+				return ast;
+			}
+			currentGeneration = generation;
+		}
+		boolean active = unit.equals(provider.getActiveJavaElement());
+		CompilationUnit ast = provider.getAST(unit, waitFlag, monitor);
+		if (ast == null || active || stamp == IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP || (monitor != null && monitor.isCanceled())) {
+			return ast;
+		}
+		int size = ast.subtreeBytes();
+		synchronized (entries) {
+			if (currentGeneration == generation && stamp == getModificationStamp(unit)) {
+				put(unit, ast, stamp, size);
+			}
+		}
+		return ast;
+	}
+
+	/**
+	 * Drops all the retained ASTs.
+	 */
+	public void invalidate() {
+		synchronized (entries) {
+			entries.clear();
+			bytes = 0;
+			generation++;
+		}
+	}
+
+	/**
+	 * @return the number of retained ASTs
+	 */
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	private CompilationUnit get(ICompilationUnit unit, long stamp) {
+		Entry entry = entries.get(unit);
+		if (entry == null) {
+			return null;
+		}
+		CompilationUnit ast = entry.ast.get();
+		if (ast == null || entry.stamp != stamp) {
+			remove(unit);
+			return null;
+		}
+		return ast;
+	}
+
+	private void put(ICompilationUnit unit, CompilationUnit ast, long stamp, int size) {
+		if (size > MAX_BYTES) {
+			return;
+		}
+		remove(unit);
+		entries.put(unit, new Entry(ast, stamp, size));
+		bytes += size;
+		Iterator<Entry> iterator = entries.values().iterator();
+		while (iterator.hasNext() && (entries.size() > MAX_ENTRIES || bytes > MAX_BYTES)) {
+			// least recently used first
+			bytes -= iterator.next().size;
+			iterator.remove();
+		}
+	}
+
+	private void remove(ICompilationUnit unit) {
+		Entry entry = entries.remove(unit);
+		if (entry != null) {
+			bytes -= entry.size;
+		}
+	}
+
+	private static long getModificationStamp(ICompilationUnit unit) {
+		try {
+			IBuffer buffer = unit.getBuffer();
+			if (buffer instanceof DocumentAdapter adapter) {
+				IDocument document = adapter.getDocument();
+				if (document instanceof IDocumentExtension4 extension) {
+					return extension.getModificationStamp();
+				}
+			}
+		} catch (JavaModelException e) {
+			// not cached
+		}
+		return IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+	}
+
+	private static class Entry {
+		private final SoftReference<CompilationUnit> ast;
+		private final long stamp;
+		private final int size;
+
+		private Entry(CompilationUnit ast, long stamp, int size) {
+			this.ast = new SoftReference<>(ast);
+			this.stamp = stamp;
+			this.size = size;
+		}
+	}
+
+}
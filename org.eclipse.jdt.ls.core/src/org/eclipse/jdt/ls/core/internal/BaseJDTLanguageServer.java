@@ -16,10 +16,12 @@ package org.eclipse.jdt.ls.core.internal;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.jdt.ls.core.internal.JavaClientConnection.JavaLanguageClient;
 import org.eclipse.lsp4j.Registration;
 import org.eclipse.lsp4j.RegistrationParams;
@@ -83,8 +85,32 @@ public class BaseJDTLanguageServer {
 		}
 	}
 
-	protected <R> CompletableFuture<R> computeAsync(Function<IProgressMonitor, R> code) {
-		return CompletableFutures.computeAsync(cc -> code.apply(toMonitor(cc)));
+	protected <R> CompletableFuture<R> computeAsync(String request, Function<IProgressMonitor, R> code) {
+		return measure(request, cc -> code.apply(toMonitor(cc)));
+	}
+
+	/**
+	 * Computes the given request asynchronously, recording its queue time,
+	 * execution time and cancellation in {@link RequestMetrics}.
+	 *
+	 * @param request
+	 *            the protocol method name of the request, e.g.
+	 *            <code>textDocument/completion</code>
+	 */
+	protected <R> CompletableFuture<R> measure(String request, Function<CancelChecker, R> code) {
+		long scheduled = System.nanoTime();
+		return CompletableFutures.computeAsync(cc -> {
+			long start = System.nanoTime();
+			boolean cancelled = false;
+			try {
+				return code.apply(cc);
+			} catch (CancellationException | OperationCanceledException e) {
+				cancelled = true;
+				throw e;
+			} finally {
+				RequestMetrics.getInstance().record(request, start - scheduled, System.nanoTime() - start, cancelled || cc.isCanceled());
+			}
+		});
 	}
 
 	protected IProgressMonitor toMonitor(CancelChecker checker) {
@@ -29,6 +29,7 @@ import org.eclipse.jdt.core.IBuffer;
 import org.eclipse.jdt.core.IBufferChangedListener;
 import org.eclipse.jdt.core.IOpenable;
 import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.ls.core.internal.WorkingCopyDocumentFactory.WorkingCopyDocument;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
@@ -92,6 +93,7 @@ public class DocumentAdapter implements IBuffer, IDocumentListener {
 
 	private ITextFileBuffer fTextFileBuffer;
 	private IDocument fDocument;
+	private LineIndex fLineIndex;
 
 
 	public DocumentAdapter(IOpenable owner, IFile file) {
@@ -167,6 +169,7 @@ public class DocumentAdapter implements IBuffer, IDocumentListener {
 			fireBufferChanged(new BufferChangedEvent(this, 0, 0, null));
 			fBufferListeners.clear();
 			fDocument = null;
+			fLineIndex = null;
 		}
 	}
 
@@ -190,6 +193,20 @@ public class DocumentAdapter implements IBuffer, IDocumentListener {
 		return fDocument != null ? fDocument.get() : null;
 	}
 
+	/**
+	 * Returns an immutable view of the current contents. Working copy documents
+	 * share their text with the view, other documents are copied.
+	 *
+	 * @return the snapshot, or <code>null</code> if the buffer has no contents
+	 */
+	public CharSequence getSnapshot() {
+		IDocument document = fDocument;
+		if (document instanceof WorkingCopyDocument workingCopyDocument) {
+			return workingCopyDocument.getSnapshot();
+		}
+		return document != null ? document.get() : null;
+	}
+
 	@Override
 	public int getLength() {
 		return fDocument.getLength();
@@ -276,6 +293,8 @@ public class DocumentAdapter implements IBuffer, IDocumentListener {
 				}
 				fDocument.addDocumentListener(this);
 				((ISynchronizable)fDocument).setLockObject(lock);
+				// kept up to date by documentChanged, under the lock of the document
+				fLineIndex = LineIndex.create(fDocument.get());
 			}
 		}
 		if (!contents.equals(fDocument.get())) {
@@ -290,9 +309,68 @@ public class DocumentAdapter implements IBuffer, IDocumentListener {
 
 	@Override
 	public void documentChanged(DocumentEvent event) {
+		synchronized (lock) {
+			if (fLineIndex != null) {
+				IDocument document = event.getDocument();
+				String text = event.getText();
+				int offset = event.getOffset();
+				int end = offset + (text == null ? 0 : text.length());
+				if (offset == 0 && end == document.getLength()) {
+					// the whole contents are replaced
+					fLineIndex = LineIndex.create(text == null ? "" : text);
+				} else {
+					try {
+						char previous = offset > 0 ? document.getChar(offset - 1) : 0;
+						char next = end < document.getLength() ? document.getChar(end) : 0;
+						fLineIndex.replace(offset, event.getLength(), text, previous, next);
+					} catch (BadLocationException e) {
+						// out of sync
+						fLineIndex = LineIndex.create(document.get());
+					}
+				}
+			}
+		}
 		fireBufferChanged(new BufferChangedEvent(this, event.getOffset(), event.getLength(), event.getText()));
 	}
 
+	/**
+	 * Converts line, column to an offset, without copying the document
+	 * contents.
+	 *
+	 * @return the offset
+	 * @throws BadLocationException
+	 *             if the line is invalid
+	 */
+	public int toOffset(int line, int column) throws BadLocationException {
+		synchronized (lock) {
+			return getLineIndex().toOffset(line, column);
+		}
+	}
+
+	/**
+	 * Converts an offset to line number and column, without copying the
+	 * document contents.
+	 *
+	 * @return an array containing the line and the column
+	 * @throws BadLocationException
+	 *             if the offset is invalid
+	 */
+	public int[] toLine(int offset) throws BadLocationException {
+		synchronized (lock) {
+			return getLineIndex().toLine(offset);
+		}
+	}
+
+	/**
+	 * @return the line index of the document, updated with its changes
+	 */
+	private LineIndex getLineIndex() throws BadLocationException {
+		if (fLineIndex == null) {
+			throw new BadLocationException("No document available");
+		}
+		return fLineIndex;
+	}
+
 	private void fireBufferChanged(BufferChangedEvent event) {
 		IBufferChangedListener[] listeners = null;
 		synchronized (lock) {
@@ -302,4 +380,4 @@ public class DocumentAdapter implements IBuffer, IDocumentListener {
 			listener.bufferChanged(event);
 		}
 	}
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -60,7 +60,11 @@ public class JDTDelegateCommandHandler implements IDelegateCommandHandler {
 			switch (commandId) {
 				case "java.edit.organizeImports":
 					final OrganizeImportsCommand c = new OrganizeImportsCommand();
-					final Object result = c.organizeImports(arguments);
+					final Object result = c.organizeImports(arguments, monitor);
+					if (result == null) {
+						// cancelled, the workspace is left unchanged
+						return null;
+					}
 					final boolean applyNow = JavaLanguageServerPlugin.getPreferencesManager().getClientPreferences().isWorkspaceApplyEditSupported();
 					if (applyNow) {
 						JavaLanguageServerPlugin.getInstance().getClientConnection().applyWorkspaceEdit((WorkspaceEdit) result);
@@ -160,6 +164,8 @@ public class JDTDelegateCommandHandler implements IDelegateCommandHandler {
 					String proposalId = (String) arguments.get(1);
 					completionHandler.onDidCompletionItemSelect(requestId, proposalId);
 					return new Object();
+				case "java.metrics":
+					return RequestMetrics.getInstance().getSnapshot();
 				case "java.decompile":
 					String uri = (String) arguments.get(0);
 					try {
@@ -30,6 +30,31 @@ public class JDTEnvironmentUtils {
 	 */
 	public static final String SOCKET_STREAM_DEBUG = "socket.stream.debug";
 
+	/**
+	 * Environment variable or system property holding the file the JSON-RPC
+	 * messages are recorded to, see {@link SessionRecorder}.
+	 */
+	public static final String SESSION_RECORDING = "jdt.ls.session.recording";
+
+	/**
+	 * Environment variable or system property holding the file the request
+	 * metrics are periodically written to, see {@link RequestMetrics}.
+	 */
+	public static final String METRICS_DUMP = "jdt.ls.metrics.dump";
+
+	/**
+	 * Environment variable or system property disabling the asynchronous writer
+	 * of the messages sent to the client when set to {@code false}, see
+	 * {@link OutgoingMessageQueue}.
+	 */
+	public static final String ASYNC_OUTPUT = "jdt.ls.asyncOutput";
+
+	/**
+	 * Environment variable or system property holding the interval between two
+	 * dumps of the request metrics, in seconds.
+	 */
+	public static final String METRICS_DUMP_INTERVAL = "jdt.ls.metrics.dumpInterval";
+
 	/**
 	 * Returns with the client port if set. Otherwise, returns with {@code null}.
 	 * Throw an {@link IllegalStateException} if the port is set but it has an
@@ -69,6 +94,38 @@ public class JDTEnvironmentUtils {
 		return Boolean.parseBoolean(Environment.get(SOCKET_STREAM_DEBUG, "false")) && (Platform.inDebugMode() || Platform.inDevelopmentMode()) && getClientHost() != null && getClientPort() != null;
 	}
 
+	/**
+	 * Returns the file the session is recorded to, or {@code null} if the session
+	 * isn't recorded.
+	 */
+	public static String getSessionRecordingFile() {
+		return Environment.get(SESSION_RECORDING);
+	}
+
+	/**
+	 * Returns the file the request metrics are written to, or {@code null} if
+	 * they aren't dumped.
+	 */
+	public static String getMetricsDumpFile() {
+		return Environment.get(METRICS_DUMP);
+	}
+
+	/**
+	 * Returns the interval between two dumps of the request metrics, in seconds.
+	 * Defaults to 60.
+	 */
+	public static long getMetricsDumpInterval() {
+		try {
+			return Math.max(1, Long.parseLong(Environment.get(METRICS_DUMP_INTERVAL, "60")));
+		} catch (NumberFormatException e) {
+			return 60;
+		}
+	}
+
+	public static boolean isAsyncOutput() {
+		return Boolean.parseBoolean(Environment.get(ASYNC_OUTPUT, "true"));
+	}
+
 	public static boolean isSyntaxServer() {
 		return Boolean.parseBoolean(Environment.get(SYNTAX_SERVER_ID, "false"));
 	}
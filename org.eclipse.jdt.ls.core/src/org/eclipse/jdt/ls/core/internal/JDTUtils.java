@@ -764,6 +764,32 @@ public final class JDTUtils {
 		return sourceRange;
 	}
 
+	/**
+	 * Creates a range for a given java element, like
+	 * {@link #toLocation(IJavaElement, LocationType)} but without resolving the
+	 * URI of its compilation unit or class file. Unlike the location, the range
+	 * of a generated method isn't mapped to its field.
+	 *
+	 * @param element
+	 * @param type the range type. The {@link LocationType#NAME_RANGE name} or {@link LocationType#FULL_RANGE full} range.
+	 * @return range or null
+	 * @throws JavaModelException
+	 */
+	public static Range toRange(IJavaElement element, LocationType type) throws JavaModelException {
+		IOpenable openable = (IOpenable) element.getAncestor(IJavaElement.COMPILATION_UNIT);
+		if (openable == null) {
+			openable = (IOpenable) element.getAncestor(IJavaElement.CLASS_FILE);
+		}
+		if (openable == null || !(element instanceof ISourceReference)) {
+			return null;
+		}
+		ISourceRange range = type.getRange(element);
+		if (SourceRange.isAvailable(range)) {
+			return toRange(openable, range.getOffset(), range.getLength());
+		}
+		return openable instanceof IClassFile ? newRange() : null;
+	}
+
 	/**
 	 * Creates location to the given offset and length for the compilation unit
 	 *
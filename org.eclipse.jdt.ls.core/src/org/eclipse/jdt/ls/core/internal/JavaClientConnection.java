@@ -30,6 +30,7 @@ import org.eclipse.lsp4j.ExecuteCommandParams;
 import org.eclipse.lsp4j.MessageActionItem;
 import org.eclipse.lsp4j.MessageParams;
 import org.eclipse.lsp4j.MessageType;
+import org.eclipse.lsp4j.ProgressParams;
 import org.eclipse.lsp4j.PublishDiagnosticsParams;
 import org.eclipse.lsp4j.RegistrationParams;
 import org.eclipse.lsp4j.ShowMessageRequestParams;
@@ -177,6 +178,13 @@ public class JavaClientConnection {
 		client.publishDiagnostics(diagnostics);
 	}
 
+	/**
+	 * @see {@link LanguageClient#notifyProgress(ProgressParams)}
+	 */
+	public void notifyProgress(ProgressParams params) {
+		client.notifyProgress(params);
+	}
+
 
 	/**
 	 * Sends a message to client to apply the given workspace edit.
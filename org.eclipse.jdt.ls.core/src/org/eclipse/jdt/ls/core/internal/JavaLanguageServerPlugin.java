@@ -51,6 +51,7 @@ import org.eclipse.jdt.ls.core.internal.corext.template.java.JavaContextTypeRegi
 import org.eclipse.jdt.ls.core.internal.corext.template.java.JavaLanguageServerTemplateStore;
 import org.eclipse.jdt.ls.core.internal.handlers.CompletionContributionService;
 import org.eclipse.jdt.ls.core.internal.handlers.JDTLanguageServer;
+import org.eclipse.jdt.ls.core.internal.managers.ActiveProjectBuildOrder;
 import org.eclipse.jdt.ls.core.internal.managers.ContentProviderManager;
 import org.eclipse.jdt.ls.core.internal.managers.DigestStore;
 import org.eclipse.jdt.ls.core.internal.managers.ISourceDownloader;
@@ -163,6 +164,9 @@ public class JavaLanguageServerPlugin extends Plugin {
 		}
 		contentProviderManager = new ContentProviderManager(preferenceManager);
 		nonProjectDiagnosticsState = new DiagnosticsState();
+		RequestMetrics.getInstance().start();
+		// the build order of the previous session is stale
+		ActiveProjectBuildOrder.getInstance().reset();
 		logInfo(getClass() + " is started");
 		configureProxy();
 		// turn off substring code completion if isn't explicitly set
@@ -334,7 +338,12 @@ public class JavaLanguageServerPlugin extends Plugin {
 				AsynchronousSocketChannel socketChannel = serverSocket.accept().get();
 				InputStream in = Channels.newInputStream(socketChannel);
 				OutputStream out = Channels.newOutputStream(socketChannel);
-				Function<MessageConsumer, MessageConsumer> messageConsumer = it -> it;
+				Function<MessageConsumer, MessageConsumer> messageConsumer = SessionRecorder.wrap(it -> it);
+				if (JDTEnvironmentUtils.isAsyncOutput()) {
+					OutgoingMessageQueue outgoing = new OutgoingMessageQueue();
+					out = outgoing.wrap(out);
+					messageConsumer = outgoing.andThen(messageConsumer);
+				}
 				launcher = Launcher.createIoLauncher(protocol, JavaLanguageClient.class, in, out, executorService, messageConsumer);
 			} catch (InterruptedException | ExecutionException e) {
 				throw new RuntimeException("Error when opening a socket channel at " + host + ":" + port + ".", e);
@@ -349,6 +358,13 @@ public class JavaLanguageServerPlugin extends Plugin {
 			} else {
 				wrapper = new ParentProcessWatcher(this.languageServer);
 			}
+			wrapper = SessionRecorder.wrap(wrapper);
+			if (JDTEnvironmentUtils.isAsyncOutput()) {
+				// the queue needs to see the consumers created by the launcher
+				OutgoingMessageQueue outgoing = new OutgoingMessageQueue();
+				out = outgoing.wrap(out);
+				wrapper = outgoing.andThen(wrapper);
+			}
 			launcher = Launcher.createLauncher(protocol, JavaLanguageClient.class, in, out, executorService, wrapper);
 		}
 		protocol.connectClient(launcher.getRemoteProxy());
@@ -365,6 +381,7 @@ public class JavaLanguageServerPlugin extends Plugin {
 		JavaLanguageServerPlugin.pluginInstance = null;
 		JavaLanguageServerPlugin.context = null;
 		ResourcesPlugin.getWorkspace().removeSaveParticipant(IConstants.PLUGIN_ID);
+		RequestMetrics.getInstance().stop();
 		projectsManager = null;
 		contentProviderManager = null;
 		languageServer = null;
@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of durations, with a relative precision of about 3%.
+ *
+ * The durations are recorded in microseconds, in buckets whose width doubles
+ * every 32 buckets, like HDR histograms with 2 significant digits. Durations
+ * above about an hour are recorded in the last bucket.
+ */
+public class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	private static final int MAX_VALUE_BITS = 32;
+	private static final long MAX_VALUE = (1L << MAX_VALUE_BITS) - 1;
+	private static final int BUCKET_COUNT = (MAX_VALUE_BITS - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder sum = new LongAdder();
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+	/**
+	 * Records a duration.
+	 *
+	 * @param nanos
+	 *            the duration in nanoseconds
+	 */
+	public void record(long nanos) {
+		long micros = Math.min(MAX_VALUE, Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)));
+		buckets.incrementAndGet(getBucket(micros));
+		count.increment();
+		sum.add(micros);
+		max.accumulate(micros);
+	}
+
+	public long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * Returns the duration below which the given percentage of the recorded
+	 * durations fall, in microseconds.
+	 */
+	public long getPercentile(double percentile) {
+		long total = getCount();
+		if (total == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+		if (rank >= total) {
+			return max.get();
+		}
+		long seen = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			seen += buckets.get(i);
+			if (seen >= rank) {
+				return Math.min(getBucketMiddle(i), max.get());
+			}
+		}
+		return max.get();
+	}
+
+	/**
+	 * Returns the count, mean, max and main percentiles, in milliseconds.
+	 */
+	public Map<String, Object> getSummary() {
+		Map<String, Object> summary = new LinkedHashMap<>();
+		long total = getCount();
+		summary.put("count", total);
+		summary.put("mean", total == 0 ? 0 : toMillis(sum.sum() / total));
+		summary.put("p50", toMillis(getPercentile(50)));
+		summary.put("p90", toMillis(getPercentile(90)));
+		summary.put("p99", toMillis(getPercentile(99)));
+		summary.put("max", toMillis(max.get()));
+		return summary;
+	}
+
+	static int getBucket(long micros) {
+		if (micros < SUB_BUCKET_COUNT) {
+			return (int) micros;
+		}
+		int shift = 63 - Long.numberOfLeadingZeros(micros) - SUB_BUCKET_BITS;
+		return shift * SUB_BUCKET_COUNT + (int) (micros >>> shift);
+	}
+
+	static long getBucketMiddle(int bucket) {
+		if (bucket < 2 * SUB_BUCKET_COUNT) {
+			return bucket;
+		}
+		int shift = bucket / SUB_BUCKET_COUNT - 1;
+		long lower = (long) (bucket - shift * SUB_BUCKET_COUNT) << shift;
+		return lower + (1L << (shift - 1));
+	}
+
+	private static double toMillis(long micros) {
+		return Math.round(micros / 100.0) / 10.0;
+	}
+}
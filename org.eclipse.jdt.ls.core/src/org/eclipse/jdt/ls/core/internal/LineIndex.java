@@ -0,0 +1,210 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal;
+
+import java.util.Arrays;
+
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jface.text.BadLocationException;
+
+/**
+ * Sorted array of line start offsets for a text, with the same line
+ * delimiter semantics as {@link org.eclipse.jface.text.DefaultLineTracker}
+ * (<code>\r</code>, <code>\n</code> and <code>\r\n</code>).
+ *
+ * Offset/line lookups are binary searches. The index can be kept up to date
+ * with {@link #replace(int, int, String, char, char)}, which only rescans the
+ * replaced text, so no copy of the underlying buffer is ever needed.
+ *
+ * This class is not thread safe, callers must synchronize access.
+ */
+public class LineIndex {
+
+	private int[] starts;
+	private int count;
+	private int length;
+
+	private LineIndex(int[] starts, int count, int length) {
+		this.starts = starts;
+		this.count = count;
+		this.length = length;
+	}
+
+	/**
+	 * Creates an index for the given text.
+	 */
+	public static LineIndex create(CharSequence text) {
+		int length = text == null ? 0 : text.length();
+		LineIndex index = new LineIndex(new int[16], 1, length);
+		for (int i = 0; i < length; i++) {
+			char c = text.charAt(i);
+			if (c == '\n' || (c == '\r' && (i + 1 == length || text.charAt(i + 1) != '\n'))) {
+				index.add(i + 1);
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Creates an index for the contents of the given buffer, without copying
+	 * them.
+	 */
+	public static LineIndex create(IBuffer buffer) {
+		int length = buffer.getLength();
+		LineIndex index = new LineIndex(new int[16], 1, length);
+		char c = length > 0 ? buffer.getChar(0) : 0;
+		for (int i = 0; i < length; i++) {
+			char next = i + 1 < length ? buffer.getChar(i + 1) : 0;
+			if (c == '\n' || (c == '\r' && next != '\n')) {
+				index.add(i + 1);
+			}
+			c = next;
+		}
+		return index;
+	}
+
+	/**
+	 * @return the number of lines, a text ending with a delimiter has a last
+	 *         empty line
+	 */
+	public int getNumberOfLines() {
+		return count;
+	}
+
+	/**
+	 * @return the length of the indexed text
+	 */
+	public int getLength() {
+		return length;
+	}
+
+	/**
+	 * Returns the offset of the first character of the given line.
+	 */
+	public int getLineOffset(int line) throws BadLocationException {
+		if (line < 0 || line >= count) {
+			throw new BadLocationException("Invalid line: " + line + ", number of lines: " + count);
+		}
+		return starts[line];
+	}
+
+	/**
+	 * Returns the line containing the given offset.
+	 */
+	public int getLineOfOffset(int offset) throws BadLocationException {
+		if (offset < 0 || offset > length) {
+			throw new BadLocationException("Invalid offset: " + offset + ", length: " + length);
+		}
+		int index = Arrays.binarySearch(starts, 0, count, offset);
+		return index >= 0 ? index : -index - 2;
+	}
+
+	/**
+	 * Converts line, column to an offset.
+	 */
+	public int toOffset(int line, int column) throws BadLocationException {
+		return getLineOffset(line) + column;
+	}
+
+	/**
+	 * Converts an offset to line number and column.
+	 */
+	public int[] toLine(int offset) throws BadLocationException {
+		int line = getLineOfOffset(offset);
+		return new int[] { line, offset - starts[line] };
+	}
+
+	/**
+	 * Updates the index after <code>length</code> characters at
+	 * <code>offset</code> were replaced by <code>text</code>.
+	 *
+	 * @param offset
+	 *            the replaced region offset
+	 * @param length
+	 *            the replaced region length
+	 * @param text
+	 *            the inserted text, may be <code>null</code>
+	 * @param previous
+	 *            the character right before <code>offset</code>, or
+	 *            <code>0</code> if none
+	 * @param next
+	 *            the character right after the inserted text, or
+	 *            <code>0</code> if none
+	 */
+	public void replace(int offset, int length, String text, char previous, char next) throws BadLocationException {
+		if (offset < 0 || length < 0 || offset + length > this.length) {
+			throw new BadLocationException("Invalid region: " + offset + "," + length + ", length: " + this.length);
+		}
+		int textLength = text == null ? 0 : text.length();
+		int delta = textLength - length;
+		// line starts in [offset, offset + length] were produced by delimiters ending
+		// in the replaced region or right before it, they are recomputed below.
+		// The first line always starts at 0.
+		int from = lowerBound(Math.max(offset, 1));
+		int to = lowerBound(offset + length + 1);
+		int[] inserted = new int[4];
+		int insertedCount = 0;
+		for (int i = offset - 1; i < offset + textLength; i++) {
+			if (i < 0) {
+				continue;
+			}
+			char c = i < offset ? previous : text.charAt(i - offset);
+			char after = i + 1 < offset + textLength ? text.charAt(i + 1 - offset) : next;
+			if (c == '\n' || (c == '\r' && after != '\n')) {
+				if (insertedCount == inserted.length) {
+					inserted = Arrays.copyOf(inserted, insertedCount * 2);
+				}
+				inserted[insertedCount++] = i + 1;
+			}
+		}
+		int newCount = count - (to - from) + insertedCount;
+		if (newCount > starts.length) {
+			starts = Arrays.copyOf(starts, Math.max(newCount, starts.length * 2));
+		}
+		System.arraycopy(starts, to, starts, from + insertedCount, count - to);
+		System.arraycopy(inserted, 0, starts, from, insertedCount);
+		if (delta != 0) {
+			for (int i = from + insertedCount; i < newCount; i++) {
+				starts[i] += delta;
+			}
+		}
+		count = newCount;
+		this.length += delta;
+	}
+
+	private void add(int start) {
+		if (count == starts.length) {
+			starts = Arrays.copyOf(starts, count * 2);
+		}
+		starts[count++] = start;
+	}
+
+	/**
+	 * @return the index of the first line start greater than or equal to the
+	 *         given offset
+	 */
+	private int lowerBound(int offset) {
+		int low = 0;
+		int high = count;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (starts[mid] < offset) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+}
@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.eclipse.lsp4j.ProgressParams;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.eclipse.lsp4j.WorkDoneProgressKind;
+import org.eclipse.lsp4j.WorkDoneProgressNotification;
+import org.eclipse.lsp4j.jsonrpc.MessageConsumer;
+import org.eclipse.lsp4j.jsonrpc.RemoteEndpoint;
+import org.eclipse.lsp4j.jsonrpc.messages.Message;
+import org.eclipse.lsp4j.jsonrpc.messages.NotificationMessage;
+
+/**
+ * Writes the messages sent to the client from a dedicated thread, so that the
+ * threads producing them don't wait for the client to read its input.
+ *
+ * The messages are queued in order, except for the notifications superseded by
+ * a newer one, which replace the queued notification instead: the diagnostics
+ * of a document, the intermediate reports of a progress and the starting
+ * status. When the queue is full, the producers wait for the writer, even if
+ * they are interrupted, since the responses must never be dropped. The
+ * messages written while the queue isn't empty are flushed together.
+ */
+public class OutgoingMessageQueue implements Function<MessageConsumer, MessageConsumer> {
+
+	private static final int DEFAULT_CAPACITY = 1024;
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final int capacity;
+	private final Deque<Slot> queue = new ArrayDeque<>();
+	private final Map<String, Slot> supersedable = new HashMap<>();
+	private BatchingOutputStream output;
+
+	public OutgoingMessageQueue() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public OutgoingMessageQueue(int capacity) {
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Buffers the given output stream, so that the queued messages are flushed
+	 * together.
+	 */
+	public OutputStream wrap(OutputStream out) {
+		output = new BatchingOutputStream(out);
+		return output;
+	}
+
+	@Override
+	public MessageConsumer apply(MessageConsumer consumer) {
+		if (consumer instanceof RemoteEndpoint) {
+			// incoming messages
+			return consumer;
+		}
+		Thread writer = new Thread(() -> write(consumer), "JDT LS Output Writer");
+		writer.setDaemon(true);
+		writer.start();
+		return this::enqueue;
+	}
+
+	private void enqueue(Message message) {
+		String key = getSupersedableKey(message);
+		synchronized (queue) {
+			if (key != null) {
+				Slot slot = supersedable.get(key);
+				if (slot != null) {
+					slot.message = message;
+					return;
+				}
+			}
+			boolean interrupted = false;
+			while (queue.size() >= capacity) {
+				try {
+					queue.wait();
+				} catch (InterruptedException e) {
+					if (!interrupted) {
+						JavaLanguageServerPlugin.logInfo("Interrupted while waiting to send a message to the client, retrying");
+					}
+					interrupted = true;
+				}
+			}
+			Slot slot = new Slot(message, key);
+			queue.addLast(slot);
+			if (key != null) {
+				supersedable.put(key, slot);
+			}
+			queue.notifyAll();
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Returns the next message to write, waiting for one if the queue is empty.
+	 */
+	private Message take() throws InterruptedException {
+		synchronized (queue) {
+			while (queue.isEmpty()) {
+				queue.wait();
+			}
+			Slot slot = queue.removeFirst();
+			if (slot.key != null) {
+				supersedable.remove(slot.key);
+			}
+			if (output != null) {
+				output.batching = !queue.isEmpty();
+			}
+			queue.notifyAll();
+			return slot.message;
+		}
+	}
+
+	private void write(MessageConsumer consumer) {
+		while (true) {
+			Message message;
+			try {
+				message = take();
+			} catch (InterruptedException e) {
+				return;
+			}
+			try {
+				consumer.consume(message);
+			} catch (RuntimeException e) {
+				JavaLanguageServerPlugin.logException("Failed to send a message to the client", e);
+			}
+		}
+	}
+
+	/**
+	 * Returns the key of the notifications superseding the given message, or
+	 * <code>null</code> if it must be sent.
+	 */
+	private static String getSupersedableKey(Message message) {
+		if (!(message instanceof NotificationMessage notification)) {
+			return null;
+		}
+		Object params = notification.getParams();
+		switch (notification.getMethod()) {
+			case "textDocument/publishDiagnostics":
+				return params instanceof PublishDiagnosticsParams diagnostics ? "diagnostics:" + diagnostics.getUri() : null;
+			case "$/progress":
+				if (params instanceof ProgressParams progress && progress.getValue().isLeft()) {
+					WorkDoneProgressNotification value = progress.getValue().getLeft();
+					// the begin and end notifications are always sent
+					return value.getKind() == WorkDoneProgressKind.report ? "progress:" + progress.getToken().get() : null;
+				}
+				return null;
+			case "language/progressReport":
+				return params instanceof ProgressReport report && !report.isComplete() ? "progressReport:" + report.getId() : null;
+			case "language/status":
+				return params instanceof StatusReport status && ServiceStatus.Starting.name().equals(status.getType()) ? "status:" + status.getType() : null;
+			default:
+				return null;
+		}
+	}
+
+	private static final class Slot {
+		private Message message;
+		private final String key;
+
+		private Slot(Message message, String key) {
+			this.message = message;
+			this.key = key;
+		}
+	}
+
+	/**
+	 * Defers the flushes while more messages are queued.
+	 */
+	private static final class BatchingOutputStream extends BufferedOutputStream {
+		private volatile boolean batching;
+
+		private BatchingOutputStream(OutputStream out) {
+			super(out, BUFFER_SIZE);
+		}
+
+		@Override
+		public synchronized void flush() throws IOException {
+			if (!batching) {
+				super.flush();
+			}
+		}
+	}
+}
@@ -0,0 +1,326 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal;
+
+import java.util.Arrays;
+
+import org.eclipse.jface.text.ITextStore;
+
+/**
+ * A piece table {@link ITextStore}.
+ *
+ * The text is described by a list of pieces, each one referencing a range of
+ * either the original text or of an append-only buffer holding all the
+ * inserted text. A replacement never moves the document contents, it only
+ * splits and shifts pieces, and consecutive typing extends the last inserted
+ * piece. The pieces are compacted into a new original text once there are too
+ * many of them, or once the replaced characters still held by the buffers
+ * outnumber the characters of the text. Replacing the whole text starts over
+ * from the new text.
+ *
+ * Since the referenced characters are never overwritten, {@link #snapshot()}
+ * can hand out an immutable view of the current text by copying the pieces
+ * only. Access to the store itself must be synchronized by the document.
+ */
+public class PieceTableTextStore implements ITextStore {
+
+	private static final int MAX_PIECES = 2048;
+
+	/**
+	 * The number of replaced characters always tolerated before compacting, so
+	 * that small documents aren't compacted on every edit.
+	 */
+	private static final int MIN_WASTED_CHARS = 4096;
+
+	private char[] original = new char[0];
+	private char[] added = new char[256];
+	private int addedLength;
+
+	// pieces, as parallel arrays
+	private boolean[] fromAdded = new boolean[16];
+	private int[] starts = new int[16];
+	private int[] lengths = new int[16];
+	private int[] offsets = new int[16];
+	private int count;
+
+	private int length;
+	private int lastPiece;
+
+	@Override
+	public char get(int offset) {
+		int piece = findPiece(offset);
+		int index = starts[piece] + offset - offsets[piece];
+		return fromAdded[piece] ? added[index] : original[index];
+	}
+
+	@Override
+	public String get(int offset, int length) {
+		return new String(copy(original, added, fromAdded, starts, lengths, offsets, count, offset, length));
+	}
+
+	@Override
+	public int getLength() {
+		return length;
+	}
+
+	@Override
+	public void replace(int offset, int length, String text) {
+		if (offset < 0 || length < 0 || offset + length > this.length) {
+			throw new IndexOutOfBoundsException("Invalid region: " + offset + "," + length + ", length: " + this.length);
+		}
+		int textLength = text == null ? 0 : text.length();
+		if (length == 0 && textLength == 0) {
+			return;
+		}
+		if (offset == 0 && length == this.length) {
+			set(text);
+			return;
+		}
+		int from = split(offset);
+		int to = split(offset + length);
+		if (textLength > 0) {
+			int addedStart = append(text);
+			if (from > 0 && fromAdded[from - 1] && starts[from - 1] + lengths[from - 1] == addedStart) {
+				// typing right after the previous insertion
+				lengths[from - 1] += textLength;
+				remove(from, to);
+				from--;
+			} else if (to > from) {
+				// reuse the first removed piece
+				fromAdded[from] = true;
+				starts[from] = addedStart;
+				lengths[from] = textLength;
+				remove(from + 1, to);
+			} else {
+				insert(from, true, addedStart, textLength);
+			}
+		} else {
+			remove(from, to);
+		}
+		this.length += textLength - length;
+		updateOffsets(from);
+		lastPiece = 0;
+		if (count > MAX_PIECES || getWastedChars() > Math.max(this.length, MIN_WASTED_CHARS)) {
+			compact();
+		}
+	}
+
+	@Override
+	public void set(String text) {
+		original = text == null ? new char[0] : text.toCharArray();
+		added = new char[256];
+		addedLength = 0;
+		length = original.length;
+		count = 0;
+		lastPiece = 0;
+		if (length > 0) {
+			insert(0, false, 0, length);
+		}
+	}
+
+	/**
+	 * Returns an immutable view of the current text. The view only copies the
+	 * piece descriptors, not the text, and can be read from any thread.
+	 *
+	 * @return the snapshot
+	 */
+	public CharSequence snapshot() {
+		return new Snapshot(original, added, Arrays.copyOf(fromAdded, count), Arrays.copyOf(starts, count), Arrays.copyOf(lengths, count), Arrays.copyOf(offsets, count), length);
+	}
+
+	/**
+	 * @return the number of characters held by the original text and the
+	 *         added buffer
+	 */
+	int getStoredLength() {
+		return original.length + addedLength;
+	}
+
+	/**
+	 * @return the number of held characters which are no longer part of the
+	 *         text
+	 */
+	private int getWastedChars() {
+		return original.length + addedLength - length;
+	}
+
+	/**
+	 * Makes sure a piece starts at the given offset.
+	 *
+	 * @return the index of the piece starting at the offset, or the number of
+	 *         pieces if the offset is the end of the text
+	 */
+	private int split(int offset) {
+		if (offset == length) {
+			return count;
+		}
+		int piece = findPiece(offset);
+		int delta = offset - offsets[piece];
+		if (delta == 0) {
+			return piece;
+		}
+		insert(piece + 1, fromAdded[piece], starts[piece] + delta, lengths[piece] - delta);
+		offsets[piece + 1] = offset;
+		lengths[piece] = delta;
+		return piece + 1;
+	}
+
+	private void insert(int index, boolean isAdded, int start, int length) {
+		if (count == starts.length) {
+			int capacity = count * 2;
+			fromAdded = Arrays.copyOf(fromAdded, capacity);
+			starts = Arrays.copyOf(starts, capacity);
+			lengths = Arrays.copyOf(lengths, capacity);
+			offsets = Arrays.copyOf(offsets, capacity);
+		}
+		int moved = count - index;
+		System.arraycopy(fromAdded, index, fromAdded, index + 1, moved);
+		System.arraycopy(starts, index, starts, index + 1, moved);
+		System.arraycopy(lengths, index, lengths, index + 1, moved);
+		System.arraycopy(offsets, index, offsets, index + 1, moved);
+		fromAdded[index] = isAdded;
+		starts[index] = start;
+		lengths[index] = length;
+		count++;
+	}
+
+	private void remove(int from, int to) {
+		if (to <= from) {
+			return;
+		}
+		int moved = count - to;
+		System.arraycopy(fromAdded, to, fromAdded, from, moved);
+		System.arraycopy(starts, to, starts, from, moved);
+		System.arraycopy(lengths, to, lengths, from, moved);
+		System.arraycopy(offsets, to, offsets, from, moved);
+		count -= to - from;
+	}
+
+	private void updateOffsets(int from) {
+		int offset = from == 0 ? 0 : offsets[from - 1] + lengths[from - 1];
+		for (int i = from; i < count; i++) {
+			offsets[i] = offset;
+			offset += lengths[i];
+		}
+	}
+
+	/**
+	 * Appends the text to the added buffer. The buffer is never modified below
+	 * its current length, so that snapshots can keep referencing it.
+	 *
+	 * @return the start of the text in the added buffer
+	 */
+	private int append(String text) {
+		int start = addedLength;
+		int required = addedLength + text.length();
+		if (required > added.length) {
+			added = Arrays.copyOf(added, Math.max(required, added.length * 2));
+		}
+		text.getChars(0, text.length(), added, start);
+		addedLength = required;
+		return start;
+	}
+
+	private void compact() {
+		// a new original text, the snapshots keep referencing the previous one
+		original = copy(original, added, fromAdded, starts, lengths, offsets, count, 0, length);
+		added = new char[256];
+		addedLength = 0;
+		count = 0;
+		lastPiece = 0;
+		if (length > 0) {
+			insert(0, false, 0, length);
+		}
+	}
+
+	private int findPiece(int offset) {
+		if (offset < 0 || offset >= length) {
+			throw new IndexOutOfBoundsException("Invalid offset: " + offset + ", length: " + length);
+		}
+		// sequential reads usually hit the same piece
+		if (lastPiece < count && offsets[lastPiece] <= offset && offset < offsets[lastPiece] + lengths[lastPiece]) {
+			return lastPiece;
+		}
+		lastPiece = findPiece(offsets, count, offset);
+		return lastPiece;
+	}
+
+	private static int findPiece(int[] offsets, int count, int offset) {
+		int index = Arrays.binarySearch(offsets, 0, count, offset);
+		return index >= 0 ? index : -index - 2;
+	}
+
+	private static char[] copy(char[] original, char[] added, boolean[] fromAdded, int[] starts, int[] lengths, int[] offsets, int count, int offset, int length) {
+		char[] result = new char[length];
+		if (length == 0) {
+			return result;
+		}
+		int end = offset + length;
+		for (int piece = findPiece(offsets, count, offset); piece < count && offsets[piece] < end; piece++) {
+			int from = Math.max(offset, offsets[piece]);
+			int to = Math.min(end, offsets[piece] + lengths[piece]);
+			System.arraycopy(fromAdded[piece] ? added : original, starts[piece] + from - offsets[piece], result, from - offset, to - from);
+		}
+		return result;
+	}
+
+	private static final class Snapshot implements CharSequence {
+
+		private final char[] original;
+		private final char[] added;
+		private final boolean[] fromAdded;
+		private final int[] starts;
+		private final int[] lengths;
+		private final int[] offsets;
+		private final int length;
+
+		private Snapshot(char[] original, char[] added, boolean[] fromAdded, int[] starts, int[] lengths, int[] offsets, int length) {
+			this.original = original;
+			this.added = added;
+			this.fromAdded = fromAdded;
+			this.starts = starts;
+			this.lengths = lengths;
+			this.offsets = offsets;
+			this.length = length;
+		}
+
+		@Override
+		public int length() {
+			return length;
+		}
+
+		@Override
+		public char charAt(int index) {
+			if (index < 0 || index >= length) {
+				throw new IndexOutOfBoundsException("Invalid offset: " + index + ", length: " + length);
+			}
+			int piece = findPiece(offsets, offsets.length, index);
+			int position = starts[piece] + index - offsets[piece];
+			return fromAdded[piece] ? added[position] : original[position];
+		}
+
+		@Override
+		public CharSequence subSequence(int start, int end) {
+			if (start < 0 || end > length || start > end) {
+				throw new IndexOutOfBoundsException("Invalid range: " + start + "," + end + ", length: " + length);
+			}
+			return new String(copy(original, added, fromAdded, starts, lengths, offsets, offsets.length, start, end - start));
+		}
+
+		@Override
+		public String toString() {
+			return new String(copy(original, added, fromAdded, starts, lengths, offsets, offsets.length, 0, length));
+		}
+	}
+
+}
@@ -21,12 +21,12 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Hashtable;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -78,9 +78,9 @@ public final class ProjectUtils {
 
 	public static final String WORKSPACE_LINK = "_";
 
-	private static final String JAR_SUFFIX = ".jar";
+	public static final String JAR_SUFFIX = ".jar";
 
-	private static final String SOURCE_JAR_SUFFIX = "-sources.jar";
+	public static final String SOURCE_JAR_SUFFIX = "-sources.jar";
 
 	private ProjectUtils() {
 		//No instanciation
@@ -421,21 +421,14 @@ public final class ProjectUtils {
 		}
 		IClasspathEntry[] rawClasspath = javaProject.getRawClasspath();
 		List<IClasspathEntry> newEntries = Arrays.stream(rawClasspath).filter(cpe -> cpe.getEntryKind() != IClasspathEntry.CPE_LIBRARY).collect(Collectors.toCollection(ArrayList::new));
-		List<IClasspathEntry> libEntries = Arrays.stream(rawClasspath).filter(cpe -> cpe.getEntryKind() == IClasspathEntry.CPE_LIBRARY && cpe.getSourceAttachmentPath() != null && cpe.getSourceAttachmentPath().toFile().exists())
-				.collect(Collectors.toCollection(ArrayList::new));
+		Map<IPath, IPath> attachedSources = getAttachedSources(rawClasspath);
 
 		for (Map.Entry<Path, IPath> library : libraries.entrySet()) {
 			if (monitor.isCanceled()) {
 				return;
 			}
-			IPath binary = new org.eclipse.core.runtime.Path(library.getKey().toString());
-			IPath source = library.getValue();
-			if (source == null && !libEntries.isEmpty()) {
-				Optional<IClasspathEntry> result = libEntries.stream().filter(cpe -> cpe.getPath().equals(binary)).findAny();
-				source = result.isPresent() ? result.get().getSourceAttachmentPath() : null;
-			}
-			IClasspathEntry newEntry = JavaCore.newLibraryEntry(binary, source, null);
-			JavaLanguageServerPlugin.logInfo(">> Adding " + binary + " to the classpath");
+			IClasspathEntry newEntry = newLibraryEntry(library.getKey(), library.getValue(), attachedSources);
+			JavaLanguageServerPlugin.logInfo(">> Adding " + newEntry.getPath() + " to the classpath");
 			newEntries.add(newEntry);
 		}
 		IClasspathEntry[] newClasspath = newEntries.toArray(new IClasspathEntry[newEntries.size()]);
@@ -446,6 +439,76 @@ public final class ProjectUtils {
 		}
 	}
 
+	/**
+	 * Updates the library entries of the given binaries only, leaving the other
+	 * entries of the classpath untouched.
+	 *
+	 * @param javaProject
+	 *            the project
+	 * @param changed
+	 *            the binaries to add or update, with their sources
+	 * @param removed
+	 *            the binaries to remove
+	 * @param monitor
+	 *            the progress monitor
+	 */
+	public static void updateBinaries(IJavaProject javaProject, Map<Path, IPath> changed, Set<Path> removed, IProgressMonitor monitor) throws CoreException {
+		if (monitor.isCanceled() || (changed.isEmpty() && removed.isEmpty())) {
+			return;
+		}
+		IClasspathEntry[] rawClasspath = javaProject.getRawClasspath();
+		Map<IPath, IPath> attachedSources = getAttachedSources(rawClasspath);
+		Map<IPath, IClasspathEntry> changedEntries = new LinkedHashMap<>();
+		for (Map.Entry<Path, IPath> library : changed.entrySet()) {
+			IClasspathEntry newEntry = newLibraryEntry(library.getKey(), library.getValue(), attachedSources);
+			changedEntries.put(newEntry.getPath(), newEntry);
+		}
+		Set<IPath> removedPaths = removed.stream().map(binary -> new org.eclipse.core.runtime.Path(binary.toString())).collect(Collectors.toSet());
+		List<IClasspathEntry> newEntries = new ArrayList<>(rawClasspath.length + changedEntries.size());
+		for (IClasspathEntry entry : rawClasspath) {
+			if (entry.getEntryKind() != IClasspathEntry.CPE_LIBRARY) {
+				newEntries.add(entry);
+			} else if (removedPaths.contains(entry.getPath())) {
+				JavaLanguageServerPlugin.logInfo(">> Removing " + entry.getPath() + " from the classpath");
+			} else {
+				// update the existing entries in place
+				IClasspathEntry newEntry = changedEntries.remove(entry.getPath());
+				newEntries.add(newEntry == null ? entry : newEntry);
+			}
+		}
+		for (IClasspathEntry newEntry : changedEntries.values()) {
+			JavaLanguageServerPlugin.logInfo(">> Adding " + newEntry.getPath() + " to the classpath");
+			newEntries.add(newEntry);
+		}
+		IClasspathEntry[] newClasspath = newEntries.toArray(new IClasspathEntry[newEntries.size()]);
+		if (!Arrays.equals(rawClasspath, newClasspath)) {
+			javaProject.setRawClasspath(newClasspath, monitor);
+		}
+	}
+
+	/**
+	 * Returns the existing source attachments of the library entries, by
+	 * library path.
+	 */
+	private static Map<IPath, IPath> getAttachedSources(IClasspathEntry[] rawClasspath) {
+		Map<IPath, IPath> attachedSources = new HashMap<>();
+		for (IClasspathEntry cpe : rawClasspath) {
+			if (cpe.getEntryKind() == IClasspathEntry.CPE_LIBRARY && cpe.getSourceAttachmentPath() != null && cpe.getSourceAttachmentPath().toFile().exists()) {
+				attachedSources.putIfAbsent(cpe.getPath(), cpe.getSourceAttachmentPath());
+			}
+		}
+		return attachedSources;
+	}
+
+	private static IClasspathEntry newLibraryEntry(Path library, IPath source, Map<IPath, IPath> attachedSources) {
+		IPath binary = new org.eclipse.core.runtime.Path(library.toString());
+		if (source == null) {
+			// keep the sources attached to the existing entry
+			source = attachedSources.get(binary);
+		}
+		return JavaCore.newLibraryEntry(binary, source, null);
+	}
+
 	public static Set<Path> collectBinaries(IPath projectDir, Set<String> include, Set<String> exclude, IProgressMonitor monitor) throws CoreException {
 		Set<Path> binaries = new LinkedHashSet<>();
 		Map<IPath, Set<String>> includeByPrefix = groupGlobsByPrefix(projectDir, include);
@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IncrementalProjectBuilder;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.ls.core.internal.handlers.CompletionContributionService;
+import org.eclipse.jdt.ls.core.internal.jfr.BuildEvent;
+import org.eclipse.jdt.ls.core.internal.jfr.FlightRecorderSupport;
+
+import com.google.gson.GsonBuilder;
+
+/**
+ * Collects the queue time, the execution time and the cancellations of the
+ * language server requests, document life cycle jobs and builds. The builds
+ * are also reported as {@link BuildEvent}s to Java Flight Recorder.
+ *
+ * The metrics are returned by the <code>java.metrics</code> command, and
+ * periodically written as JSON to the file given by
+ * {@link JDTEnvironmentUtils#METRICS_DUMP}, if set.
+ */
+public class RequestMetrics {
+
+	public static final String BUILD = "workspace/build";
+
+	private static final RequestMetrics INSTANCE = new RequestMetrics();
+
+	private final long startTime = System.currentTimeMillis();
+	private final Map<String, MethodMetrics> metrics = new ConcurrentHashMap<>();
+	private final IResourceChangeListener buildListener = new BuildListener();
+	private Job dumpJob;
+
+	private RequestMetrics() {
+	}
+
+	public static RequestMetrics getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Records an execution of the given method.
+	 *
+	 * @param method
+	 *            the request or job name
+	 * @param queueNanos
+	 *            the time spent waiting for a thread, or a negative value if
+	 *            unknown
+	 * @param executionNanos
+	 *            the execution time
+	 * @param cancelled
+	 *            whether the execution was cancelled
+	 */
+	public void record(String method, long queueNanos, long executionNanos, boolean cancelled) {
+		MethodMetrics methodMetrics = metrics.computeIfAbsent(method, k -> new MethodMetrics());
+		if (queueNanos >= 0) {
+			methodMetrics.queue.record(queueNanos);
+		}
+		methodMetrics.execution.record(executionNanos);
+		if (cancelled) {
+			methodMetrics.cancelled.increment();
+		}
+	}
+
+	/**
+	 * Returns the metrics of each method, sorted by name.
+	 */
+	public Map<String, Object> getSnapshot() {
+		Map<String, Object> methods = new TreeMap<>();
+		metrics.forEach((method, methodMetrics) -> {
+			Map<String, Object> entry = new LinkedHashMap<>();
+			entry.put("cancelled", methodMetrics.cancelled.sum());
+			if (methodMetrics.queue.getCount() > 0) {
+				entry.put("queue", methodMetrics.queue.getSummary());
+			}
+			entry.put("execution", methodMetrics.execution.getSummary());
+			methods.put(method, entry);
+		});
+		Map<String, Object> snapshot = new LinkedHashMap<>();
+		snapshot.put("timestamp", System.currentTimeMillis());
+		snapshot.put("uptime", System.currentTimeMillis() - startTime);
+		snapshot.put("methods", methods);
+		snapshot.put("completionRankingTimeouts", CompletionContributionService.getRankingTimeouts());
+		return snapshot;
+	}
+
+	public void reset() {
+		metrics.clear();
+	}
+
+	/**
+	 * Starts measuring the builds, and the periodic dump if enabled.
+	 */
+	public void start() {
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(buildListener, IResourceChangeEvent.PRE_BUILD | IResourceChangeEvent.POST_BUILD);
+		String file = JDTEnvironmentUtils.getMetricsDumpFile();
+		if (file != null && !file.isBlank()) {
+			long interval = TimeUnit.SECONDS.toMillis(JDTEnvironmentUtils.getMetricsDumpInterval());
+			dumpJob = new MetricsDumpJob(Paths.get(file), interval);
+			dumpJob.schedule(interval);
+		}
+	}
+
+	public void stop() {
+		ResourcesPlugin.getWorkspace().removeResourceChangeListener(buildListener);
+		if (dumpJob != null) {
+			dumpJob.cancel();
+			dumpJob = null;
+		}
+	}
+
+	private static final class MethodMetrics {
+		private final LatencyHistogram queue = new LatencyHistogram();
+		private final LatencyHistogram execution = new LatencyHistogram();
+		private final LongAdder cancelled = new LongAdder();
+	}
+
+	private final class BuildListener implements IResourceChangeListener {
+		private volatile long buildStart = -1;
+		private volatile BuildEvent buildEvent;
+
+		@Override
+		public void resourceChanged(IResourceChangeEvent event) {
+			if (event.getType() == IResourceChangeEvent.PRE_BUILD) {
+				buildStart = System.nanoTime();
+				if (FlightRecorderSupport.isAvailable()) {
+					BuildEvent jfrEvent = new BuildEvent();
+					jfrEvent.begin();
+					buildEvent = jfrEvent;
+				}
+			} else if (buildStart >= 0) {
+				record(BUILD, -1, System.nanoTime() - buildStart, false);
+				buildStart = -1;
+				BuildEvent jfrEvent = buildEvent;
+				if (jfrEvent != null && jfrEvent.shouldCommit()) {
+					jfrEvent.kind = getBuildKind(event.getBuildKind());
+					jfrEvent.commit();
+				}
+				buildEvent = null;
+			}
+		}
+
+		private static String getBuildKind(int kind) {
+			switch (kind) {
+				case IncrementalProjectBuilder.FULL_BUILD:
+					return "full";
+				case IncrementalProjectBuilder.CLEAN_BUILD:
+					return "clean";
+				case IncrementalProjectBuilder.AUTO_BUILD:
+					return "auto";
+				default:
+					return "incremental";
+			}
+		}
+	}
+
+	private final class MetricsDumpJob extends Job {
+		private final Path file;
+		private final long interval;
+
+		private MetricsDumpJob(Path file, long interval) {
+			super("Dump metrics");
+			this.file = file;
+			this.interval = interval;
+			setSystem(true);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			try {
+				Files.writeString(file, new GsonBuilder().setPrettyPrinting().create().toJson(getSnapshot()), StandardCharsets.UTF_8);
+			} catch (IOException e) {
+				JavaLanguageServerPlugin.logException("Failed to write the metrics to " + file, e);
+			}
+			if (!monitor.isCanceled()) {
+				schedule(interval);
+			}
+			return Status.OK_STATUS;
+		}
+	}
+}
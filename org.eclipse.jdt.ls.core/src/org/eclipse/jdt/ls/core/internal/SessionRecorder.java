@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.function.Function;
+
+import org.eclipse.lsp4j.jsonrpc.MessageConsumer;
+import org.eclipse.lsp4j.jsonrpc.RemoteEndpoint;
+import org.eclipse.lsp4j.jsonrpc.messages.Message;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Records the JSON-RPC messages exchanged with the client, so that the session
+ * can be replayed offline.
+ *
+ * Each message is written on its own line, as a JSON object holding the time
+ * elapsed since the start of the session in milliseconds, the direction of the
+ * message (<code>in</code> from the client, <code>out</code> to the client)
+ * and the message itself. Enabled by the
+ * {@link JDTEnvironmentUtils#SESSION_RECORDING} environment variable or system
+ * property.
+ */
+public class SessionRecorder implements Function<MessageConsumer, MessageConsumer>, Closeable {
+
+	public static final String IN = "in";
+	public static final String OUT = "out";
+
+	private final Writer writer;
+	private final long start = System.nanoTime();
+
+	public SessionRecorder(Path file) throws IOException {
+		this.writer = new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Adds the recording of the session to the given message wrapper, if the
+	 * recording is enabled.
+	 */
+	public static Function<MessageConsumer, MessageConsumer> wrap(Function<MessageConsumer, MessageConsumer> wrapper) {
+		String file = JDTEnvironmentUtils.getSessionRecordingFile();
+		if (file == null || file.isBlank()) {
+			return wrapper;
+		}
+		try {
+			SessionRecorder recorder = new SessionRecorder(Paths.get(file));
+			JavaLanguageServerPlugin.logInfo("Recording the session to " + file);
+			// the recorder needs to see the consumers created by the launcher
+			return recorder.andThen(wrapper);
+		} catch (IOException e) {
+			JavaLanguageServerPlugin.logException("Failed to record the session to " + file, e);
+			return wrapper;
+		}
+	}
+
+	@Override
+	public MessageConsumer apply(MessageConsumer consumer) {
+		// the launcher wraps the remote endpoint for the incoming messages, and the stream consumer for the outgoing ones
+		String direction = consumer instanceof RemoteEndpoint ? IN : OUT;
+		return message -> {
+			record(direction, message);
+			consumer.consume(message);
+		};
+	}
+
+	private void record(String direction, Message message) {
+		JsonObject entry = new JsonObject();
+		entry.addProperty("time", (System.nanoTime() - start) / 1_000_000);
+		entry.addProperty("direction", direction);
+		try {
+			entry.add("message", JsonParser.parseString(message.toString()));
+			synchronized (writer) {
+				writer.write(entry.toString());
+				writer.write('\n');
+				writer.flush();
+			}
+		} catch (IOException | RuntimeException e) {
+			JavaLanguageServerPlugin.logException("Failed to record a message", e);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		synchronized (writer) {
+			writer.close();
+		}
+	}
+}
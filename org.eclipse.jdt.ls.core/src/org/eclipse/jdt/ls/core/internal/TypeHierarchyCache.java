@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.ITypeHierarchyChangedListener;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.internal.corext.util.SuperTypeHierarchyCache;
+
+/**
+ * Keeps the type hierarchies of the recently used types, with their supertypes
+ * and subtypes, so that the type hierarchy, the implementations and the rename
+ * refactorings don't build the same hierarchy again. The hierarchies take the
+ * working copies of the primary owner into account.
+ *
+ * A hierarchy is dropped as soon as it reports a change. The cache is bounded
+ * by a number of hierarchies and by the total number of their types, the most
+ * recent hierarchy being always kept.
+ */
+public final class TypeHierarchyCache {
+
+	private static final int MAX_ENTRIES = 10;
+
+	/**
+	 * Budget for the total number of types of the retained hierarchies, the
+	 * hierarchy of <code>java.lang.Object</code> in a large workspace has tens
+	 * of thousands of types.
+	 */
+	private static final int MAX_TYPES = 100_000;
+
+	private static final TypeHierarchyCache INSTANCE = new TypeHierarchyCache();
+
+	private final Map<IType, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private final ITypeHierarchyChangedListener listener = this::typeHierarchyChanged;
+	private int typeCount;
+	private long generation;
+
+	private TypeHierarchyCache() {
+	}
+
+	public static TypeHierarchyCache getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Returns the type hierarchy of the given type, containing its supertypes
+	 * and its subtypes in the workspace, creating it if it is not cached.
+	 *
+	 * Clients must not modify the returned hierarchy.
+	 */
+	public ITypeHierarchy getTypeHierarchy(IType type, IProgressMonitor monitor) throws JavaModelException {
+		long currentGeneration;
+		synchronized (entries) {
+			Entry entry = entries.get(type);
+			if (entry != null) {
+				return entry.hierarchy;
+			}
+			currentGeneration = generation;
+		}
+		ITypeHierarchy hierarchy = type.newTypeHierarchy(monitor);
+		if (monitor != null && monitor.isCanceled()) {
+			return hierarchy;
+		}
+		hierarchy.addTypeHierarchyChangedListener(listener);
+		List<ITypeHierarchy> removed = new ArrayList<>();
+		synchronized (entries) {
+			if (currentGeneration == generation) {
+				put(type, hierarchy, removed);
+			} else {
+				removed.add(hierarchy);
+			}
+		}
+		removeListener(removed);
+		return hierarchy;
+	}
+
+	/**
+	 * Returns a type hierarchy containing at least the supertypes of the given
+	 * type: its cached type hierarchy if any, otherwise its supertype
+	 * hierarchy.
+	 *
+	 * Clients must not modify the returned hierarchy.
+	 */
+	public ITypeHierarchy getSupertypeHierarchy(IType type, IProgressMonitor monitor) throws JavaModelException {
+		synchronized (entries) {
+			Entry entry = entries.get(type);
+			if (entry != null) {
+				return entry.hierarchy;
+			}
+		}
+		return SuperTypeHierarchyCache.getTypeHierarchy(type, monitor);
+	}
+
+	/**
+	 * Drops all the retained hierarchies.
+	 */
+	public void invalidate() {
+		List<ITypeHierarchy> removed = new ArrayList<>();
+		synchronized (entries) {
+			entries.values().forEach(entry -> removed.add(entry.hierarchy));
+			entries.clear();
+			typeCount = 0;
+			generation++;
+		}
+		removeListener(removed);
+	}
+
+	/**
+	 * @return the number of retained hierarchies
+	 */
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	private void typeHierarchyChanged(ITypeHierarchy hierarchy) {
+		hierarchy.removeTypeHierarchyChangedListener(listener);
+		synchronized (entries) {
+			// the hierarchy may be changed before being cached
+			generation++;
+			Iterator<Entry> iterator = entries.values().iterator();
+			while (iterator.hasNext()) {
+				Entry entry = iterator.next();
+				if (entry.hierarchy == hierarchy) {
+					typeCount -= entry.typeCount;
+					iterator.remove();
+				}
+			}
+		}
+	}
+
+	private void put(IType type, ITypeHierarchy hierarchy, List<ITypeHierarchy> removed) {
+		Entry previous = entries.remove(type);
+		if (previous != null) {
+			typeCount -= previous.typeCount;
+			removed.add(previous.hierarchy);
+		}
+		Entry entry = new Entry(hierarchy);
+		entries.put(type, entry);
+		typeCount += entry.typeCount;
+		Iterator<Entry> iterator = entries.values().iterator();
+		while (iterator.hasNext() && (entries.size() > MAX_ENTRIES || typeCount > MAX_TYPES)) {
+			// least recently used first
+			Entry eldest = iterator.next();
+			if (eldest == entry) {
+				break;
+			}
+			typeCount -= eldest.typeCount;
+			removed.add(eldest.hierarchy);
+			iterator.remove();
+		}
+	}
+
+	/**
+	 * Stops listening to the changes of the given hierarchies, outside of the
+	 * lock since the hierarchies notify their listeners while holding theirs.
+	 */
+	private void removeListener(List<ITypeHierarchy> hierarchies) {
+		for (ITypeHierarchy hierarchy : hierarchies) {
+			hierarchy.removeTypeHierarchyChangedListener(listener);
+		}
+	}
+
+	private static class Entry {
+		private final ITypeHierarchy hierarchy;
+		private final int typeCount;
+
+		private Entry(ITypeHierarchy hierarchy) {
+			this.hierarchy = hierarchy;
+			this.typeCount = hierarchy.getAllTypes().length;
+		}
+	}
+
+}
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal;
+
+import org.eclipse.core.internal.filebuffers.SynchronizableDocument;
+import org.eclipse.jface.text.IDocument;
+
+/**
+ * Creates the documents of the Java file buffers, backed by a
+ * {@link PieceTableTextStore}, so that incremental changes sent by the client
+ * don't move the whole text around.
+ *
+ * Registered through the <code>org.eclipse.core.filebuffers.documentCreation</code>
+ * extension point, the file buffers keep being shared with the refactorings.
+ */
+@SuppressWarnings("deprecation")
+public class WorkingCopyDocumentFactory implements org.eclipse.core.filebuffers.IDocumentFactory {
+
+	@Override
+	public IDocument createDocument() {
+		return new WorkingCopyDocument();
+	}
+
+	public static class WorkingCopyDocument extends SynchronizableDocument {
+
+		public WorkingCopyDocument() {
+			super();
+			setTextStore(new PieceTableTextStore());
+		}
+
+		/**
+		 * Returns an immutable view of the current contents, which can be read
+		 * from background jobs without copying the text.
+		 *
+		 * @return the snapshot
+		 */
+		public CharSequence getSnapshot() {
+			synchronized (getLockObject() == null ? this : getLockObject()) {
+				return ((PieceTableTextStore) getStore()).snapshot();
+			}
+		}
+	}
+
+}
@@ -12,10 +12,16 @@
  *******************************************************************************/
 package org.eclipse.jdt.ls.core.internal.commands;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.core.resources.IProject;
@@ -24,8 +30,12 @@ import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
@@ -33,15 +43,21 @@ import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTRequestor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
 import org.eclipse.jdt.ls.core.internal.ChangeUtil;
 import org.eclipse.jdt.ls.core.internal.IConstants;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.JobHelpers;
 import org.eclipse.jdt.ls.core.internal.ResourceUtils;
 import org.eclipse.jdt.ls.core.internal.TextEditConverter;
 import org.eclipse.jdt.ls.core.internal.corrections.InnovationContext;
 import org.eclipse.jdt.ls.core.internal.corrections.proposals.CUCorrectionProposal;
 import org.eclipse.jdt.ls.core.internal.corrections.proposals.IProposalRelevance;
+import org.eclipse.jdt.ls.core.internal.handlers.BaseDocumentLifeCycleHandler;
 import org.eclipse.jdt.ls.core.internal.handlers.OrganizeImportsHandler;
 import org.eclipse.lsp4j.CodeActionKind;
 import org.eclipse.lsp4j.WorkspaceEdit;
@@ -50,7 +66,21 @@ import org.eclipse.text.edits.TextEdit;
 
 public class OrganizeImportsCommand {
 
+	/**
+	 * The number of compilation units whose ASTs are resolved together, in a
+	 * shared environment. Bounds the memory retained by the resolved ASTs.
+	 */
+	static final int BATCH_SIZE = 200;
+
 	public Object organizeImports(List<Object> arguments) throws CoreException {
+		return organizeImports(arguments, new NullProgressMonitor());
+	}
+
+	/**
+	 * @return the edit organizing the imports of the given file, folder or
+	 *         project, or <code>null</code> if the monitor was cancelled
+	 */
+	public Object organizeImports(List<Object> arguments, IProgressMonitor monitor) throws CoreException {
 		WorkspaceEdit edit = new WorkspaceEdit();
 		if (arguments != null && !arguments.isEmpty() && arguments.get(0) instanceof String fileUri) {
 			final IPath rootPath = ResourceUtils.filePathFromURI(fileUri);
@@ -65,19 +95,24 @@ public class OrganizeImportsCommand {
 			if (resource != null) {
 				final OrganizeImportsCommand command = new OrganizeImportsCommand();
 				int type = resource.getType();
-				switch (type) {
-					case IResource.PROJECT:
-						edit = command.organizeImportsInProject(resource.getAdapter(IProject.class));
-						break;
-					case IResource.FOLDER:
-						edit = command.organizeImportsInDirectory(fileUri, resource.getProject());
-						break;
-					case IResource.FILE:
-						edit = command.organizeImportsInFile(fileUri);
-						break;
-					default://This can only be IResource.ROOT. Which is not relevant to jdt.ls
-						// do nothing allow to return the empty WorkspaceEdit.
-						break;
+				try {
+					switch (type) {
+						case IResource.PROJECT:
+							edit = command.organizeImportsInProject(resource.getAdapter(IProject.class), monitor);
+							break;
+						case IResource.FOLDER:
+							edit = command.organizeImportsInDirectory(fileUri, resource.getProject(), monitor);
+							break;
+						case IResource.FILE:
+							edit = command.organizeImportsInFile(fileUri);
+							break;
+						default://This can only be IResource.ROOT. Which is not relevant to jdt.ls
+							// do nothing allow to return the empty WorkspaceEdit.
+							break;
+					}
+				} catch (OperationCanceledException e) {
+					// the edits computed so far must not be applied
+					return null;
 				}
 			}
 		}
@@ -92,15 +127,15 @@ public class OrganizeImportsCommand {
 	 * @return
 	 */
 	public WorkspaceEdit organizeImportsInProject(IProject proj) {
+		return organizeImportsInProject(proj, new NullProgressMonitor());
+	}
+
+	public WorkspaceEdit organizeImportsInProject(IProject proj, IProgressMonitor monitor) {
 		WorkspaceEdit rootEdit = new WorkspaceEdit();
-		HashSet<IJavaElement> result = new HashSet<>();
+		HashSet<IJavaElement> result = new LinkedHashSet<>();
 
 		collectCompilationUnits(JavaCore.create(proj), result, null);
-		for (IJavaElement elem : result) {
-			if (elem.getElementType() == IJavaElement.COMPILATION_UNIT) {
-				organizeImportsInCompilationUnit((ICompilationUnit) elem, rootEdit);
-			}
-		}
+		organizeImportsInCompilationUnits(result, rootEdit, monitor);
 		return rootEdit;
 	}
 
@@ -115,6 +150,10 @@ public class OrganizeImportsCommand {
 	 * @throws CoreException
 	 */
 	public WorkspaceEdit organizeImportsInDirectory(String folderUri, IProject proj) throws CoreException {
+		return organizeImportsInDirectory(folderUri, proj, new NullProgressMonitor());
+	}
+
+	public WorkspaceEdit organizeImportsInDirectory(String folderUri, IProject proj, IProgressMonitor monitor) throws CoreException {
 		WorkspaceEdit rootEdit = new WorkspaceEdit();
 		IPackageFragment fragment = null;
 		if (JDTUtils.toURI(folderUri) != null) {
@@ -122,26 +161,22 @@ public class OrganizeImportsCommand {
 		}
 		// Select an individual package
 		if (fragment != null) {
-			organizeImportsInPackageFragment(fragment, rootEdit);
+			organizeImportsInPackageFragment(fragment, rootEdit, monitor);
 		} else if (proj != null) {
 			// Search the packages under the selected folder:
 			IJavaProject javaProject = JavaCore.create(proj);
 			IPath rootPath = ResourceUtils.filePathFromURI(folderUri);
 			IPackageFragmentRoot[] roots = javaProject.getPackageFragmentRoots();
-			HashSet<IJavaElement> result = new HashSet<>();
+			HashSet<IJavaElement> result = new LinkedHashSet<>();
 			for (IPackageFragmentRoot root : roots) {
 				if (root.getKind() == IPackageFragmentRoot.K_SOURCE) {
 					String packageRoot = root.getResource().getLocation().toString();
 					if (packageRoot.toLowerCase().indexOf(rootPath.toString().toLowerCase()) >= 0) {
-						collectCompilationUnits(javaProject, result, null);
+						collectCompilationUnits(root, result, null);
 					}
 				}
 			}
-			for (IJavaElement elem : result) {
-				if (elem.getElementType() == IJavaElement.COMPILATION_UNIT) {
-					organizeImportsInCompilationUnit((ICompilationUnit) elem, rootEdit);
-				}
-			}
+			organizeImportsInCompilationUnits(result, rootEdit, monitor);
 		}
 		return rootEdit;
 	}
@@ -160,13 +195,115 @@ public class OrganizeImportsCommand {
 	}
 
 	public void organizeImportsInPackageFragment(IPackageFragment fragment, WorkspaceEdit rootEdit) throws CoreException {
-		HashSet<IJavaElement> result = new HashSet<>();
+		organizeImportsInPackageFragment(fragment, rootEdit, new NullProgressMonitor());
+	}
+
+	public void organizeImportsInPackageFragment(IPackageFragment fragment, WorkspaceEdit rootEdit, IProgressMonitor monitor) throws CoreException {
+		HashSet<IJavaElement> result = new LinkedHashSet<>();
 		collectCompilationUnits(fragment.getParent(), result, fragment.getElementName());
-		for (IJavaElement elem : result) {
-			if (elem.getElementType() == IJavaElement.COMPILATION_UNIT) {
-				organizeImportsInCompilationUnit((ICompilationUnit) elem, rootEdit);
+		organizeImportsInCompilationUnits(result, rootEdit, monitor);
+	}
+
+	/**
+	 * Organize imports of many compilation units at once. The ASTs of each
+	 * project are resolved in batches, and the batches are organized in
+	 * parallel. Each batch has its own parser, and its edits are computed by a
+	 * single thread, since the bindings of its ASTs are resolved lazily by an
+	 * environment which is not thread-safe.
+	 *
+	 * @param elements
+	 *            the elements, only the compilation units are organized
+	 * @param rootEdit
+	 *            the edit receiving the changes
+	 * @param monitor
+	 *            the progress monitor
+	 * @throws OperationCanceledException
+	 *             if the monitor is cancelled, the root edit is then left
+	 *             unchanged
+	 */
+	public void organizeImportsInCompilationUnits(Collection<IJavaElement> elements, WorkspaceEdit rootEdit, IProgressMonitor monitor) {
+		Map<IJavaProject, List<ICompilationUnit>> unitsByProject = new LinkedHashMap<>();
+		int total = 0;
+		for (IJavaElement elem : elements) {
+			if (elem.getElementType() == IJavaElement.COMPILATION_UNIT && elem.getResource() != null) {
+				unitsByProject.computeIfAbsent(elem.getJavaProject(), p -> new ArrayList<>()).add((ICompilationUnit) elem);
+				total++;
+			}
+		}
+		if (total == 0) {
+			return;
+		}
+		List<Entry<IJavaProject, List<ICompilationUnit>>> batches = new ArrayList<>();
+		for (Entry<IJavaProject, List<ICompilationUnit>> entry : unitsByProject.entrySet()) {
+			List<ICompilationUnit> units = entry.getValue();
+			for (int i = 0; i < units.size(); i += BATCH_SIZE) {
+				batches.add(Map.entry(entry.getKey(), units.subList(i, Math.min(units.size(), i + BATCH_SIZE))));
+			}
+		}
+		SubMonitor subMonitor = SubMonitor.convert(monitor, "Organizing imports", total);
+		JobHelpers.waitForJobs(BaseDocumentLifeCycleHandler.DOCUMENT_LIFE_CYCLE_JOBS, subMonitor);
+		if (subMonitor.isCanceled()) {
+			throw new OperationCanceledException();
+		}
+		// the progress monitor isn't thread-safe, the batches only report to it under its lock
+		IProgressMonitor cancellation = new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				return subMonitor.isCanceled();
+			}
+		};
+		List<Map<ICompilationUnit, List<org.eclipse.lsp4j.TextEdit>>> results = batches.parallelStream().map(batch -> {
+			Map<ICompilationUnit, List<org.eclipse.lsp4j.TextEdit>> edits = new LinkedHashMap<>();
+			Map<ICompilationUnit, CompilationUnit> asts = createASTs(batch.getKey(), batch.getValue(), cancellation);
+			for (ICompilationUnit unit : batch.getValue()) {
+				if (cancellation.isCanceled()) {
+					throw new OperationCanceledException();
+				}
+				List<org.eclipse.lsp4j.TextEdit> unitEdits = organizeImports(unit, asts.get(unit));
+				if (unitEdits != null) {
+					edits.put(unit, unitEdits);
+				}
+			}
+			synchronized (subMonitor) {
+				subMonitor.worked(batch.getValue().size());
 			}
+			return edits;
+		}).toList();
+		if (subMonitor.isCanceled()) {
+			throw new OperationCanceledException();
+		}
+		for (Map<ICompilationUnit, List<org.eclipse.lsp4j.TextEdit>> edits : results) {
+			edits.forEach((unit, unitEdits) -> rootEdit.getChanges().put(JDTUtils.toURI(unit), unitEdits));
+		}
+	}
+
+	private static Map<ICompilationUnit, CompilationUnit> createASTs(IJavaProject project, List<ICompilationUnit> units, IProgressMonitor monitor) {
+		// a parser per batch, the environments of the parsers aren't shared
+		Map<ICompilationUnit, CompilationUnit> asts = new HashMap<>();
+		ASTParser parser = ASTParser.newParser(IASTSharedValues.SHARED_AST_LEVEL);
+		parser.setProject(project);
+		parser.setResolveBindings(true);
+		parser.setStatementsRecovery(IASTSharedValues.SHARED_AST_STATEMENT_RECOVERY);
+		parser.setBindingsRecovery(IASTSharedValues.SHARED_BINDING_RECOVERY);
+		parser.createASTs(units.toArray(new ICompilationUnit[0]), new String[0], new ASTRequestor() {
+			@Override
+			public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+				asts.put(source, ast);
+			}
+		}, monitor);
+		return asts;
+	}
+
+	private static List<org.eclipse.lsp4j.TextEdit> organizeImports(ICompilationUnit unit, CompilationUnit astRoot) {
+		if (astRoot == null) {
+			return null;
+		}
+		TextEdit edit = OrganizeImportsHandler.organizeImports(unit, astRoot, null, false);
+		if (edit == null) {
+			return null;
 		}
+		List<org.eclipse.lsp4j.TextEdit> edits = new TextEditConverter(unit, edit).convert();
+		return ChangeUtil.hasChanges(edits) ? edits : null;
 	}
 
 	public void organizeImportsInCompilationUnit(ICompilationUnit unit, WorkspaceEdit rootEdit) {
@@ -29,12 +29,11 @@ import org.eclipse.jdt.core.ITypeHierarchy;
 import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
-import org.eclipse.jdt.internal.core.DefaultWorkingCopyOwner;
-import org.eclipse.jdt.internal.core.JavaModelManager;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JDTUtils.LocationType;
 import org.eclipse.jdt.ls.core.internal.JSONUtility;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.TypeHierarchyCache;
 import org.eclipse.jdt.ls.core.internal.handlers.DocumentSymbolHandler;
 import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.Position;
@@ -221,10 +220,9 @@ public class TypeHierarchyCommand {
 
 		ITypeHierarchy typeHierarchy;
 		if (direction == TypeHierarchyDirection.Parents) {
-			typeHierarchy = type.newSupertypeHierarchy(DefaultWorkingCopyOwner.PRIMARY, monitor);
+			typeHierarchy = TypeHierarchyCache.getInstance().getSupertypeHierarchy(type, monitor);
 		} else {
-			ICompilationUnit[] workingCopies = JavaModelManager.getJavaModelManager().getWorkingCopies(DefaultWorkingCopyOwner.PRIMARY, true);
-			typeHierarchy = type.newTypeHierarchy(workingCopies, monitor);
+			typeHierarchy = TypeHierarchyCache.getInstance().getTypeHierarchy(type, monitor);
 		}
 		if (direction == TypeHierarchyDirection.Children || direction == TypeHierarchyDirection.Both) {
 			List<TypeHierarchyItem> childrenItems = new ArrayList<>();
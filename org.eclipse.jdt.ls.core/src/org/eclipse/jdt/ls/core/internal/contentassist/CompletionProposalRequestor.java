@@ -14,11 +14,19 @@ package org.eclipse.jdt.ls.core.internal.contentassist;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.core.runtime.Assert;
@@ -26,6 +34,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.ProgressMonitorWrapper;
 import org.eclipse.jdt.core.CompletionContext;
 import org.eclipse.jdt.core.CompletionProposal;
 import org.eclipse.jdt.core.CompletionRequestor;
@@ -73,6 +82,11 @@ public final class CompletionProposalRequestor extends CompletionRequestor {
 	private CompletionProposalReplacementProvider proposalProvider;
 	private CompletionItemDefaults itemDefaults;
 
+	/**
+	 * The time budget of the ranking providers.
+	 */
+	private static final long RANKING_PROVIDER_TIMEOUT = 200; /*ms*/
+
 	static class ProposalComparator implements Comparator<CompletionProposal> {
 
 		private Map<CompletionProposal, char[]> completionCache;
@@ -113,6 +127,17 @@ public final class CompletionProposalRequestor extends CompletionRequestor {
 			return completionCache.computeIfAbsent(cp, p -> p.getCompletion());
 		}
 
+		/**
+		 * Drops the cached completion of a proposal which is no longer compared.
+		 */
+		void forget(CompletionProposal cp) {
+			completionCache.remove(cp);
+		}
+
+		int getCacheSize() {
+			return completionCache.size();
+		}
+
 	};
 
 	public boolean isComplete() {
@@ -222,31 +247,43 @@ public final class CompletionProposalRequestor extends CompletionRequestor {
 	}
 
 	public List<CompletionItem> getCompletionItems(IProgressMonitor monitor) {
-		CompletionRankingAggregation[] aggregatedRanks = getAggregatedRankingResult(monitor);
-		for (int i = 0; i < proposals.size(); i++) {
-			CompletionProposal proposal = proposals.get(i);
+		int maxCompletions = preferenceManager.getPreferences().getMaxCompletionResults();
+		List<ICompletionRankingProvider> providers = ((CompletionContributionService) JavaLanguageServerPlugin.getCompletionContributionService()).getRankingProviders();
+		// only the proposals which can make it into the result, once the
+		// ranking scores are added to their relevance, need to be ranked
+		List<CompletionProposal> candidates = proposals;
+		if (proposals.size() > maxCompletions) {
+			int maxScore = providers == null ? 0 : providers.size() * CompletionRanking.MAX_SCORE;
+			int minRelevance = getMinRelevance(proposals, maxCompletions) - maxScore;
+			candidates = new ArrayList<>();
+			for (CompletionProposal proposal : proposals) {
+				if (proposal.getRelevance() >= minRelevance) {
+					candidates.add(proposal);
+				}
+			}
+		}
+		CompletionRankingAggregation[] aggregatedRanks = getAggregatedRankingResult(providers, candidates, monitor);
+		Map<CompletionProposal, CompletionRankingAggregation> proposalToRankingResult = new IdentityHashMap<>();
+		for (int i = 0; i < candidates.size(); i++) {
+			CompletionProposal proposal = candidates.get(i);
 			if (aggregatedRanks[i] != null) {
 				// we assume there won't be overflow for now since the the score from
 				// each provider can only be 100 at most.
 				proposal.setRelevance(proposal.getRelevance() + aggregatedRanks[i].getScore());
+				proposalToRankingResult.put(proposal, aggregatedRanks[i]);
 			}
 		}
-		Map<CompletionProposal, CompletionRankingAggregation> proposalToRankingResult = new HashMap<>();
-		for (int i = 0; i < proposals.size(); i++) {
-			proposalToRankingResult.put(proposals.get(i), aggregatedRanks[i]);
-		}
 
-		proposals.sort(new ProposalComparator(proposals.size()));
-		int maxCompletions = preferenceManager.getPreferences().getMaxCompletionResults();
-		int limit = Math.min(proposals.size(), maxCompletions);
+		List<CompletionProposal> topProposals = getTopProposals(candidates, maxCompletions);
+		int limit = topProposals.size();
 		List<CompletionItem> completionItems = new ArrayList<>(limit);
 
-		if (!proposals.isEmpty()){
-			initializeCompletionListItemDefaults(proposals.get(0));
+		if (!topProposals.isEmpty()){
+			initializeCompletionListItemDefaults(topProposals.get(0));
 		}
 		//Let's compute replacement texts for the most relevant results only
 		for (int i = 0; i < limit; i++) {
-			CompletionProposal proposal = proposals.get(i);
+			CompletionProposal proposal = topProposals.get(i);
 			try {
 				CompletionItem item = toCompletionItem(proposal, i);
 				CompletionRankingAggregation rankingResult = proposalToRankingResult.get(proposal);
@@ -275,43 +312,144 @@ public final class CompletionProposalRequestor extends CompletionRequestor {
 		if (proposals.size() > maxCompletions) {
 			//we keep receiving completions past our capacity so that makes the whole result incomplete
 			isComplete = false;
-			response.setProposals(proposals.subList(0, limit));
-		} else {
-			response.setProposals(proposals);
 		}
+		response.setProposals(topProposals);
 		response.setItems(completionItems);
 		CompletionResponses.store(response);
 
 		return completionItems;
 	}
 
-	private CompletionRankingAggregation[] getAggregatedRankingResult(IProgressMonitor monitor) {
-		List<ICompletionRankingProvider> providers =
-				((CompletionContributionService) JavaLanguageServerPlugin.getCompletionContributionService()).getRankingProviders();
-		CompletionRankingAggregation[] resultCombination = new CompletionRankingAggregation[this.proposals.size()];
-		if (providers != null && !providers.isEmpty()) {
-			for (ICompletionRankingProvider provider : providers) {
-				CompletionRanking[] results = provider.rank(proposals, context, unit, monitor);
-				if (results == null || results.length != proposals.size()) {
-					continue;
+	/**
+	 * @return the relevance of the <code>count</code>th most relevant proposal
+	 */
+	static int getMinRelevance(List<CompletionProposal> proposals, int count) {
+		PriorityQueue<Integer> relevances = new PriorityQueue<>(count);
+		for (CompletionProposal proposal : proposals) {
+			int relevance = proposal.getRelevance();
+			if (relevances.size() < count) {
+				relevances.add(relevance);
+			} else if (relevance > relevances.peek()) {
+				relevances.poll();
+				relevances.add(relevance);
+			}
+		}
+		return relevances.isEmpty() ? Integer.MIN_VALUE : relevances.peek();
+	}
+
+	/**
+	 * Selects the <code>count</code> best proposals with a bounded heap, rather
+	 * than sorting all of them.
+	 *
+	 * @return the best proposals, sorted
+	 */
+	static List<CompletionProposal> getTopProposals(List<CompletionProposal> proposals, int count) {
+		return getTopProposals(proposals, count, new ProposalComparator(Math.min(proposals.size(), count)));
+	}
+
+	static List<CompletionProposal> getTopProposals(List<CompletionProposal> proposals, int count, ProposalComparator comparator) {
+		List<CompletionProposal> result;
+		if (proposals.size() <= count) {
+			result = new ArrayList<>(proposals);
+		} else {
+			// the head of the queue is the least relevant of the kept proposals
+			PriorityQueue<CompletionProposal> queue = new PriorityQueue<>(count, comparator.reversed());
+			for (CompletionProposal proposal : proposals) {
+				if (queue.size() < count) {
+					queue.add(proposal);
+				} else if (comparator.compare(proposal, queue.peek()) < 0) {
+					comparator.forget(queue.poll());
+					queue.add(proposal);
+				} else {
+					// only the completions of the kept proposals stay cached
+					comparator.forget(proposal);
 				}
+			}
+			result = new ArrayList<>(queue);
+		}
+		result.sort(comparator);
+		return result;
+	}
 
-				for (int i = 0; i < results.length; i++) {
-					if (results[i] == null) {
-						continue;
-					}
-					if (resultCombination[i] == null) {
-						resultCombination[i] = new CompletionRankingAggregation();
-					}
-					resultCombination[i].addScore(results[i].getScore());
-					resultCombination[i].addDecorator(results[i].getDecorator());
-					resultCombination[i].addData(results[i].getData());
+	/**
+	 * Runs the ranking providers concurrently, against an immutable copy of the
+	 * candidates. Providers which don't answer within
+	 * {@link #RANKING_PROVIDER_TIMEOUT} are ignored, so that a slow provider
+	 * never blocks the completion list. Their monitor is canceled, instead of
+	 * interrupting the shared executor thread they run on.
+	 */
+	private CompletionRankingAggregation[] getAggregatedRankingResult(List<ICompletionRankingProvider> providers, List<CompletionProposal> candidates, IProgressMonitor monitor) {
+		CompletionRankingAggregation[] resultCombination = new CompletionRankingAggregation[candidates.size()];
+		if (providers == null || providers.isEmpty() || candidates.isEmpty()) {
+			return resultCombination;
+		}
+		List<CompletionProposal> snapshot = Collections.unmodifiableList(new ArrayList<>(candidates));
+		CompletionContext context = this.context;
+		ExecutorService executor = JavaLanguageServerPlugin.getExecutorService();
+		List<ICompletionRankingProvider> rankingProviders = new ArrayList<>(providers);
+		List<Future<CompletionRanking[]>> futures = new ArrayList<>(rankingProviders.size());
+		List<RankingMonitor> monitors = new ArrayList<>(rankingProviders.size());
+		for (ICompletionRankingProvider provider : rankingProviders) {
+			RankingMonitor rankingMonitor = new RankingMonitor(monitor);
+			monitors.add(rankingMonitor);
+			futures.add(executor.submit(() -> provider.rank(snapshot, context, unit, rankingMonitor)));
+		}
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(RANKING_PROVIDER_TIMEOUT);
+		for (int p = 0; p < futures.size(); p++) {
+			Future<CompletionRanking[]> future = futures.get(p);
+			CompletionRanking[] results;
+			try {
+				results = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+			} catch (TimeoutException e) {
+				future.cancel(false);
+				monitors.get(p).timedOut = true;
+				CompletionContributionService.recordRankingTimeout(rankingProviders.get(p));
+				continue;
+			} catch (ExecutionException e) {
+				JavaLanguageServerPlugin.logException("Completion ranking provider failure", e.getCause());
+				continue;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				futures.forEach(f -> f.cancel(false));
+				monitors.forEach(m -> m.timedOut = true);
+				break;
+			}
+			if (results == null || results.length != candidates.size()) {
+				continue;
+			}
+
+			for (int i = 0; i < results.length; i++) {
+				if (results[i] == null) {
+					continue;
+				}
+				if (resultCombination[i] == null) {
+					resultCombination[i] = new CompletionRankingAggregation();
 				}
+				resultCombination[i].addScore(results[i].getScore());
+				resultCombination[i].addDecorator(results[i].getDecorator());
+				resultCombination[i].addData(results[i].getData());
 			}
 		}
 		return resultCombination;
 	}
 
+	/**
+	 * The monitor of a ranking provider, also canceled when the provider times
+	 * out, without canceling the completion.
+	 */
+	private static final class RankingMonitor extends ProgressMonitorWrapper {
+		private volatile boolean timedOut;
+
+		private RankingMonitor(IProgressMonitor monitor) {
+			super(monitor == null ? new NullProgressMonitor() : monitor);
+		}
+
+		@Override
+		public boolean isCanceled() {
+			return timedOut || super.isCanceled();
+		}
+	}
+
 	private void initializeCompletionListItemDefaults(CompletionProposal proposal) {
 		CompletionItem completionItem = new CompletionItem();
 		CompletionItemDefaults itemDefaults = getCompletionItemDefaults();
@@ -53,6 +53,7 @@ import org.eclipse.jdt.internal.corext.refactoring.base.ReferencesInBinaryContex
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
 import org.eclipse.jdt.internal.corext.util.MethodOverrideTester;
 import org.eclipse.jdt.internal.corext.util.SearchUtils;
+import org.eclipse.jdt.ls.core.internal.TypeHierarchyCache;
 
 public class RippleMethodFinder2 {
 
@@ -366,7 +367,7 @@ public class RippleMethodFinder2 {
 
 		for (IType methodTypeSubtype : methodTypeSubtypes) {
 			checkCanceled(pm);
-			ITypeHierarchy subtypeHierarchy= methodTypeSubtype.newTypeHierarchy(owner, pm);
+			ITypeHierarchy subtypeHierarchy= owner == null ? TypeHierarchyCache.getInstance().getSupertypeHierarchy(methodTypeSubtype, pm) : methodTypeSubtype.newTypeHierarchy(owner, pm);
 			IType[] subtypeSuperTypes= subtypeHierarchy.getAllSupertypes(methodTypeSubtype);
 			for (IType subtypeSuperType : subtypeSuperTypes) {
 				checkCanceled(pm);
@@ -412,11 +413,22 @@ public class RippleMethodFinder2 {
 			throws JavaModelException {
 		ITypeHierarchy hierarchy= getCachedHierarchy(type, owner, new SubProgressMonitor(pm, 1));
 		if (hierarchy == null) {
-			hierarchy= type.newTypeHierarchy(owner, new SubProgressMonitor(pm, 1));
+			hierarchy= newTypeHierarchy(type, owner, new SubProgressMonitor(pm, 1));
 		}
 		return hierarchy;
 	}
 
+	/**
+	 * Creates the type hierarchy of the given type, or reuses the hierarchy
+	 * shared with the other requests if it is not specific to a working copy owner.
+	 */
+	private static ITypeHierarchy newTypeHierarchy(IType type, WorkingCopyOwner owner, IProgressMonitor monitor) throws JavaModelException {
+		if (owner == null) {
+			return TypeHierarchyCache.getInstance().getTypeHierarchy(type, monitor);
+		}
+		return type.newTypeHierarchy(owner, monitor);
+	}
+
 	private void addMissedSuperTypes() throws JavaModelException {
 		Set<IMethod> newDeclarations = new HashSet<>();
 		for (IMethod method : fDeclarations) {
@@ -433,7 +445,7 @@ public class RippleMethodFinder2 {
 			for (IType root : fRootReps.get(rep)) {
 				ITypeHierarchy hierarchy= fRootHierarchies.get(root);
 				if (hierarchy == null) {
-					hierarchy= root.newTypeHierarchy(owner, new SubProgressMonitor(monitor, 1));
+					hierarchy= newTypeHierarchy(root, owner, new SubProgressMonitor(monitor, 1));
 					fRootHierarchies.put(root, hierarchy);
 				}
 				if (hierarchy.contains(type)) {
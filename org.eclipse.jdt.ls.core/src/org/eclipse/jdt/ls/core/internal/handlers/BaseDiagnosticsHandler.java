@@ -121,6 +121,13 @@ public abstract class BaseDiagnosticsHandler implements IProblemRequestor {
 		return "unknown";
 	}
 
+	/**
+	 * Returns the number of problems reported by the last reconcile.
+	 */
+	public int getProblemCount() {
+		return problems.size();
+	}
+
 	@Override
 	public void beginReporting() {
 		JavaLanguageServerPlugin.logInfo("begin problem for " + this.uri.substring(this.uri.lastIndexOf('/')));
@@ -16,12 +16,16 @@ package org.eclipse.jdt.ls.core.internal.handlers;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IMarker;
@@ -37,6 +41,7 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.core.runtime.jobs.ISchedulingRule;
@@ -56,13 +61,19 @@ import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.manipulation.CoreASTProvider;
 import org.eclipse.jdt.internal.core.OpenableElementInfo;
 import org.eclipse.jdt.internal.core.PackageFragment;
+import org.eclipse.jdt.ls.core.internal.ASTCache;
 import org.eclipse.jdt.ls.core.internal.DocumentAdapter;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.JobHelpers;
 import org.eclipse.jdt.ls.core.internal.MovingAverage;
 import org.eclipse.jdt.ls.core.internal.ProjectUtils;
+import org.eclipse.jdt.ls.core.internal.RequestMetrics;
 import org.eclipse.jdt.ls.core.internal.corrections.DiagnosticsHelper;
+import org.eclipse.jdt.ls.core.internal.jfr.DocumentValidationEvent;
+import org.eclipse.jdt.ls.core.internal.jfr.FlightRecorderSupport;
+import org.eclipse.jdt.ls.core.internal.jfr.PublishDiagnosticsEvent;
+import org.eclipse.jdt.ls.core.internal.managers.ActiveProjectBuildOrder;
 import org.eclipse.jdt.ls.core.internal.managers.InvisibleProjectImporter;
 import org.eclipse.jdt.ls.core.internal.managers.ProjectsManager;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
@@ -87,6 +98,8 @@ public abstract class BaseDocumentLifeCycleHandler {
 
 	public static final String DOCUMENT_LIFE_CYCLE_JOBS = "DocumentLifeCycleJobs";
 	public static final String PUBLISH_DIAGNOSTICS_JOBS = "DocumentLifeCyclePublishDiagnosticsJobs";
+	public static final String VALIDATION_METRICS = "documentLifeCycle/validation";
+	public static final String PUBLISH_DIAGNOSTICS_METRICS = "documentLifeCycle/publishDiagnostics";
 
 	/**
 	 * The max & init value of adaptive debounce time for document lifecycle job.
@@ -107,7 +120,8 @@ public abstract class BaseDocumentLifeCycleHandler {
 	private WorkspaceJob validationTimer;
 	private WorkspaceJob publishDiagnosticsJob;
 	private Set<ICompilationUnit> toReconcile = new HashSet<>();
-	private Map<String, Integer> documentVersions = new HashMap<>();
+	private Map<String, Integer> documentVersions = Collections.synchronizedMap(new HashMap<>());
+	private Map<String, Set<DocumentMonitor>> documentMonitors = new ConcurrentHashMap<>();
 	private MovingAverage movingAverageForValidation = new MovingAverage(DOCUMENT_LIFECYCLE_MAX_DEBOUNCE);
 	private MovingAverage movingAverageForDiagnostics = new MovingAverage(PUBLISH_DIAGNOSTICS_MIN_DEBOUNCE);
 
@@ -118,11 +132,12 @@ public abstract class BaseDocumentLifeCycleHandler {
 				@Override
 				public IStatus runInWorkspace(IProgressMonitor monitor) throws CoreException {
 					long startTime = System.nanoTime();
-					IStatus status = performValidation(monitor);
+					IStatus status = validate(monitor);
+					long elapsedTime = System.nanoTime() - startTime;
 					if (status.getSeverity() != IStatus.CANCEL) {
-						long elapsedTime = System.nanoTime() - startTime;
 						movingAverageForValidation.update(elapsedTime / 1_000_000);
 					}
+					RequestMetrics.getInstance().record(VALIDATION_METRICS, -1, elapsedTime, status.getSeverity() == IStatus.CANCEL);
 					return status;
 				}
 
@@ -156,6 +171,9 @@ public abstract class BaseDocumentLifeCycleHandler {
 			}
 			sharedASTProvider.setActiveJavaElement(cu);
 		}
+		if (!isSyntaxMode(cu)) {
+			ActiveProjectBuildOrder.getInstance().setActiveProject(cu.getJavaProject().getProject());
+		}
 		if (validationTimer != null) {
 			validationTimer.cancel();
 			ISchedulingRule rule = getRule(toReconcile);
@@ -166,8 +184,26 @@ public abstract class BaseDocumentLifeCycleHandler {
 			validationTimer.setRule(rule);
 			validationTimer.schedule(delay);
 		} else {
-			performValidation(new NullProgressMonitor());
+			validate(new NullProgressMonitor());
+		}
+	}
+
+	private IStatus validate(IProgressMonitor monitor) throws JavaModelException {
+		DocumentValidationEvent event = FlightRecorderSupport.isAvailable() ? new DocumentValidationEvent() : null;
+		if (event != null) {
+			event.begin();
+			if (event.isEnabled()) {
+				synchronized (toReconcile) {
+					event.unitCount = toReconcile.size();
+				}
+			}
+		}
+		IStatus status = performValidation(monitor);
+		if (event != null) {
+			event.cancelled = status.getSeverity() == IStatus.CANCEL;
+			event.commit();
 		}
+		return status;
 	}
 
 	private long getDocumentLifecycleDelay() {
@@ -260,7 +296,7 @@ public abstract class BaseDocumentLifeCycleHandler {
 			if (monitor.isCanceled()) {
 				return Status.CANCEL_STATUS;
 			}
-			CompilationUnit astRoot = this.sharedASTProvider.getAST(rootToValidate, CoreASTProvider.WAIT_YES, monitor);
+			CompilationUnit astRoot = ASTCache.getInstance().getAST(rootToValidate, CoreASTProvider.WAIT_YES, monitor);
 			if (monitor.isCanceled()) {
 				return Status.CANCEL_STATUS;
 			}
@@ -303,11 +339,22 @@ public abstract class BaseDocumentLifeCycleHandler {
 
 		};
 		int flags = ICompilationUnit.FORCE_PROBLEM_DETECTION | ICompilationUnit.ENABLE_BINDINGS_RECOVERY | ICompilationUnit.ENABLE_STATEMENTS_RECOVERY;
+		PublishDiagnosticsEvent event = FlightRecorderSupport.isAvailable() ? new PublishDiagnosticsEvent() : null;
+		if (event != null) {
+			event.begin();
+		}
 		unit.reconcile(ICompilationUnit.NO_AST, flags, wcOwner, monitor);
+		if (event != null && event.shouldCommit()) {
+			event.setTypeRoot(unit);
+			event.diagnosticCount = handler.getProblemCount();
+			event.cancelled = monitor.isCanceled();
+			event.commit();
+		}
 	}
 
 	public void didClose(DidCloseTextDocumentParams params) {
 		documentVersions.remove(params.getTextDocument().getUri());
+		cancelOutdatedRequests(params.getTextDocument().getUri());
 		ISchedulingRule rule = JDTUtils.getRule(params.getTextDocument().getUri());
 		try {
 			ResourcesPlugin.getWorkspace().run(new IWorkspaceRunnable() {
@@ -338,6 +385,7 @@ public abstract class BaseDocumentLifeCycleHandler {
 
 	public void didChange(DidChangeTextDocumentParams params) {
 		documentVersions.put(params.getTextDocument().getUri(), params.getTextDocument().getVersion());
+		cancelOutdatedRequests(params.getTextDocument().getUri());
 		ISchedulingRule rule = JDTUtils.getRule(params.getTextDocument().getUri());
 		try {
 			ResourcesPlugin.getWorkspace().run(new IWorkspaceRunnable() {
@@ -426,6 +474,8 @@ public abstract class BaseDocumentLifeCycleHandler {
 		}
 
 		try {
+			// bindings of the other retained ASTs may depend on the changed unit
+			ASTCache.getInstance().invalidate();
 			if (unit.equals(sharedASTProvider.getActiveJavaElement())) {
 				sharedASTProvider.disposeAST();
 				CodeActionHandler.codeActionStore.clear();
@@ -435,15 +485,16 @@ public abstract class BaseDocumentLifeCycleHandler {
 
 				Range range = changeEvent.getRange();
 				int length;
-				IDocument document = JsonRpcHelpers.toDocument(unit.getBuffer());
+				IBuffer buffer = unit.getBuffer();
+				IDocument document = JsonRpcHelpers.toDocument(buffer);
 				final int startOffset;
 				if (range != null) {
 					Position start = range.getStart();
-					startOffset = JsonRpcHelpers.toOffset(document, start.getLine(), start.getCharacter());
+					startOffset = JsonRpcHelpers.toOffset(buffer, start.getLine(), start.getCharacter());
 					length = DiagnosticsHelper.getLength(unit, range);
 				} else {
 					// range is optional and if not given, the whole file content is replaced
-					length = unit.getSource().length();
+					length = document.getLength();
 					startOffset = 0;
 				}
 
@@ -687,10 +738,11 @@ public abstract class BaseDocumentLifeCycleHandler {
 		public IStatus runInWorkspace(IProgressMonitor monitor) throws CoreException {
 			long startTime = System.nanoTime();
 			IStatus status = publishDiagnostics(monitor);
+			long elapsedTime = System.nanoTime() - startTime;
 			if (status.getSeverity() != IStatus.CANCEL) {
-				long elapsedTime = System.nanoTime() - startTime;
 				movingAverageForDiagnostics.update(elapsedTime / 1_000_000);
 			}
+			RequestMetrics.getInstance().record(PUBLISH_DIAGNOSTICS_METRICS, -1, elapsedTime, status.getSeverity() == IStatus.CANCEL);
 			return status;
 		}
 
@@ -703,6 +755,57 @@ public abstract class BaseDocumentLifeCycleHandler {
 		}
 	}
 
+	/**
+	 * Cancels the requests tracking an older version of the given document.
+	 */
+	private void cancelOutdatedRequests(String uri) {
+		Set<DocumentMonitor> monitors = documentMonitors.get(uri);
+		if (monitors != null) {
+			for (DocumentMonitor monitor : monitors) {
+				monitor.cancelIfChanged();
+			}
+		}
+	}
+
+	/**
+	 * Binds a request to the current version of the given document. The
+	 * request is cancelled as soon as a newer version of the document is
+	 * received, and then fails with the {@code ContentModified} error code
+	 * instead of returning an outdated result.
+	 *
+	 * The returned function must be created when the request is received, so
+	 * that it tracks the version the request was made for.
+	 *
+	 * @param uri
+	 *            the document uri
+	 * @param code
+	 *            the request computation
+	 * @return the computation, bound to the document
+	 */
+	public <R> Function<IProgressMonitor, R> withDocumentMonitor(String uri, BiFunction<IProgressMonitor, DocumentMonitor, R> code) {
+		DocumentMonitor documentMonitor = new DocumentMonitor(uri);
+		return monitor -> {
+			documentMonitor.track(monitor);
+			try {
+				R result = code.apply(monitor, documentMonitor);
+				documentMonitor.checkChanged();
+				return result;
+			} catch (OperationCanceledException e) {
+				documentMonitor.checkChanged();
+				throw e;
+			} finally {
+				documentMonitor.dispose();
+			}
+		};
+	}
+
+	/**
+	 * @see #withDocumentMonitor(String, BiFunction)
+	 */
+	public <R> Function<IProgressMonitor, R> withDocumentMonitor(String uri, Function<IProgressMonitor, R> code) {
+		return withDocumentMonitor(uri, (monitor, documentMonitor) -> code.apply(monitor));
+	}
+
 	/**
 	 * Can be passed to requests that are sensitive to document changes
 	 * in order to monitor the version and cancel the request if necessary.
@@ -710,19 +813,55 @@ public abstract class BaseDocumentLifeCycleHandler {
 	public class DocumentMonitor {
 
 		private final String uri;
-		private final int initialVersion;
+		private final Integer initialVersion;
+		private volatile IProgressMonitor progressMonitor;
 
 		public DocumentMonitor(String uri) {
 			this.uri = uri;
 			this.initialVersion = documentVersions.get(uri);
 		}
 
+		/**
+		 * Cancels the given progress monitor as soon as a newer version of the
+		 * document is received, until {@link #dispose()} is called.
+		 *
+		 * @param progressMonitor
+		 *            the progress monitor of the request
+		 */
+		public void track(IProgressMonitor progressMonitor) {
+			this.progressMonitor = progressMonitor;
+			documentMonitors.compute(uri, (k, monitors) -> {
+				Set<DocumentMonitor> result = monitors == null ? ConcurrentHashMap.newKeySet() : monitors;
+				result.add(this);
+				return result;
+			});
+			cancelIfChanged();
+		}
+
+		/**
+		 * Stops tracking the document changes.
+		 */
+		public void dispose() {
+			documentMonitors.computeIfPresent(uri, (k, monitors) -> {
+				monitors.remove(this);
+				return monitors.isEmpty() ? null : monitors;
+			});
+			progressMonitor = null;
+		}
+
+		private void cancelIfChanged() {
+			IProgressMonitor monitor = progressMonitor;
+			if (monitor != null && hasChanged()) {
+				monitor.setCanceled(true);
+			}
+		}
+
 		/**
 		 * @return {@code true} if the document has changed since the creation
 		 * of this monitor, {@code false} otherwise.
 		 */
 		public boolean hasChanged() {
-			return initialVersion != documentVersions.get(uri);
+			return !Objects.equals(initialVersion, documentVersions.get(uri));
 		}
 
 		/**
@@ -67,7 +67,7 @@ public class BuildWorkspaceHandler {
 			List<IMarker> problemMarkers = new ArrayList<>();
 			IProject[] projects = ProjectUtils.getAllProjects();
 			for (IProject project : projects) {
-				if (!project.equals(projectsManager.getDefaultProject())) {
+				if (!project.equals(ProjectsManager.getDefaultProject()) && hasErrors(project)) {
 					List<IMarker> markers = ResourceUtils.getErrorMarkers(project);
 					if (markers != null) {
 						problemMarkers.addAll(markers);
@@ -126,8 +126,7 @@ public class BuildWorkspaceHandler {
 			}
 
 			try {
-				List<IMarker> markers = ResourceUtils.getErrorMarkers(project);
-				if (markers != null && markers.size() > 0) {
+				if (hasErrors(project)) {
 					return BuildWorkspaceStatus.WITH_ERROR;
 				}
 			} catch (CoreException e) {
@@ -177,6 +176,15 @@ public class BuildWorkspaceHandler {
 		return false;
 	}
 
+	/**
+	 * Returns whether the given project has error markers. Unlike
+	 * {@link ResourceUtils#getErrorMarkers(IResource)}, it doesn't create the
+	 * markers of the project, most of which are usually warnings.
+	 */
+	private static boolean hasErrors(IProject project) throws CoreException {
+		return project.findMaxProblemSeverity(null, true, IResource.DEPTH_INFINITE) >= IMarker.SEVERITY_ERROR;
+	}
+
 	private static String convertMarker(IMarker marker) {
 		StringBuilder builder = new StringBuilder();
 		String message = marker.getAttribute(IMarker.MESSAGE, "<no message>");
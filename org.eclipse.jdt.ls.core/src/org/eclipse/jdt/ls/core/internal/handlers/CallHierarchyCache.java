@@ -0,0 +1,350 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IOpenable;
+import org.eclipse.jdt.core.ISourceReference;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.internal.corext.callhierarchy.CallHierarchyCore;
+import org.eclipse.jdt.internal.corext.callhierarchy.MethodWrapper;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+
+/**
+ * Keeps the incoming and outgoing calls of the members expanded in the call
+ * hierarchy, so that a member shown in several branches, or expanded again,
+ * isn't searched again. The calls of the members of the last expanded level
+ * are searched in the background, while the client shows that level.
+ *
+ * An entry is dropped when one of the units it depends on changes: the unit
+ * of the member and the units of its calls. The incoming calls are also
+ * dropped when the changed code mentions the name of the member, since it may
+ * call it now. The changed code is the members reported by a fine-grained
+ * delta, or the whole unit otherwise. All the entries are dropped when the
+ * classpath changes.
+ */
+public final class CallHierarchyCache {
+
+	private static final int MAX_ENTRIES = 500;
+
+	/**
+	 * The maximum number of members whose calls are searched in advance.
+	 */
+	private static final int MAX_PREFETCH = 10;
+
+	private static final CallHierarchyCache INSTANCE = new CallHierarchyCache();
+
+	private final Map<IMember, Entry> incomingCalls = newEntryMap();
+	private final Map<IMember, Entry> outgoingCalls = newEntryMap();
+	private final PrefetchJob prefetchJob = new PrefetchJob();
+	private long generation;
+
+	private CallHierarchyCache() {
+		IElementChangedListener listener = (ElementChangedEvent event) -> elementChanged(event.getDelta());
+		JavaCore.addElementChangedListener(listener, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+	}
+
+	public static CallHierarchyCache getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Returns the incoming or outgoing calls of the given member, searching
+	 * them if they are not cached, and searches the calls of the returned
+	 * members in the background.
+	 *
+	 * @return the calls, or <code>null</code> if the member has no call
+	 *         hierarchy
+	 */
+	public MethodWrapper[] getCalls(IMember member, boolean isIncomingCall, IProgressMonitor monitor) {
+		MethodWrapper[] calls = search(member, isIncomingCall, monitor);
+		if (calls != null && calls.length > 0) {
+			prefetchJob.prefetch(calls, isIncomingCall);
+		}
+		return calls;
+	}
+
+	public void invalidate() {
+		synchronized (this) {
+			incomingCalls.clear();
+			outgoingCalls.clear();
+			generation++;
+		}
+		prefetchJob.cancel();
+	}
+
+	/**
+	 * @return the number of cached members
+	 */
+	public synchronized int size() {
+		return incomingCalls.size() + outgoingCalls.size();
+	}
+
+	private MethodWrapper[] search(IMember member, boolean isIncomingCall, IProgressMonitor monitor) {
+		Map<IMember, Entry> entries = isIncomingCall ? incomingCalls : outgoingCalls;
+		long searchGeneration;
+		synchronized (this) {
+			Entry entry = entries.get(member);
+			if (entry != null) {
+				return entry.calls;
+			}
+			searchGeneration = generation;
+		}
+		MethodWrapper root = getCallRoot(member, isIncomingCall);
+		if (root == null || (isIncomingCall && !root.canHaveChildren())) {
+			return null;
+		}
+		MethodWrapper[] calls = root.getCalls(monitor);
+		if (calls == null || monitor.isCanceled()) {
+			return calls;
+		}
+		Entry entry = new Entry(member, calls);
+		synchronized (this) {
+			// the calls searched before a change may be outdated
+			if (searchGeneration == generation) {
+				entries.put(member, entry);
+			}
+		}
+		return calls;
+	}
+
+	private static MethodWrapper getCallRoot(IMember member, boolean isIncomingCall) {
+		IMember[] members = { member };
+		CallHierarchyCore callHierarchy = CallHierarchyCore.getDefault();
+		MethodWrapper[] result = isIncomingCall ? callHierarchy.getCallerRoots(members) : callHierarchy.getCalleeRoots(members);
+		if (result == null || result.length < 1) {
+			return null;
+		}
+		return result[0];
+	}
+
+	private void elementChanged(IJavaElementDelta delta) {
+		synchronized (this) {
+			if (incomingCalls.isEmpty() && outgoingCalls.isEmpty()) {
+				return;
+			}
+		}
+		Set<ICompilationUnit> changedUnits = new HashSet<>();
+		List<IJavaElement> changedCode = new ArrayList<>();
+		if (collectChangedUnits(delta, changedUnits, changedCode)) {
+			invalidate();
+			return;
+		}
+		if (changedUnits.isEmpty()) {
+			return;
+		}
+		List<String> sources = new ArrayList<>();
+		for (IJavaElement element : changedCode) {
+			try {
+				if (element.exists()) {
+					sources.add(((ISourceReference) element).getSource());
+				}
+			} catch (JavaModelException e) {
+				JavaLanguageServerPlugin.logException(e.getMessage(), e);
+			}
+		}
+		synchronized (this) {
+			generation++;
+			removeEntries(incomingCalls, changedUnits, sources);
+			removeEntries(outgoingCalls, changedUnits, null);
+		}
+	}
+
+	private static void removeEntries(Map<IMember, Entry> entries, Set<ICompilationUnit> changedUnits, List<String> sources) {
+		for (Iterator<Entry> iterator = entries.values().iterator(); iterator.hasNext();) {
+			Entry entry = iterator.next();
+			if (entry.dependsOn(changedUnits) || (sources != null && entry.isMentioned(sources))) {
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * Collects the compilation units changed by the given delta, and their
+	 * added or changed code.
+	 *
+	 * @return whether the classpath changed, so all the entries are outdated
+	 */
+	private static boolean collectChangedUnits(IJavaElementDelta delta, Set<ICompilationUnit> changedUnits, List<IJavaElement> changedCode) {
+		IJavaElement element = delta.getElement();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_PROJECT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & (IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED | IJavaElementDelta.F_CLOSED | IJavaElementDelta.F_OPENED)) != 0) {
+					return true;
+				}
+				break;
+			case IJavaElement.COMPILATION_UNIT:
+				// opening or closing a working copy doesn't change the unit
+				if (delta.getKind() != IJavaElementDelta.CHANGED || delta.getFlags() != IJavaElementDelta.F_PRIMARY_WORKING_COPY) {
+					changedUnits.add(((ICompilationUnit) element).getPrimary());
+				}
+				if (delta.getKind() == IJavaElementDelta.ADDED) {
+					changedCode.add(element);
+				} else if ((delta.getFlags() & IJavaElementDelta.F_FINE_GRAINED) != 0) {
+					collectChangedCode(delta, changedCode);
+				} else if ((delta.getFlags() & IJavaElementDelta.F_CONTENT) != 0) {
+					changedCode.add(element);
+				}
+				return false;
+			default:
+				break;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (collectChangedUnits(child, changedUnits, changedCode)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Collects the elements added or changed below the given fine-grained
+	 * delta, without reading the rest of the unit. The removed elements can't
+	 * call a member.
+	 */
+	private static void collectChangedCode(IJavaElementDelta delta, List<IJavaElement> changedCode) {
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			IJavaElement element = child.getElement();
+			if (!(element instanceof ISourceReference)) {
+				continue;
+			}
+			if (child.getKind() == IJavaElementDelta.ADDED || (child.getFlags() & IJavaElementDelta.F_CONTENT) != 0) {
+				changedCode.add(element);
+			} else if (child.getKind() == IJavaElementDelta.CHANGED) {
+				collectChangedCode(child, changedCode);
+			}
+		}
+	}
+
+	private static Map<IMember, Entry> newEntryMap() {
+		return new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<IMember, Entry> eldest) {
+				return size() > MAX_ENTRIES;
+			}
+		};
+	}
+
+	private static IOpenable getOpenable(IMember member) {
+		ICompilationUnit unit = member.getCompilationUnit();
+		return unit != null ? unit.getPrimary() : member.getTypeRoot();
+	}
+
+	private static final class Entry {
+		private final String name;
+		private final MethodWrapper[] calls;
+		private final Set<IOpenable> units = new HashSet<>();
+
+		private Entry(IMember member, MethodWrapper[] calls) {
+			this.name = member.getElementName();
+			this.calls = calls;
+			units.add(getOpenable(member));
+			for (MethodWrapper call : calls) {
+				IMember callMember = call.getMember();
+				if (callMember != null) {
+					units.add(getOpenable(callMember));
+				}
+			}
+		}
+
+		private boolean dependsOn(Collection<ICompilationUnit> changedUnits) {
+			for (ICompilationUnit unit : changedUnits) {
+				if (units.contains(unit)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private boolean isMentioned(Collection<String> sources) {
+			for (String source : sources) {
+				if (source != null && source.contains(name)) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Searches the calls of the members of the last expanded level.
+	 */
+	private final class PrefetchJob extends Job {
+		private volatile List<IMember> members = List.of();
+		private volatile boolean isIncomingCall;
+
+		private PrefetchJob() {
+			super("Prefetch call hierarchy");
+			setSystem(true);
+			setPriority(Job.DECORATE);
+		}
+
+		private void prefetch(MethodWrapper[] calls, boolean isIncomingCall) {
+			List<IMember> next = new ArrayList<>();
+			for (MethodWrapper call : calls) {
+				IMember member = call.getMember();
+				if (member != null && !next.contains(member)) {
+					next.add(member);
+					if (next.size() >= MAX_PREFETCH) {
+						break;
+					}
+				}
+			}
+			cancel();
+			this.members = next;
+			this.isIncomingCall = isIncomingCall;
+			schedule();
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			List<IMember> toSearch = members;
+			boolean incoming = isIncomingCall;
+			try {
+				for (IMember member : toSearch) {
+					if (monitor.isCanceled()) {
+						return Status.CANCEL_STATUS;
+					}
+					if (member.exists()) {
+						search(member, incoming, monitor);
+					}
+				}
+			} catch (OperationCanceledException e) {
+				return Status.CANCEL_STATUS;
+			}
+			return Status.OK_STATUS;
+		}
+	}
+}
@@ -21,9 +21,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 import org.eclipse.core.runtime.Assert;
@@ -60,16 +58,10 @@ import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.SymbolTag;
 
 public class CallHierarchyHandler {
-	private static Map<IJavaElement, MethodWrapper> incomingMethodWrapperCache = new ConcurrentHashMap<>();
-	private static Map<IJavaElement, MethodWrapper> outgoingMethodWrapperCache = new ConcurrentHashMap<>();
 
 	public List<CallHierarchyItem> prepareCallHierarchy(CallHierarchyPrepareParams params, IProgressMonitor monitor) {
 		Assert.isNotNull(params, "params");
 
-		// trigger call hierarchy at a new position, clean the method wrapper cache.
-		incomingMethodWrapperCache.clear();
-		outgoingMethodWrapperCache.clear();
-
 		String uri = params.getTextDocument().getUri();
 		int line = params.getPosition().getLine();
 		int character = params.getPosition().getCharacter();
@@ -184,12 +176,7 @@ public class CallHierarchyHandler {
 
 		checkMonitor(monitor);
 
-		MethodWrapper wrapper = incomingMethodWrapperCache.containsKey(candidate) ?
-			incomingMethodWrapperCache.get(candidate) : getCallRoot(candidate, true);
-		if (wrapper == null || !wrapper.canHaveChildren()) {
-			return null;
-		}
-		MethodWrapper[] calls = wrapper.getCalls(sub.split(1));
+		MethodWrapper[] calls = CallHierarchyCache.getInstance().getCalls(candidate, true, sub.split(1));
 		if (calls == null) {
 			return null;
 		}
@@ -207,10 +194,6 @@ public class CallHierarchyHandler {
 					result.add(new CallHierarchyIncomingCall(symbol, ranges));
 				}
 			}
-			IMember member = call.getMember();
-			if (member != null) {
-				incomingMethodWrapperCache.put(member, call);
-			}
 		}
 
 		return result;
@@ -235,12 +218,7 @@ public class CallHierarchyHandler {
 
 		checkMonitor(monitor);
 
-		MethodWrapper wrapper = outgoingMethodWrapperCache.containsKey(candidate) ? outgoingMethodWrapperCache.get(candidate) : getCallRoot(candidate, false);
-		if (wrapper == null) {
-			return null;
-		}
-
-		MethodWrapper[] calls = wrapper.getCalls(sub.split(1));
+		MethodWrapper[] calls = CallHierarchyCache.getInstance().getCalls(candidate, false, sub.split(1));
 		if (calls == null) {
 			return null;
 		}
@@ -255,10 +233,6 @@ public class CallHierarchyHandler {
 					result.add(new CallHierarchyOutgoingCall(symbol, ranges));
 				}
 			}
-			IMember member = call.getMember();
-			if (member != null) {
-				outgoingMethodWrapperCache.put(member, call);
-			}
 		}
 
 		return result;
@@ -271,23 +245,6 @@ public class CallHierarchyHandler {
 		return emptyList();
 	}
 
-	private MethodWrapper getCallRoot(IMember member, boolean isIncomingCall) {
-		Assert.isNotNull(member, "member");
-
-		IMember[] members = { member };
-		CallHierarchyCore callHierarchy = CallHierarchyCore.getDefault();
-		final MethodWrapper[] result;
-		if (isIncomingCall) {
-			result = callHierarchy.getCallerRoots(members);
-		} else {
-			result = callHierarchy.getCalleeRoots(members);
-		}
-		if (result == null || result.length < 1) {
-			return null;
-		}
-		return result[0];
-	}
-
 	private CallHierarchyItem toCallHierarchyItem(IMember member) throws JavaModelException {
 		Location fullLocation = getLocation(member, LocationType.FULL_RANGE);
 		Range range = fullLocation.getRange();
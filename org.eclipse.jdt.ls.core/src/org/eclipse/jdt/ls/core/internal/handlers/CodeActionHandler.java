@@ -37,6 +37,7 @@ import org.eclipse.jdt.core.formatter.DefaultCodeFormatterConstants;
 import org.eclipse.jdt.core.manipulation.CoreASTProvider;
 import org.eclipse.jdt.internal.ui.text.correction.IProblemLocationCore;
 import org.eclipse.jdt.internal.ui.text.correction.ProblemLocationCore;
+import org.eclipse.jdt.ls.core.internal.ASTCache;
 import org.eclipse.jdt.ls.core.internal.ChangeUtil;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaCodeActionKind;
@@ -46,6 +47,8 @@ import org.eclipse.jdt.ls.core.internal.corrections.InnovationContext;
 import org.eclipse.jdt.ls.core.internal.corrections.QuickFixProcessor;
 import org.eclipse.jdt.ls.core.internal.corrections.RefactorProcessor;
 import org.eclipse.jdt.ls.core.internal.corrections.proposals.ChangeCorrectionProposal;
+import org.eclipse.jdt.ls.core.internal.jfr.CodeActionEvent;
+import org.eclipse.jdt.ls.core.internal.jfr.FlightRecorderSupport;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
 import org.eclipse.jdt.ls.core.internal.preferences.Preferences;
 import org.eclipse.jdt.ls.core.internal.text.correction.AssignToVariableAssistCommandProposal;
@@ -99,6 +102,21 @@ public class CodeActionHandler {
 		if (unit == null || monitor.isCanceled()) {
 			return Collections.emptyList();
 		}
+		CodeActionEvent event = FlightRecorderSupport.isAvailable() ? new CodeActionEvent() : null;
+		if (event != null) {
+			event.begin();
+		}
+		List<Either<Command, CodeAction>> codeActions = getCodeActionCommands(unit, params, monitor);
+		if (event != null && event.shouldCommit()) {
+			event.setTypeRoot(unit);
+			event.codeActionCount = codeActions.size();
+			event.cancelled = monitor.isCanceled();
+			event.commit();
+		}
+		return codeActions;
+	}
+
+	private List<Either<Command, CodeAction>> getCodeActionCommands(ICompilationUnit unit, CodeActionParams params, IProgressMonitor monitor) {
 
 		Map<String, Object> formattingOptions = ConfigurationHandler.getFormattingOptions(params.getTextDocument().getUri());
 		if (formattingOptions != null && !formattingOptions.isEmpty()) {
@@ -337,7 +355,7 @@ public class CodeActionHandler {
 	}
 
 	public static CompilationUnit getASTRoot(ICompilationUnit unit, IProgressMonitor monitor) {
-		return CoreASTProvider.getInstance().getAST(unit, CoreASTProvider.WAIT_YES, monitor);
+		return ASTCache.getInstance().getAST(unit, CoreASTProvider.WAIT_YES, monitor);
 	}
 
 	public static InnovationContext getContext(ICompilationUnit unit, CompilationUnit astRoot, Range range) {
@@ -12,14 +12,21 @@
  *******************************************************************************/
 package org.eclipse.jdt.ls.core.internal.handlers;
 
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.jdt.ls.core.contentassist.ICompletionRankingProvider;
 import org.eclipse.jdt.ls.core.contentassist.ICompletionContributionService;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 
 public class CompletionContributionService implements ICompletionContributionService {
 
+	private static final Map<String, AtomicLong> rankingTimeouts = new ConcurrentHashMap<>();
+
 	private List<ICompletionRankingProvider> providers;
 
 
@@ -51,4 +58,27 @@ public class CompletionContributionService implements ICompletionContributionSer
 		}
 		this.providers.removeIf(p -> p.equals(provider));
 	}
+
+	/**
+	 * Records that the given provider didn't rank the proposals in time, its
+	 * results were ignored. Only the first timeout and then every power of two
+	 * is logged, since a slow provider times out on every completion.
+	 */
+	public static void recordRankingTimeout(ICompletionRankingProvider provider) {
+		String name = provider.getClass().getName();
+		long count = rankingTimeouts.computeIfAbsent(name, k -> new AtomicLong()).incrementAndGet();
+		if (Long.bitCount(count) != 1) {
+			return;
+		}
+		JavaLanguageServerPlugin.logInfo("Completion ranking provider " + name + " timed out (" + count + " times)");
+	}
+
+	/**
+	 * @return the number of timeouts of the ranking providers, by class name
+	 */
+	public static Map<String, Long> getRankingTimeouts() {
+		Map<String, Long> result = new HashMap<>();
+		rankingTimeouts.forEach((name, count) -> result.put(name, count.get()));
+		return result;
+	}
 }
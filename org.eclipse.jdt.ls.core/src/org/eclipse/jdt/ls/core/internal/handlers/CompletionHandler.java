@@ -46,6 +46,8 @@ import org.eclipse.jdt.ls.core.internal.contentassist.CompletionProposalRequesto
 import org.eclipse.jdt.ls.core.internal.contentassist.JavadocCompletionProposal;
 import org.eclipse.jdt.ls.core.internal.contentassist.SnippetCompletionProposal;
 import org.eclipse.jdt.ls.core.internal.contentassist.SortTextHelper;
+import org.eclipse.jdt.ls.core.internal.jfr.CompletionEvent;
+import org.eclipse.jdt.ls.core.internal.jfr.FlightRecorderSupport;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
 import org.eclipse.jdt.ls.core.internal.syntaxserver.ModelBasedCompletionEngine;
 import org.eclipse.lsp4j.Command;
@@ -90,7 +92,17 @@ public class CompletionHandler{
 		CompletionList $ = null;
 		try {
 			ICompilationUnit unit = JDTUtils.resolveCompilationUnit(params.getTextDocument().getUri());
+			CompletionEvent event = FlightRecorderSupport.isAvailable() ? new CompletionEvent() : null;
+			if (event != null) {
+				event.begin();
+			}
 			$ = this.computeContentAssist(unit, params, monitor);
+			if (event != null && event.shouldCommit()) {
+				event.setTypeRoot(unit);
+				event.proposalCount = $ == null || $.getItems() == null ? 0 : $.getItems().size();
+				event.cancelled = monitor.isCanceled();
+				event.commit();
+			}
 		} catch (OperationCanceledException ignorable) {
 			// No need to pollute logs when query is cancelled
 			monitor.setCanceled(true);
@@ -29,6 +29,7 @@ import org.eclipse.jdt.internal.core.manipulation.search.ImplementOccurrencesFin
 import org.eclipse.jdt.internal.core.manipulation.search.MethodExitsFinder;
 import org.eclipse.jdt.internal.core.manipulation.search.IOccurrencesFinder.OccurrenceLocation;
 import org.eclipse.jdt.internal.core.manipulation.search.OccurrencesFinder;
+import org.eclipse.jdt.ls.core.internal.ASTCache;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.lsp4j.DocumentHighlight;
 import org.eclipse.lsp4j.DocumentHighlightKind;
@@ -53,7 +54,7 @@ public class DocumentHighlightHandler {
 		if (typeRoot == null || monitor.isCanceled()) {
 			return Collections.emptyList();
 		}
-		CompilationUnit ast = CoreASTProvider.getInstance().getAST(typeRoot, CoreASTProvider.WAIT_YES, monitor);
+		CompilationUnit ast = ASTCache.getInstance().getAST(typeRoot, CoreASTProvider.WAIT_YES, monitor);
 		if (ast == null || monitor.isCanceled()) {
 			return Collections.emptyList();
 		}
@@ -20,6 +20,7 @@ import static org.eclipse.jdt.core.IJavaElement.METHOD;
 import static org.eclipse.jdt.core.IJavaElement.PACKAGE_DECLARATION;
 import static org.eclipse.jdt.core.IJavaElement.TYPE;
 import static org.eclipse.jdt.ls.core.internal.JDTUtils.LocationType.FULL_RANGE;
+import static org.eclipse.jdt.ls.core.internal.JDTUtils.LocationType.NAME_RANGE;
 import static org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin.logInfo;
 import static org.eclipse.jdt.ls.core.internal.hover.JavaElementLabels.ALL_DEFAULT;
 import static org.eclipse.jdt.ls.core.internal.hover.JavaElementLabels.M_APP_RETURNTYPE;
@@ -30,12 +31,14 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.IClassFile;
 import org.eclipse.jdt.core.IField;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IMember;
@@ -46,6 +49,7 @@ import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.internal.core.SourceMethod;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
+import org.eclipse.jdt.ls.core.internal.JDTUtils.LocationType;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.ResourceUtils;
 import org.eclipse.jdt.ls.core.internal.hover.JavaElementLabels;
@@ -71,6 +75,18 @@ public class DocumentSymbolHandler {
 	}
 
 	public List<Either<SymbolInformation, DocumentSymbol>> documentSymbol(DocumentSymbolParams params, IProgressMonitor monitor) {
+		return documentSymbol(params, null, monitor);
+	}
+
+	/**
+	 * Returns the symbols of the given document.
+	 *
+	 * @param partialResults
+	 *            if not <code>null</code> and the client supports hierarchical
+	 *            symbols, receives each top-level symbol as soon as it is
+	 *            computed, and the returned list is empty
+	 */
+	public List<Either<SymbolInformation, DocumentSymbol>> documentSymbol(DocumentSymbolParams params, Consumer<List<DocumentSymbol>> partialResults, IProgressMonitor monitor) {
 
 		ITypeRoot unit = JDTUtils.resolveTypeRoot(params.getTextDocument().getUri());
 		if (unit == null || !unit.exists()) {
@@ -78,7 +94,7 @@ public class DocumentSymbolHandler {
 		}
 
 		if (preferenceManager.getClientPreferences().isHierarchicalDocumentSymbolSupported()) {
-			List<DocumentSymbol> symbols = this.getHierarchicalOutline(unit, monitor);
+			List<DocumentSymbol> symbols = this.getHierarchicalOutline(unit, partialResults, monitor);
 			return symbols.stream().map(Either::<SymbolInformation, DocumentSymbol>forRight).collect(toList());
 		} else {
 			SymbolInformation[] elements = this.getOutline(unit, monitor);
@@ -145,9 +161,21 @@ public class DocumentSymbolHandler {
 		}
 	}
 
-	private List<DocumentSymbol> getHierarchicalOutline(ITypeRoot unit, IProgressMonitor monitor) {
+	private List<DocumentSymbol> getHierarchicalOutline(ITypeRoot unit, Consumer<List<DocumentSymbol>> partialResults, IProgressMonitor monitor) {
 		try {
-			return Stream.of(filter(unit.getChildren())).map(child -> toDocumentSymbol(child, monitor)).filter(Objects::nonNull).collect(Collectors.toList());
+			List<DocumentSymbol> symbols = new ArrayList<>();
+			for (IJavaElement child : filter(unit.getChildren())) {
+				DocumentSymbol symbol = toDocumentSymbol(child, monitor);
+				if (symbol == null) {
+					continue;
+				}
+				if (partialResults != null) {
+					partialResults.accept(List.of(symbol));
+				} else {
+					symbols.add(symbol);
+				}
+			}
+			return symbols;
 		} catch (OperationCanceledException e) {
 			logInfo("User abort while collecting the document symbols.");
 		} catch (JavaModelException e) {
@@ -208,13 +236,24 @@ public class DocumentSymbolHandler {
 	}
 
 	private Range getRange(IJavaElement element) throws JavaModelException {
-		Location location = JDTUtils.toLocation(element, FULL_RANGE);
-		return location == null ? DEFAULT_RANGE : location.getRange();
+		return toRange(element, FULL_RANGE);
 	}
 
 	private Range getSelectionRange(IJavaElement element) throws JavaModelException {
-		Location location = JDTUtils.toLocation(element);
-		return location == null ? DEFAULT_RANGE : location.getRange();
+		return toRange(element, NAME_RANGE);
+	}
+
+	/**
+	 * Returns the range of the given element without creating its location,
+	 * whose URI is the same for all the symbols.
+	 */
+	private Range toRange(IJavaElement element, LocationType type) throws JavaModelException {
+		IClassFile classFile = (IClassFile) element.getAncestor(IJavaElement.CLASS_FILE);
+		if (classFile != null && JDTUtils.toUri(classFile) == null) {
+			return DEFAULT_RANGE;
+		}
+		Range range = JDTUtils.toRange(element, type);
+		return range == null ? DEFAULT_RANGE : range;
 	}
 
 	private String getDetail(IJavaElement element, String name) {
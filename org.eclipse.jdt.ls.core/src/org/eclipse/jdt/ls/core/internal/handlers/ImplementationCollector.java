@@ -16,8 +16,12 @@ package org.eclipse.jdt.ls.core.internal.handlers;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import org.eclipse.core.runtime.Assert;
@@ -54,8 +58,10 @@ import org.eclipse.jdt.internal.core.manipulation.JavaElementLabelsCore;
 import org.eclipse.jdt.internal.corext.dom.Bindings;
 import org.eclipse.jdt.internal.corext.util.JdtFlags;
 import org.eclipse.jdt.internal.corext.util.MethodOverrideTester;
+import org.eclipse.jdt.ls.core.internal.ASTCache;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.Messages;
+import org.eclipse.jdt.ls.core.internal.TypeHierarchyCache;
 import org.eclipse.jface.text.IRegion;
 
 
@@ -131,7 +137,7 @@ public class ImplementationCollector<T> {
 		try {
 			String typeLabel = JavaElementLabelsCore.getElementLabel(type, JavaElementLabelsCore.DEFAULT_QUALIFIED);
 			monitor.beginTask(Messages.format(JavaElementImplementationHyperlink_search_method_implementors, typeLabel), 10);
-			IType[] allTypes = type.newTypeHierarchy(monitor).getAllSubtypes(type);
+			IType[] allTypes = TypeHierarchyCache.getInstance().getTypeHierarchy(type, monitor).getAllSubtypes(type);
 			results = Arrays.stream(allTypes).map(el -> mapper.convert(el, 0, 0)).filter(Objects::nonNull).collect(Collectors.toList());
 			if (monitor.isCanceled()) {
 				throw new OperationCanceledException();
@@ -153,7 +159,7 @@ public class ImplementationCollector<T> {
 			return null;
 		}
 
-		CompilationUnit ast = CoreASTProvider.getInstance().getAST(typeRoot, CoreASTProvider.WAIT_YES, monitor);
+		CompilationUnit ast = ASTCache.getInstance().getAST(typeRoot, CoreASTProvider.WAIT_YES, monitor);
 		if (ast == null) {
 			return null;
 		}
@@ -185,12 +191,39 @@ public class ImplementationCollector<T> {
 		try {
 			String methodLabel = JavaElementLabelsCore.getElementLabel(method, JavaElementLabelsCore.DEFAULT_QUALIFIED);
 			monitor.beginTask(Messages.format(JavaElementImplementationHyperlink_search_method_implementors, methodLabel), 10);
+			// the hierarchies are shared with the other requests, unlike the ones of the hierarchy scopes
+			TypeHierarchyCache cache = TypeHierarchyCache.getInstance();
+			IType[] scopeTypes;
+			Predicate<IType> isInScope;
+			if (receiverType.isInterface()) {
+				ITypeHierarchy hierarchy = cache.getTypeHierarchy(method.getDeclaringType(), new SubProgressMonitor(monitor, 3));
+				scopeTypes = hierarchy.getAllTypes();
+				isInScope = type -> isInHierarchy(hierarchy, type);
+			} else {
+				boolean isFullHierarchyNeeded = isFullHierarchyNeeded(new SubProgressMonitor(monitor, 1), method, receiverType);
+				ITypeHierarchy hierarchy = cache.getTypeHierarchy(receiverType, new SubProgressMonitor(monitor, 2));
+				if (isFullHierarchyNeeded) {
+					scopeTypes = hierarchy.getAllTypes();
+					isInScope = type -> isInHierarchy(hierarchy, type);
+				} else {
+					Set<IType> subtypes = new HashSet<>(Arrays.asList(hierarchy.getAllSubtypes(receiverType)));
+					if (JdtFlags.isAbstract(method)) {
+						subtypes.add(receiverType);
+					}
+					scopeTypes = subtypes.toArray(IType[]::new);
+					isInScope = subtypes::contains;
+				}
+			}
+			if (monitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+
 			SearchRequestor requestor = new SearchRequestor() {
 				@Override
 				public void acceptSearchMatch(SearchMatch match) throws CoreException {
 					if (match.getAccuracy() == SearchMatch.A_ACCURATE) {
 						Object element = match.getElement();
-						if (element instanceof IMethod methodFound) {
+						if (element instanceof IMethod methodFound && isInScope.test(methodFound.getDeclaringType())) {
 							if (!JdtFlags.isAbstract(methodFound)) {
 								T result = mapper.convert(methodFound, match.getOffset(), match.getLength());
 								if (result != null) {
@@ -202,18 +235,7 @@ public class ImplementationCollector<T> {
 				}
 			};
 
-			IJavaSearchScope hierarchyScope;
-			if (receiverType.isInterface()) {
-				hierarchyScope = SearchEngine.createHierarchyScope(method.getDeclaringType());
-			} else {
-				if (isFullHierarchyNeeded(new SubProgressMonitor(monitor, 3), method, receiverType)) {
-					hierarchyScope = SearchEngine.createHierarchyScope(receiverType);
-				} else {
-					boolean isMethodAbstract = JdtFlags.isAbstract(method);
-					hierarchyScope = SearchEngine.createStrictHierarchyScope(null, receiverType, true, isMethodAbstract, null);
-				}
-			}
-
+			IJavaSearchScope hierarchyScope = createScope(scopeTypes);
 			int limitTo = IJavaSearchConstants.DECLARATIONS | IJavaSearchConstants.IGNORE_DECLARING_TYPE | IJavaSearchConstants.IGNORE_RETURN_TYPE;
 			SearchPattern pattern = SearchPattern.createPattern(method, limitTo);
 			Assert.isNotNull(pattern);
@@ -230,6 +252,35 @@ public class ImplementationCollector<T> {
 	}
 
 
+	/**
+	 * Returns a scope enclosing the compilation units and class files of the
+	 * given types. Unlike a scope enclosing the types themselves, it doesn't
+	 * check every match against every type, so the matches must be filtered.
+	 */
+	private static IJavaSearchScope createScope(IType[] types) {
+		Set<IJavaElement> typeRoots = new LinkedHashSet<>();
+		for (IType type : types) {
+			ITypeRoot typeRoot = type.getTypeRoot();
+			if (typeRoot != null) {
+				typeRoots.add(typeRoot);
+			}
+		}
+		return SearchEngine.createJavaSearchScope(typeRoots.toArray(IJavaElement[]::new));
+	}
+
+	/**
+	 * Checks whether the given type, or a type enclosing it, is in the given
+	 * hierarchy, like a hierarchy scope does.
+	 */
+	private static boolean isInHierarchy(ITypeHierarchy hierarchy, IType type) {
+		for (IType current = type; current != null; current = current.getDeclaringType()) {
+			if (hierarchy.contains(current)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	private static IType getType(ITypeBinding typeBinding) {
 		if (typeBinding == null) {
 			return null;
@@ -271,7 +322,7 @@ public class ImplementationCollector<T> {
 	 * @since 3.6
 	 */
 	private static boolean isFullHierarchyNeeded(IProgressMonitor monitor, IMethod method, IType receiverType) throws JavaModelException {
-		ITypeHierarchy superTypeHierarchy= receiverType.newSupertypeHierarchy(monitor);
+		ITypeHierarchy superTypeHierarchy= TypeHierarchyCache.getInstance().getSupertypeHierarchy(receiverType, monitor);
 		MethodOverrideTester methodOverrideTester= new MethodOverrideTester(receiverType, superTypeHierarchy);
 		return methodOverrideTester.findOverriddenMethodInType(receiverType, method) == null;
 	}
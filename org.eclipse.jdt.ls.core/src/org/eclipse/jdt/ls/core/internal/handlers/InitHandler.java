@@ -266,7 +266,7 @@ final public class InitHandler extends BaseInitHandler {
 				} finally {
 					resetBuildState.run();
 					projectsManager.registerListeners();
-					preferenceManager.addPreferencesChangeListener(new InlayHintsPreferenceChangeListener());
+					preferenceManager.addPreferencesChangeListener(new InlayHintsPreferenceChangeListener(), Preferences.JAVA_INLAYHINTS_PARAMETERNAMES_ENABLED, Preferences.JAVA_INLAYHINTS_PARAMETERNAMES_EXCLUSIONS);
 				}
 				return Status.OK_STATUS;
 			}
@@ -16,6 +16,7 @@ package org.eclipse.jdt.ls.core.internal.handlers;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.ITypeRoot;
@@ -62,9 +63,15 @@ class InlayHintVisitor extends ASTVisitor {
 		this.preferenceManager = preferenceManager;
 	}
 
+	@Override
+	public boolean preVisit2(ASTNode node) {
+		// the children of a node are within its range
+		return !isOutOfRange(node);
+	}
+
 	@Override
 	public boolean visit(EnumConstantDeclaration node) {
-		if (isOutOfRange(node) || isGenerated(node)) {
+		if (isGenerated(node)) {
 			return true;
 		}
 		resolveInlayHints(node.resolveConstructorBinding(), node.arguments());
@@ -73,7 +80,7 @@ class InlayHintVisitor extends ASTVisitor {
 
 	@Override
 	public boolean visit(ClassInstanceCreation node) {
-		if (isOutOfRange(node) || isGenerated(node)) {
+		if (isGenerated(node)) {
 			return true;
 		}
 		resolveInlayHints(node.resolveConstructorBinding(), node.arguments());
@@ -82,7 +89,7 @@ class InlayHintVisitor extends ASTVisitor {
 
 	@Override
 	public boolean visit(MethodInvocation node) {
-		if (isOutOfRange(node) || isGenerated(node)) {
+		if (isGenerated(node)) {
 			return true;
 		}
 		resolveInlayHints(node.resolveMethodBinding(), node.arguments());
@@ -91,7 +98,7 @@ class InlayHintVisitor extends ASTVisitor {
 
 	@Override
 	public boolean visit(SuperMethodInvocation node) {
-		if (isOutOfRange(node) || isGenerated(node)) {
+		if (isGenerated(node)) {
 			return true;
 		}
 		resolveInlayHints(node.resolveMethodBinding(), node.arguments());
@@ -100,7 +107,7 @@ class InlayHintVisitor extends ASTVisitor {
 
 	@Override
 	public boolean visit(ConstructorInvocation node) {
-		if (isOutOfRange(node) || isGenerated(node)) {
+		if (isGenerated(node)) {
 			return true;
 		}
 		resolveInlayHints(node.resolveConstructorBinding(), node.arguments());
@@ -109,7 +116,7 @@ class InlayHintVisitor extends ASTVisitor {
 
 	@Override
 	public boolean visit(SuperConstructorInvocation node) {
-		if (isOutOfRange(node) || isGenerated(node)) {
+		if (isGenerated(node)) {
 			return true;
 		}
 		resolveInlayHints(node.resolveConstructorBinding(), node.arguments());
@@ -201,11 +208,21 @@ class InlayHintVisitor extends ASTVisitor {
 	}
 
 	/**
-	 * Get parameter names from the method binding.
+	 * Get parameter names from the method binding. The names of the binary
+	 * methods are cached by {@link ParameterNamesCache}.
 	 * @param methodBinding
 	 * @return the parameter names, or <code>null</code> if it's not available.
 	 */
 	private String[] getParameterNames(IMethodBinding methodBinding) {
+		IJavaElement method = methodBinding.getJavaElement();
+		if (method instanceof IMethod && ((IMethod) method).isBinary()) {
+			// the handle is specific to the project and the library
+			return ParameterNamesCache.getInstance().getParameterNames(method.getHandleIdentifier(), () -> resolveParameterNames(methodBinding));
+		}
+		return resolveParameterNames(methodBinding);
+	}
+
+	private String[] resolveParameterNames(IMethodBinding methodBinding) {
 		if (!hasSource(methodBinding)) {
 			return null;
 		}
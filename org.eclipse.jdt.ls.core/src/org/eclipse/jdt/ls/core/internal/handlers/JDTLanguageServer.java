@@ -24,6 +24,7 @@ import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 import org.eclipse.core.resources.ResourcesPlugin;
@@ -128,6 +129,7 @@ import org.eclipse.lsp4j.LocationLink;
 import org.eclipse.lsp4j.PrepareRenameDefaultBehavior;
 import org.eclipse.lsp4j.PrepareRenameParams;
 import org.eclipse.lsp4j.PrepareRenameResult;
+import org.eclipse.lsp4j.ProgressParams;
 import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.ReferenceParams;
 import org.eclipse.lsp4j.RenameFilesParams;
@@ -148,7 +150,6 @@ import org.eclipse.lsp4j.WorkspaceSymbol;
 import org.eclipse.lsp4j.WorkspaceSymbolParams;
 import org.eclipse.lsp4j.extended.ProjectBuildParams;
 import org.eclipse.lsp4j.extended.ProjectConfigurationsUpdateParam;
-import org.eclipse.lsp4j.jsonrpc.CompletableFutures;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.eclipse.lsp4j.jsonrpc.messages.Either3;
 import org.eclipse.lsp4j.jsonrpc.services.JsonDelegate;
@@ -448,7 +449,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	@Override
 	public CompletableFuture<Object> shutdown() {
 		logInfo(">> shutdown");
-		return computeAsync((monitor) -> {
+		return computeAsync("shutdown", (monitor) -> {
 			shutdownJob.schedule();
 			shutdownReceived = true;
 			if (preferenceManager.getClientPreferences().shouldLanguageServerExitOnShutdown()) {
@@ -509,7 +510,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	@Override
 	public CompletableFuture<Either<List<? extends SymbolInformation>, List<? extends WorkspaceSymbol>>> symbol(WorkspaceSymbolParams params) {
 		logInfo(">> workspace/symbol");
-		return computeAsync((monitor) -> {
+		return computeAsync("workspace/symbol", (monitor) -> {
 			return Either.forLeft(WorkspaceSymbolHandler.search(params.getQuery(), monitor));
 		});
 	}
@@ -580,7 +581,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	@Override
 	public CompletableFuture<Object> executeCommand(ExecuteCommandParams params) {
 		logInfo(">> workspace/executeCommand " + (params == null ? null : params.getCommand()));
-		return computeAsync((monitor) -> {
+		return computeAsync("workspace/executeCommand", (monitor) -> {
 			return commandHandler.executeCommand(params, monitor);
 		});
 	}
@@ -593,7 +594,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 		logInfo(">> document/completion");
 		CompletionHandler handler = new CompletionHandler(preferenceManager);
 		final IProgressMonitor[] monitors = new IProgressMonitor[1];
-		CompletableFuture<Either<List<CompletionItem>, CompletionList>> result = computeAsync((monitor) -> {
+		CompletableFuture<Either<List<CompletionItem>, CompletionList>> result = computeAsync("textDocument/completion", (monitor) -> {
 			monitors[0] = monitor;
 			if (Boolean.getBoolean(JAVA_LSP_JOIN_ON_COMPLETION)) {
 				waitForLifecycleJobs(monitor);
@@ -615,7 +616,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 		logInfo(">> document/resolveCompletionItem");
 		CompletionResolveHandler handler = new CompletionResolveHandler(preferenceManager);
 		final IProgressMonitor[] monitors = new IProgressMonitor[1];
-		CompletableFuture<CompletionItem> result = computeAsync((monitor) -> {
+		CompletableFuture<CompletionItem> result = computeAsync("completionItem/resolve", (monitor) -> {
 			monitors[0] = monitor;
 			if ((Boolean.getBoolean(JAVA_LSP_JOIN_ON_COMPLETION))) {
 				waitForLifecycleJobs(monitor);
@@ -636,7 +637,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	public CompletableFuture<Hover> hover(HoverParams position) {
 		logInfo(">> document/hover");
 		HoverHandler handler = new HoverHandler(this.preferenceManager);
-		return computeAsync((monitor) -> handler.hover(position, monitor));
+		return computeAsync("textDocument/hover", (monitor) -> handler.hover(position, monitor));
 	}
 
 	/* (non-Javadoc)
@@ -646,7 +647,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	public CompletableFuture<SignatureHelp> signatureHelp(SignatureHelpParams position) {
 		logInfo(">> document/signatureHelp");
 		SignatureHelpHandler handler = new SignatureHelpHandler(preferenceManager);
-		return computeAsync((monitor) -> handler.signatureHelp(position, monitor));
+		return computeAsync("textDocument/signatureHelp", (monitor) -> handler.signatureHelp(position, monitor));
 	}
 
 	/* (non-Javadoc)
@@ -656,7 +657,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	public CompletableFuture<Either<List<? extends Location>, List<? extends LocationLink>>> definition(DefinitionParams position) {
 		logInfo(">> document/definition");
 		NavigateToDefinitionHandler handler = new NavigateToDefinitionHandler(this.preferenceManager);
-		return computeAsync((monitor) -> {
+		return computeAsync("textDocument/definition", (monitor) -> {
 			waitForLifecycleJobs(monitor);
 			return Either.forLeft(handler.definition(position, monitor));
 		});
@@ -669,7 +670,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	public CompletableFuture<Either<List<? extends Location>, List<? extends LocationLink>>> typeDefinition(TypeDefinitionParams position) {
 		logInfo(">> document/typeDefinition");
 		NavigateToTypeDefinitionHandler handler = new NavigateToTypeDefinitionHandler();
-		return computeAsync((monitor) -> {
+		return computeAsync("textDocument/typeDefinition", (monitor) -> {
 			waitForLifecycleJobs(monitor);
 			return Either.forLeft((handler.typeDefinition(position, monitor)));
 		});
@@ -682,13 +683,15 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	public CompletableFuture<List<? extends Location>> references(ReferenceParams params) {
 		logInfo(">> document/references");
 		ReferencesHandler handler = new ReferencesHandler(this.preferenceManager);
-		return computeAsync((monitor) -> handler.findReferences(params, monitor));
+		Either<String, Integer> partialResultToken = params.getPartialResultToken();
+		Consumer<List<Location>> partialResults = partialResultToken == null ? null : (locations) -> client.notifyProgress(new ProgressParams(partialResultToken, Either.forRight(locations)));
+		return computeAsync("textDocument/references", (monitor) -> handler.findReferences(params, partialResults, monitor));
 	}
 
 	@Override
 	public CompletableFuture<List<? extends Location>> findLinks(FindLinksParams params) {
 		logInfo(">> java/findLinks");
-		return computeAsync((monitor) -> FindLinksHandler.findLinks(params.type, params.position, monitor));
+		return computeAsync("java/findLinks", (monitor) -> FindLinksHandler.findLinks(params.type, params.position, monitor));
 	}
 
 	/* (non-Javadoc)
@@ -697,7 +700,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	@Override
 	public CompletableFuture<List<? extends DocumentHighlight>> documentHighlight(DocumentHighlightParams position) {
 		logInfo(">> document/documentHighlight");
-		return computeAsync((monitor) -> DocumentHighlightHandler.documentHighlight(position, monitor));
+		return computeAsync("textDocument/documentHighlight", (monitor) -> DocumentHighlightHandler.documentHighlight(position, monitor));
 	}
 
 	/* (non-Javadoc)
@@ -707,9 +710,11 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	public CompletableFuture<List<Either<SymbolInformation, DocumentSymbol>>> documentSymbol(DocumentSymbolParams params) {
 		logInfo(">> document/documentSymbol");
 		DocumentSymbolHandler handler = new DocumentSymbolHandler(preferenceManager);
-		return computeAsync((monitor) -> {
+		Either<String, Integer> partialResultToken = params.getPartialResultToken();
+		Consumer<List<DocumentSymbol>> partialResults = partialResultToken == null ? null : (symbols) -> client.notifyProgress(new ProgressParams(partialResultToken, Either.forRight(symbols)));
+		return computeAsync("textDocument/documentSymbol", (monitor) -> {
 			waitForLifecycleJobs(monitor);
-			return handler.documentSymbol(params, monitor);
+			return handler.documentSymbol(params, partialResults, monitor);
 		});
 	}
 
@@ -720,10 +725,10 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	public CompletableFuture<List<Either<Command, CodeAction>>> codeAction(CodeActionParams params) {
 		logInfo(">> document/codeAction");
 		CodeActionHandler handler = new CodeActionHandler(this.preferenceManager);
-		return computeAsync((monitor) -> {
+		return computeAsync("textDocument/codeAction", documentLifeCycleHandler.withDocumentMonitor(params.getTextDocument().getUri(), (monitor) -> {
 			waitForLifecycleJobs(monitor);
 			return handler.getCodeActionCommands(params, monitor);
-		});
+		}));
 	}
 
 	/* (non-Javadoc)
@@ -747,7 +752,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 			return CompletableFuture.completedFuture(params);
 		}
 		CodeActionResolveHandler handler = new CodeActionResolveHandler();
-		return computeAsync((monitor) -> {
+		return computeAsync("codeAction/resolve", (monitor) -> {
 			waitForLifecycleJobs(monitor);
 			return handler.resolve(params, monitor);
 		});
@@ -760,10 +765,10 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	public CompletableFuture<List<? extends CodeLens>> codeLens(CodeLensParams params) {
 		logInfo(">> document/codeLens");
 		CodeLensHandler handler = new CodeLensHandler(preferenceManager);
-		return computeAsync((monitor) -> {
+		return computeAsync("textDocument/codeLens", documentLifeCycleHandler.withDocumentMonitor(params.getTextDocument().getUri(), (monitor) -> {
 			waitForLifecycleJobs(monitor);
 			return handler.getCodeLensSymbols(params.getTextDocument().getUri(), monitor);
-		});
+		}));
 	}
 
 	/* (non-Javadoc)
@@ -773,7 +778,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	public CompletableFuture<CodeLens> resolveCodeLens(CodeLens unresolved) {
 		logInfo(">> codeLens/resolve");
 		CodeLensHandler handler = new CodeLensHandler(preferenceManager);
-		return computeAsync((monitor) -> {
+		return computeAsync("codeLens/resolve", (monitor) -> {
 			waitForLifecycleJobs(monitor);
 			return handler.resolve(unresolved, monitor);
 		});
@@ -786,7 +791,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	public CompletableFuture<List<? extends TextEdit>> formatting(DocumentFormattingParams params) {
 		logInfo(">> document/formatting");
 		FormatterHandler handler = new FormatterHandler(preferenceManager);
-		return computeAsync((monitor) -> handler.formatting(params, monitor));
+		return computeAsync("textDocument/formatting", (monitor) -> handler.formatting(params, monitor));
 	}
 
 	/* (non-Javadoc)
@@ -796,7 +801,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	public CompletableFuture<List<? extends TextEdit>> rangeFormatting(DocumentRangeFormattingParams params) {
 		logInfo(">> document/rangeFormatting");
 		FormatterHandler handler = new FormatterHandler(preferenceManager);
-		return computeAsync((monitor) -> handler.rangeFormatting(params, monitor));
+		return computeAsync("textDocument/rangeFormatting", (monitor) -> handler.rangeFormatting(params, monitor));
 	}
 
 	/* (non-Javadoc)
@@ -806,7 +811,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	public CompletableFuture<List<? extends TextEdit>> onTypeFormatting(DocumentOnTypeFormattingParams params) {
 		logInfo(">> document/onTypeFormatting");
 		FormatterHandler handler = new FormatterHandler(preferenceManager);
-		return computeAsync((monitor) -> handler.onTypeFormatting(params, monitor));
+		return computeAsync("textDocument/onTypeFormatting", (monitor) -> handler.onTypeFormatting(params, monitor));
 	}
 
 	/* (non-Javadoc)
@@ -816,7 +821,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	public CompletableFuture<Either3<Range, PrepareRenameResult, PrepareRenameDefaultBehavior>> prepareRename(PrepareRenameParams params) {
 		logInfo(">> document/prepareRename");
 		PrepareRenameHandler handler = new PrepareRenameHandler(preferenceManager);
-		return computeAsync((monitor) -> {
+		return computeAsync("textDocument/prepareRename", (monitor) -> {
 			waitForLifecycleJobs(monitor);
 			return Either3.forLeft3(handler.prepareRename(params, monitor));
 		});
@@ -829,7 +834,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	public CompletableFuture<WorkspaceEdit> rename(RenameParams params) {
 		logInfo(">> document/rename");
 		RenameHandler handler = new RenameHandler(preferenceManager);
-		return computeAsync((monitor) -> {
+		return computeAsync("textDocument/rename", (monitor) -> {
 			waitForLifecycleJobs(monitor);
 			return handler.rename(params, monitor);
 		});
@@ -869,7 +874,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	public CompletableFuture<List<TextEdit>> willSaveWaitUntil(WillSaveTextDocumentParams params) {
 		logInfo(">> document/willSaveWaitUntil");
 		SaveActionHandler handler = new SaveActionHandler(preferenceManager);
-		return computeAsync((monitor) -> handler.willSaveWaitUntil(params, monitor));
+		return computeAsync("textDocument/willSaveWaitUntil", (monitor) -> handler.willSaveWaitUntil(params, monitor));
 	}
 
 	/* (non-Javadoc)
@@ -884,7 +889,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	@Override
 	public CompletableFuture<WorkspaceEdit> willRenameFiles(RenameFilesParams params) {
 		logInfo(">> workspace/willRenameFiles");
-		return computeAsyncWithClientProgress((monitor) -> {
+		return computeAsyncWithClientProgress("workspace/willRenameFiles", (monitor) -> {
 			waitForLifecycleJobs(monitor);
 			return FileEventHandler.handleWillRenameFiles(params, monitor);
 		});
@@ -898,7 +903,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 		logInfo(">> java/classFileContents");
 		ContentProviderManager handler = JavaLanguageServerPlugin.getContentProviderManager();
 		URI uri = JDTUtils.toURI(param.getUri());
-		return computeAsync((monitor) -> handler.getContent(uri, monitor));
+		return computeAsync("java/classFileContents", (monitor) -> handler.getContent(uri, monitor));
 	}
 
 	/* (non-Javadoc)
@@ -931,14 +936,14 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 		boolean rebuild = forceRebuild.isLeft() ? forceRebuild.getLeft() : forceRebuild.getRight()[0];
 		logInfo(">> java/buildWorkspace (" + (rebuild ? "full)" : "incremental)"));
 		BuildWorkspaceHandler handler = new BuildWorkspaceHandler(pm);
-		return computeAsyncWithClientProgress((monitor) -> handler.buildWorkspace(rebuild, monitor));
+		return computeAsyncWithClientProgress("java/buildWorkspace", (monitor) -> handler.buildWorkspace(rebuild, monitor));
 	}
 
 	@Override
 	public CompletableFuture<BuildWorkspaceStatus> buildProjects(ProjectBuildParams params) {
 		logInfo(">> java/buildProjects");
 		BuildWorkspaceHandler handler = new BuildWorkspaceHandler(pm);
-		return computeAsyncWithClientProgress((monitor) -> handler.buildProjects(params, monitor));
+		return computeAsyncWithClientProgress("java/buildProjects", (monitor) -> handler.buildProjects(params, monitor));
 	}
 
 	/* (non-Javadoc)
@@ -956,7 +961,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	@Override
 	public CompletableFuture<Either<List<? extends Location>, List<? extends LocationLink>>> implementation(ImplementationParams position) {
 		logInfo(">> document/implementation");
-		return computeAsyncWithClientProgress((monitor) -> {
+		return computeAsyncWithClientProgress("textDocument/implementation", (monitor) -> {
 			ImplementationsHandler handler = new ImplementationsHandler(preferenceManager);
 			return Either.forLeft(handler.findImplementations(position, monitor));
 		});
@@ -968,16 +973,16 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	@Override
 	public CompletableFuture<List<FoldingRange>> foldingRange(FoldingRangeRequestParams params) {
 		logInfo(">> document/foldingRange");
-		return computeAsyncWithClientProgress((monitor) -> {
+		return computeAsyncWithClientProgress("textDocument/foldingRange", documentLifeCycleHandler.withDocumentMonitor(params.getTextDocument().getUri(), (monitor) -> {
 			waitForLifecycleJobs(monitor);
 			return new FoldingRangeHandler().foldingRange(params, monitor);
-		});
+		}));
 	}
 
 	@Override
 	public CompletableFuture<List<SelectionRange>> selectionRange(SelectionRangeParams params) {
 		logInfo(">> document/selectionRange");
-		return computeAsyncWithClientProgress((monitor) -> {
+		return computeAsyncWithClientProgress("textDocument/selectionRange", (monitor) -> {
 			waitForLifecycleJobs(monitor);
 			return new SelectionRangeHandler().selectionRange(params, monitor);
 		});
@@ -986,150 +991,151 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	@Override
 	public CompletableFuture<OverridableMethodsResponse> listOverridableMethods(CodeActionParams params) {
 		logInfo(">> java/listOverridableMethods");
-		return computeAsync((monitor) -> OverrideMethodsHandler.listOverridableMethods(params, monitor));
+		return computeAsync("java/listOverridableMethods", (monitor) -> OverrideMethodsHandler.listOverridableMethods(params, monitor));
 	}
 
 	@Override
 	public CompletableFuture<WorkspaceEdit> addOverridableMethods(AddOverridableMethodParams params) {
 		logInfo(">> java/addOverridableMethods");
-		return computeAsync((monitor) -> OverrideMethodsHandler.addOverridableMethods(params, monitor));
+		return computeAsync("java/addOverridableMethods", (monitor) -> OverrideMethodsHandler.addOverridableMethods(params, monitor));
 	}
 
 	@Override
 	public CompletableFuture<CheckHashCodeEqualsResponse> checkHashCodeEqualsStatus(CodeActionParams params) {
 		logInfo(">> java/checkHashCodeEqualsStatus");
-		return computeAsync((monitor) -> HashCodeEqualsHandler.checkHashCodeEqualsStatus(params, monitor));
+		return computeAsync("java/checkHashCodeEqualsStatus", (monitor) -> HashCodeEqualsHandler.checkHashCodeEqualsStatus(params, monitor));
 	}
 
 	@Override
 	public CompletableFuture<WorkspaceEdit> generateHashCodeEquals(GenerateHashCodeEqualsParams params) {
 		logInfo(">> java/generateHashCodeEquals");
-		return computeAsync((monitor) -> HashCodeEqualsHandler.generateHashCodeEquals(params, monitor));
+		return computeAsync("java/generateHashCodeEquals", (monitor) -> HashCodeEqualsHandler.generateHashCodeEquals(params, monitor));
 	}
 
 	@Override
 	public CompletableFuture<CheckToStringResponse> checkToStringStatus(CodeActionParams params) {
 		logInfo(">> java/checkToStringStatus");
-		return computeAsync((monitor) -> GenerateToStringHandler.checkToStringStatus(params, monitor));
+		return computeAsync("java/checkToStringStatus", (monitor) -> GenerateToStringHandler.checkToStringStatus(params, monitor));
 	}
 
 	@Override
 	public CompletableFuture<WorkspaceEdit> generateToString(GenerateToStringParams params) {
 		logInfo(">> java/generateToString");
-		return computeAsync((monitor) -> GenerateToStringHandler.generateToString(params, monitor));
+		return computeAsync("java/generateToString", (monitor) -> GenerateToStringHandler.generateToString(params, monitor));
 	}
 
 	@Override
 	public CompletableFuture<WorkspaceEdit> organizeImports(CodeActionParams params) {
 		logInfo(">> java/organizeImports");
-		return computeAsync((monitor) -> OrganizeImportsHandler.organizeImports(client, params, monitor));
+		return computeAsync("java/organizeImports", (monitor) -> OrganizeImportsHandler.organizeImports(client, params, monitor));
 	}
 
 	@Override
 	public CompletableFuture<AccessorField[]> resolveUnimplementedAccessors(AccessorCodeActionParams params) {
 		logInfo(">> java/resolveUnimplementedAccessors");
-		return computeAsync((monitor) -> GenerateAccessorsHandler.getUnimplementedAccessors(params));
+		return computeAsync("java/resolveUnimplementedAccessors", (monitor) -> GenerateAccessorsHandler.getUnimplementedAccessors(params));
 	}
 
 	@Override
 	public CompletableFuture<WorkspaceEdit> generateAccessors(GenerateAccessorsParams params) {
 		logInfo(">> java/generateAccessors");
-		return computeAsync((monitor) -> GenerateAccessorsHandler.generateAccessors(params, monitor));
+		return computeAsync("java/generateAccessors", (monitor) -> GenerateAccessorsHandler.generateAccessors(params, monitor));
 	}
 
 	@Override
 	public CompletableFuture<CheckConstructorsResponse> checkConstructorsStatus(CodeActionParams params) {
 		logInfo(">> java/checkConstructorsStatus");
-		return computeAsync((monitor) -> GenerateConstructorsHandler.checkConstructorsStatus(params, monitor));
+		return computeAsync("java/checkConstructorsStatus", (monitor) -> GenerateConstructorsHandler.checkConstructorsStatus(params, monitor));
 	}
 
 	@Override
 	public CompletableFuture<WorkspaceEdit> generateConstructors(GenerateConstructorsParams params) {
 		logInfo(">> java/generateConstructors");
-		return computeAsync((monitor) -> GenerateConstructorsHandler.generateConstructors(params, monitor));
+		return computeAsync("java/generateConstructors", (monitor) -> GenerateConstructorsHandler.generateConstructors(params, monitor));
 	}
 
 	@Override
 	public CompletableFuture<CheckDelegateMethodsResponse> checkDelegateMethodsStatus(CodeActionParams params) {
 		logInfo(">> java/checkDelegateMethodsStatus");
-		return computeAsync((monitor) -> GenerateDelegateMethodsHandler.checkDelegateMethodsStatus(params, monitor));
+		return computeAsync("java/checkDelegateMethodsStatus", (monitor) -> GenerateDelegateMethodsHandler.checkDelegateMethodsStatus(params, monitor));
 	}
 
 	@Override
 	public CompletableFuture<WorkspaceEdit> generateDelegateMethods(GenerateDelegateMethodsParams params) {
 		logInfo(">> java/generateDelegateMethods");
-		return computeAsync((monitor) -> GenerateDelegateMethodsHandler.generateDelegateMethods(params, monitor));
+		return computeAsync("java/generateDelegateMethods", (monitor) -> GenerateDelegateMethodsHandler.generateDelegateMethods(params, monitor));
 	}
 
 	@Override
 	public CompletableFuture<RefactorWorkspaceEdit> getRefactorEdit(GetRefactorEditParams params) {
 		logInfo(">> java/getRefactorEdit");
-		return computeAsync((monitor) -> GetRefactorEditHandler.getEditsForRefactor(params));
+		return computeAsync("java/getRefactorEdit", (monitor) -> GetRefactorEditHandler.getEditsForRefactor(params));
 	}
 
 	@Override
 	public CompletableFuture<List<SelectionInfo>> inferSelection(InferSelectionParams params) {
 		logInfo(">> java/inferSelection");
-		return computeAsync((monitor) -> InferSelectionHandler.inferSelectionsForRefactor(params));
+		return computeAsync("java/inferSelection", (monitor) -> InferSelectionHandler.inferSelectionsForRefactor(params));
 	}
 
 	@Override
 	public CompletableFuture<MoveDestinationsResponse> getMoveDestinations(MoveParams params) {
 		logInfo(">> java/getMoveDestinations");
-		return computeAsync((monitor) -> MoveHandler.getMoveDestinations(params));
+		return computeAsync("java/getMoveDestinations", (monitor) -> MoveHandler.getMoveDestinations(params));
 	}
 
 	@Override
 	public CompletableFuture<RefactorWorkspaceEdit> move(MoveParams params) {
 		logInfo(">> java/move");
-		return computeAsyncWithClientProgress((monitor) -> MoveHandler.move(params, monitor));
+		return computeAsyncWithClientProgress("java/move", (monitor) -> MoveHandler.move(params, monitor));
 	}
 
 	@Override
 	public CompletableFuture<List<SymbolInformation>> searchSymbols(SearchSymbolParams params) {
 		logInfo(">> java/searchSymbols");
-		return computeAsyncWithClientProgress((monitor) -> WorkspaceSymbolHandler.search(params.getQuery(), params.maxResults, params.projectName, params.sourceOnly, monitor));
+		return computeAsyncWithClientProgress("java/searchSymbols", (monitor) -> WorkspaceSymbolHandler.search(params.getQuery(), params.maxResults, params.projectName, params.sourceOnly, monitor));
 	}
 
 	@Override
 	public CompletableFuture<List<CallHierarchyItem>> prepareCallHierarchy(CallHierarchyPrepareParams params) {
 		logInfo(">> textDocument/prepareCallHierarchy");
-		return computeAsyncWithClientProgress((monitor) -> new CallHierarchyHandler().prepareCallHierarchy(params, monitor));
+		return computeAsyncWithClientProgress("textDocument/prepareCallHierarchy", (monitor) -> new CallHierarchyHandler().prepareCallHierarchy(params, monitor));
 	}
 
 	@Override
 	public CompletableFuture<List<CallHierarchyIncomingCall>> callHierarchyIncomingCalls(CallHierarchyIncomingCallsParams params) {
 		logInfo(">> callHierarchy/incomingCalls");
-		return computeAsyncWithClientProgress((monitor) -> new CallHierarchyHandler().callHierarchyIncomingCalls(params, monitor));
+		return computeAsyncWithClientProgress("callHierarchy/incomingCalls", (monitor) -> new CallHierarchyHandler().callHierarchyIncomingCalls(params, monitor));
 	}
 
 	@Override
 	public CompletableFuture<List<CallHierarchyOutgoingCall>> callHierarchyOutgoingCalls(CallHierarchyOutgoingCallsParams params) {
 		logInfo(">> callHierarchy/outgoingCalls");
-		return computeAsyncWithClientProgress((monitor) -> new CallHierarchyHandler().callHierarchyOutgoingCalls(params, monitor));
+		return computeAsyncWithClientProgress("callHierarchy/outgoingCalls", (monitor) -> new CallHierarchyHandler().callHierarchyOutgoingCalls(params, monitor));
 	}
 
 	@Override
 	public CompletableFuture<SemanticTokens> semanticTokensFull(SemanticTokensParams params) {
 		logInfo(">> textDocument/semanticTokens/full");
-		return computeAsync(monitor -> SemanticTokensHandler.full(monitor, params,
-			documentLifeCycleHandler.new DocumentMonitor(params.getTextDocument().getUri())));
+		return computeAsync("textDocument/semanticTokens/full", documentLifeCycleHandler.withDocumentMonitor(params.getTextDocument().getUri(),
+			(monitor, documentMonitor) -> SemanticTokensHandler.full(monitor, params, documentMonitor)));
 	}
 
 	@Override
 	public CompletableFuture<List<InlayHint>> inlayHint(InlayHintParams params) {
 		logInfo(">> textDocument/inlayHint");
-		return computeAsync(monitor -> new InlayHintsHandler(preferenceManager).inlayHint(params, monitor));
+		return computeAsync("textDocument/inlayHint", documentLifeCycleHandler.withDocumentMonitor(params.getTextDocument().getUri(),
+			(monitor) -> new InlayHintsHandler(preferenceManager).inlayHint(params, monitor)));
 	}
 
 	@Override
 	public CompletableFuture<CheckExtractInterfaceResponse> checkExtractInterfaceStatus(CodeActionParams params) {
 		logInfo(">> java/checkExtractInterfaceStatus");
-		return computeAsync((monitor) -> ExtractInterfaceHandler.checkExtractInterfaceStatus(params));
+		return computeAsync("java/checkExtractInterfaceStatus", (monitor) -> ExtractInterfaceHandler.checkExtractInterfaceStatus(params));
 	}
 
-	private <R> CompletableFuture<R> computeAsyncWithClientProgress(Function<IProgressMonitor, R> code) {
-		return CompletableFutures.computeAsync((cc) -> {
+	private <R> CompletableFuture<R> computeAsyncWithClientProgress(String request, Function<IProgressMonitor, R> code) {
+		return measure(request, (cc) -> {
 			IProgressMonitor monitor = progressReporterManager.getProgressReporter(cc);
 			return code.apply(monitor);
 		});
@@ -12,6 +12,8 @@
  *******************************************************************************/
 package org.eclipse.jdt.ls.core.internal.handlers;
 
+import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.function.Function;
 
 import org.eclipse.core.filebuffers.FileBuffers;
@@ -24,14 +26,25 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.IBufferChangedListener;
 import org.eclipse.jdt.core.IOpenable;
 import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.ls.core.internal.DocumentAdapter;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.LineIndex;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
 
 final public class JsonRpcHelpers {
 
+	private static final Map<IBuffer, LineIndex[]> LINE_INDEXES = new WeakHashMap<>();
+
+	private static final IBufferChangedListener LINE_INDEX_INVALIDATOR = event -> {
+		synchronized (LINE_INDEXES) {
+			LINE_INDEXES.remove(event.getBuffer());
+		}
+	};
+
 	private JsonRpcHelpers(){
 		//avoid instantiation
 	}
@@ -47,7 +60,7 @@ final public class JsonRpcHelpers {
 	public static int toOffset(IOpenable openable, int line, int column) {
 		if (openable != null) {
 			try {
-				return convert(openable, (IDocument document) -> toOffset(document, line, column));
+				return convert(openable, (IBuffer buffer) -> toOffset(buffer, line, column));
 			} catch (JavaModelException e) {
 				JavaLanguageServerPlugin.log(e);
 			}
@@ -66,7 +79,14 @@ final public class JsonRpcHelpers {
 	 */
 	public static int toOffset(IBuffer buffer, int line, int column){
 		if (buffer != null) {
-			return toOffset(toDocument(buffer), line, column);
+			try {
+				if (buffer instanceof DocumentAdapter adapter && adapter.getDocument() != null) {
+					return adapter.toOffset(line, column);
+				}
+				return getLineIndex(buffer).toOffset(line, column);
+			} catch (BadLocationException e) {
+				JavaLanguageServerPlugin.logException(e.getMessage(), e);
+			}
 		}
 		return -1;
 	}
@@ -98,7 +118,17 @@ final public class JsonRpcHelpers {
 	 * @return
 	 */
 	public static int[] toLine(IBuffer buffer, int offset){
-		return toLine(toDocument(buffer), offset);
+		if (buffer != null) {
+			try {
+				if (buffer instanceof DocumentAdapter adapter && adapter.getDocument() != null) {
+					return adapter.toLine(offset);
+				}
+				return getLineIndex(buffer).toLine(offset);
+			} catch (BadLocationException e) {
+				JavaLanguageServerPlugin.logException(e.getMessage(), e);
+			}
+		}
+		return null;
 	}
 
 	/**
@@ -114,7 +144,7 @@ final public class JsonRpcHelpers {
 	 */
 	public static int[] toLine(IOpenable openable, int offset) {
 		try {
-			return convert(openable, (IDocument document) -> toLine(document, offset));
+			return convert(openable, (IBuffer buffer) -> toLine(buffer, offset));
 		} catch (JavaModelException e) {
 			JavaLanguageServerPlugin.log(e);
 		}
@@ -122,7 +152,7 @@ final public class JsonRpcHelpers {
 		return null;
 	}
 
-	private static <T> T convert(IOpenable openable, Function<IDocument, T> consumer) throws JavaModelException {
+	private static <T> T convert(IOpenable openable, Function<IBuffer, T> consumer) throws JavaModelException {
 		Assert.isNotNull(openable, "openable");
 		boolean mustClose = false;
 		try {
@@ -131,7 +161,7 @@ final public class JsonRpcHelpers {
 				mustClose = openable.isOpen();
 			}
 			IBuffer buffer = openable.getBuffer();
-			return consumer.apply(toDocument(buffer));
+			return consumer.apply(buffer);
 		} finally {
 			if (mustClose) {
 				try {
@@ -163,6 +193,35 @@ final public class JsonRpcHelpers {
 		return null;
 	}
 
+	/**
+	 * Returns a {@link LineIndex} for the given buffer, other than a
+	 * {@link DocumentAdapter}. The index is cached until the buffer changes.
+	 */
+	private static LineIndex getLineIndex(IBuffer buffer) throws BadLocationException {
+		if (buffer.isClosed() || buffer.getLength() < 0) {
+			throw new BadLocationException("Buffer is closed");
+		}
+		// registered first, so that a change made while the index is built discards it
+		buffer.addBufferChangedListener(LINE_INDEX_INVALIDATOR);
+		LineIndex[] holder;
+		synchronized (LINE_INDEXES) {
+			holder = LINE_INDEXES.get(buffer);
+			if (holder == null) {
+				holder = new LineIndex[1];
+				LINE_INDEXES.put(buffer, holder);
+			} else if (holder[0] != null) {
+				return holder[0];
+			}
+		}
+		LineIndex index = LineIndex.create(buffer);
+		synchronized (LINE_INDEXES) {
+			if (LINE_INDEXES.get(buffer) == holder) {
+				holder[0] = index;
+			}
+		}
+		return index;
+	}
+
 	/**
 	 * Returns an {@link IDocument} for the given buffer.
 	 * The implementation tries to avoid copying the buffer unless required.
@@ -177,7 +236,7 @@ final public class JsonRpcHelpers {
 		}
 		if (buffer instanceof IDocument doc) {
 			return doc;
-		} else if (buffer instanceof org.eclipse.jdt.ls.core.internal.DocumentAdapter adapter) {
+		} else if (buffer instanceof DocumentAdapter adapter) {
 			IDocument document = adapter.getDocument();
 			if (document != null) {
 				return document;
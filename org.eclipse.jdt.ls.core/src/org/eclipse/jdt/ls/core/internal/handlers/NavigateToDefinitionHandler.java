@@ -43,8 +43,9 @@ import org.eclipse.jdt.core.dom.SimpleName;
 import org.eclipse.jdt.core.dom.SwitchExpression;
 import org.eclipse.jdt.core.dom.SwitchStatement;
 import org.eclipse.jdt.core.dom.WhileStatement;
-import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
+import org.eclipse.jdt.core.manipulation.CoreASTProvider;
 import org.eclipse.jdt.internal.corext.dom.TokenScanner;
+import org.eclipse.jdt.ls.core.internal.ASTCache;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.managers.ProjectsManager;
@@ -98,7 +99,7 @@ public class NavigateToDefinitionHandler {
 	private Location computeBreakContinue(ITypeRoot typeRoot, int line, int column) throws CoreException {
 		int offset = JsonRpcHelpers.toOffset(typeRoot.getBuffer(), line, column);
 		if (offset >= 0) {
-			CompilationUnit unit = SharedASTProviderCore.getAST(typeRoot, SharedASTProviderCore.WAIT_YES, null);
+			CompilationUnit unit = ASTCache.getInstance().getAST(typeRoot, CoreASTProvider.WAIT_YES, null);
 			if (unit == null) {
 				return null;
 			}
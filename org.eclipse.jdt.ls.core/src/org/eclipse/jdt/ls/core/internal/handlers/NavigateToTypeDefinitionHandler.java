@@ -34,6 +34,7 @@ import org.eclipse.jdt.core.dom.IVariableBinding;
 import org.eclipse.jdt.core.dom.NodeFinder;
 import org.eclipse.jdt.core.dom.SimpleName;
 import org.eclipse.jdt.core.manipulation.CoreASTProvider;
+import org.eclipse.jdt.ls.core.internal.ASTCache;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
@@ -63,7 +64,7 @@ public class NavigateToTypeDefinitionHandler {
 
 	private Location computeTypeDefinitionNavigation(ITypeRoot unit, int line, int column, IProgressMonitor monitor) {
 		try {
-			CompilationUnit ast = CoreASTProvider.getInstance().getAST(unit, CoreASTProvider.WAIT_YES, monitor);
+			CompilationUnit ast = ASTCache.getInstance().getAST(unit, CoreASTProvider.WAIT_YES, monitor);
 			int offset = JsonRpcHelpers.toOffset(unit.getBuffer(), line, column);
 			if (ast == null || offset < 0) {
 				return null;
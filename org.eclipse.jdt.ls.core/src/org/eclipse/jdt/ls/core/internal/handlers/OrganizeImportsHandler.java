@@ -68,6 +68,21 @@ public final class OrganizeImportsHandler {
 			return null;
 		}
 
+		try {
+			JobHelpers.waitForJobs(DocumentLifeCycleHandler.DOCUMENT_LIFE_CYCLE_JOBS, monitor);
+		} catch (OperationCanceledException e) {
+			JavaLanguageServerPlugin.logException("Failed to resolve organize imports source action", e);
+			return null;
+		}
+		return organizeImports(unit, astRoot, chooseImports, restoreExistingImports);
+	}
+
+	/**
+	 * Organizes the imports of the given unit, using an AST already resolved by
+	 * the caller. The caller is responsible for waiting for the document life
+	 * cycle jobs.
+	 */
+	public static TextEdit organizeImports(ICompilationUnit unit, CompilationUnit astRoot, Function<ImportSelection[], ImportCandidate[]> chooseImports, boolean restoreExistingImports) {
 		OrganizeImportsOperation op = new OrganizeImportsOperation(unit, astRoot, true, false, true, chooseImports != null ? (TypeNameMatch[][] openChoices, ISourceRange[] ranges) -> {
 			List<ImportSelection> selections = new ArrayList<>();
 			for (int i = 0; i < openChoices.length; i++) {
@@ -94,7 +109,6 @@ public final class OrganizeImportsHandler {
 			return Stream.of(chosens).filter(chosen -> chosen != null && typeMaps.containsKey(chosen.id)).map(chosen -> typeMaps.get(chosen.id)).toArray(TypeNameMatch[]::new);
 		} : null, restoreExistingImports);
 		try {
-			JobHelpers.waitForJobs(DocumentLifeCycleHandler.DOCUMENT_LIFE_CYCLE_JOBS, monitor);
 			TextEdit edit = op.createTextEdit(null);
 			if (edit instanceof MultiTextEdit && edit.getOffset() == 0 && edit.getLength() == 0 && ((MultiTextEdit) edit).getChildrenSize() == 0) {
 				return null;
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.JavaCore;
+
+/**
+ * Keeps the parameter names of the binary methods shown in the inlay hints,
+ * keyed by the handle identifier of the method, which includes its project and
+ * its library, since the projects may have different versions or source
+ * attachments of the same library. Resolving them requires to read the
+ * attached sources of the declaring class, for every invocation.
+ *
+ * The names of the binary methods only change with the classpath or the
+ * source attachments, so the cache is dropped when the Java model reports
+ * such a change.
+ */
+public final class ParameterNamesCache {
+
+	private static final int MAX_ENTRIES = 10_000;
+
+	/**
+	 * Marks the methods without parameter names.
+	 */
+	private static final String[] NONE = new String[0];
+
+	private static final ParameterNamesCache INSTANCE = new ParameterNamesCache();
+
+	private final Map<String, String[]> entries = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, String[]> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+
+	private ParameterNamesCache() {
+		IElementChangedListener listener = (ElementChangedEvent event) -> {
+			if (isClasspathChanged(event.getDelta())) {
+				invalidate();
+			}
+		};
+		JavaCore.addElementChangedListener(listener, ElementChangedEvent.POST_CHANGE);
+	}
+
+	public static ParameterNamesCache getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Returns the parameter names of the method with the given handle
+	 * identifier, resolving them if they are not cached.
+	 *
+	 * @param key
+	 *            the handle identifier of the method declaration
+	 * @param resolver
+	 *            resolves the parameter names, or returns <code>null</code> if
+	 *            they are not available
+	 * @return the parameter names, or <code>null</code> if they are not
+	 *         available
+	 */
+	public String[] getParameterNames(String key, Supplier<String[]> resolver) {
+		String[] parameterNames;
+		synchronized (entries) {
+			parameterNames = entries.get(key);
+		}
+		if (parameterNames == null) {
+			parameterNames = resolver.get();
+			if (parameterNames == null) {
+				parameterNames = NONE;
+			}
+			synchronized (entries) {
+				entries.put(key, parameterNames);
+			}
+		}
+		return parameterNames == NONE ? null : parameterNames;
+	}
+
+	public void invalidate() {
+		synchronized (entries) {
+			entries.clear();
+		}
+	}
+
+	/**
+	 * @return the number of cached methods
+	 */
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	private static boolean isClasspathChanged(IJavaElementDelta delta) {
+		switch (delta.getElement().getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+				break;
+			case IJavaElement.JAVA_PROJECT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & (IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED | IJavaElementDelta.F_CLOSED | IJavaElementDelta.F_OPENED)) != 0) {
+					return true;
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+				return delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & (IJavaElementDelta.F_SOURCEATTACHED | IJavaElementDelta.F_SOURCEDETACHED | IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED)) != 0;
+			default:
+				return false;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (isClasspathChanged(child)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
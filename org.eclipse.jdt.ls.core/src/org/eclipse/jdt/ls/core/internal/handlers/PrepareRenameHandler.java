@@ -25,6 +25,7 @@ import org.eclipse.jdt.core.dom.Name;
 import org.eclipse.jdt.core.manipulation.CoreASTProvider;
 import org.eclipse.jdt.internal.core.manipulation.search.IOccurrencesFinder.OccurrenceLocation;
 import org.eclipse.jdt.internal.core.manipulation.search.OccurrencesFinder;
+import org.eclipse.jdt.ls.core.internal.ASTCache;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.corext.refactoring.RefactoringAvailabilityTester;
@@ -49,7 +50,7 @@ public class PrepareRenameHandler {
 		if (unit != null) {
 			try {
 				OccurrencesFinder finder = new OccurrencesFinder();
-				CompilationUnit ast = CoreASTProvider.getInstance().getAST(unit, CoreASTProvider.WAIT_YES, monitor);
+				CompilationUnit ast = ASTCache.getInstance().getAST(unit, CoreASTProvider.WAIT_YES, monitor);
 
 				if (ast != null) {
 					int offset = JsonRpcHelpers.toOffset(unit.getBuffer(), params.getPosition().getLine(), params.getPosition().getCharacter());
@@ -44,6 +44,12 @@ import org.eclipse.lsp4j.jsonrpc.messages.Either;
  */
 public class ProgressReporterManager extends ProgressProvider {
 
+	/**
+	 * The maximum number of intermediate reports sent per second for a given
+	 * progress, the first and last reports are always sent.
+	 */
+	private static final int MAX_REPORTS_PER_SECOND = 5;
+
 	private JavaLanguageClient client;
 	private long delay;
 	private PreferenceManager preferenceManager;
@@ -51,7 +57,7 @@ public class ProgressReporterManager extends ProgressProvider {
 	public ProgressReporterManager(JavaLanguageClient client, PreferenceManager preferenceManager) {
 		this.client = client;
 		this.preferenceManager = preferenceManager;
-		delay = 200;
+		delay = 1000 / MAX_REPORTS_PER_SECOND;
 	}
 
 	@Override
@@ -164,10 +170,12 @@ public class ProgressReporterManager extends ProgressProvider {
 		protected int totalWork;
 		protected String taskName;
 		protected String subTaskName;
-		protected int progress;
+		protected double progress;
 		protected long lastReport = 0;
 		protected String progressId;
 		private boolean sentBegin = false;
+		private boolean sentComplete = false;
+		private String lastState;
 
 		public ProgressReporter() {
 			super(null);
@@ -194,6 +202,7 @@ public class ProgressReporterManager extends ProgressProvider {
 		public void beginTask(String task, int totalWork) {
 			taskName = task;
 			this.totalWork = totalWork;
+			sentComplete = false;
 			sendProgress();
 		}
 
@@ -209,6 +218,14 @@ public class ProgressReporterManager extends ProgressProvider {
 
 		@Override
 		public void worked(int work) {
+			internalWorked(work);
+		}
+
+		/**
+		 * Receives the fractional work of the nested monitors.
+		 */
+		@Override
+		public void internalWorked(double work) {
 			progress += work;
 			sendProgress();
 		}
@@ -224,19 +241,36 @@ public class ProgressReporterManager extends ProgressProvider {
 			return super.isDone() || (totalWork > 0 && progress >= totalWork);
 		}
 
-		private void sendProgress() {
+		private synchronized void sendProgress() {
 			//Ignore system jobs or "The user operation is waiting for background work to complete." tasks
 			if (job != null && job.isSystem() || JobMessages.jobs_blocked0.equals(taskName)) {
 				return;
 			}
+			boolean done = isDone();
+			if (sentComplete) {
+				// the client already removed the progress
+				return;
+			}
 			// throttle the sending of progress
 			long currentTime = System.currentTimeMillis();
-			if (lastReport == 0 || isDone() || (currentTime - lastReport >= delay)) {
+			if (lastReport == 0 || done || (currentTime - lastReport >= delay)) {
+				// skip the reports which wouldn't change what the client displays
+				String state = getState(done);
+				if (!done && state.equals(lastState)) {
+					return;
+				}
+				lastState = state;
 				lastReport = currentTime;
+				sentComplete = done;
 				sendStatus();
 			}
 		}
 
+		private String getState(boolean done) {
+			long percentage = totalWork > 0 ? Math.round(progress / totalWork * 100) : -1;
+			return taskName + SEPARATOR + subTaskName + SEPARATOR + percentage + SEPARATOR + done;
+		}
+
 		protected void sendStatus() {
 			if (client == null || preferenceManager == null || preferenceManager.getClientPreferences() == null) {
 				return;
@@ -247,7 +281,7 @@ public class ProgressReporterManager extends ProgressProvider {
 				progressReport.setTask(task);
 				progressReport.setSubTask(subTaskName);
 				progressReport.setTotalWork(totalWork);
-				progressReport.setWorkDone(progress);
+				progressReport.setWorkDone((int) progress);
 				progressReport.setComplete(isDone());
 				if (task != null && subTaskName != null && !subTaskName.isEmpty() && task.equals(MavenProjectImporter.IMPORTING_MAVEN_PROJECTS)) {
 					progressReport.setStatus(task + SEPARATOR + subTaskName);
@@ -274,7 +308,7 @@ public class ProgressReporterManager extends ProgressProvider {
 				} else {
 					var reportNotification = new WorkDoneProgressReport();
 					reportNotification.setMessage(task);
-					reportNotification.setPercentage((int)(((double) progress) / totalWork * 100.0));
+					reportNotification.setPercentage((int) (progress / totalWork * 100.0));
 					notification = reportNotification;
 				}
 				client.notifyProgress(new ProgressParams(id, Either.forLeft(notification)));
@@ -284,7 +318,7 @@ public class ProgressReporterManager extends ProgressProvider {
 
 		protected String formatMessage(String task) {
 			String message = getMessage(task);
-			return (totalWork > 0) ? String.format("%.0f%% %s", ((double) progress / totalWork) * 100, message) : message;
+			return (totalWork > 0) ? String.format("%.0f%% %s", (progress / totalWork) * 100, message) : message;
 		}
 
 		protected String getMessage(String task) {
@@ -303,7 +337,7 @@ public class ProgressReporterManager extends ProgressProvider {
 			if (totalWork > 0 && !message.isEmpty()) {
 				message = SEPARATOR + message;
 			}
-			return String.format("%.0f%% Starting Java Language Server%s", ((double) progress / totalWork) * 100, message);
+			return String.format("%.0f%% Starting Java Language Server%s", (progress / totalWork) * 100, message);
 		}
 
 		@Override
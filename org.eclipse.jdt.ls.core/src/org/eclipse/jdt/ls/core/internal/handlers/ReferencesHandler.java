@@ -15,6 +15,7 @@ package org.eclipse.jdt.ls.core.internal.handlers;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
@@ -66,6 +67,17 @@ public final class ReferencesHandler {
 	}
 
 	public List<Location> findReferences(ReferenceParams param, IProgressMonitor monitor) {
+		return findReferences(param, null, monitor);
+	}
+
+	/**
+	 * Finds the references to the element at the given position.
+	 *
+	 * @param partialResults
+	 *            if not <code>null</code>, receives the locations in batches
+	 *            while the search is running, and the returned list is empty
+	 */
+	public List<Location> findReferences(ReferenceParams param, Consumer<List<Location>> partialResults, IProgressMonitor monitor) {
 		final List<Location> locations = new ArrayList<>();
 		ITypeRoot typeRoot = null;
 		try {
@@ -82,24 +94,15 @@ public final class ReferencesHandler {
 			if (elementToSearch == null) {
 				return locations;
 			}
-			search(elementToSearch, locations, monitor, param.getContext().isIncludeDeclaration());
-			if (monitor.isCanceled()) {
-				return Collections.emptyList();
-			}
+			List<IJavaElement> related = new ArrayList<>();
 			if (preferenceManager.getPreferences().isIncludeAccessors() && elementToSearch instanceof IField field) { // IField
 				IMethod getter = GetterSetterUtil.getGetter(field);
 				if (getter != null) {
-					search(getter, locations, monitor, false);
-				}
-				if (monitor.isCanceled()) {
-					return Collections.emptyList();
+					related.add(getter);
 				}
 				IMethod setter = GetterSetterUtil.getSetter(field);
 				if (setter != null) {
-					search(setter, locations, monitor, false);
-				}
-				if (monitor.isCanceled()) {
-					return Collections.emptyList();
+					related.add(setter);
 				}
 				String builderName = getBuilderName(field);
 				IType builder = field.getJavaProject().findType(builderName);
@@ -111,13 +114,15 @@ public final class ReferencesHandler {
 					for (IMethod method : builder.getMethods()) {
 						String[] parameters = method.getParameterTypes();
 						if (parameters.length == 1 && field.getElementName().equals(method.getElementName()) && fieldSignature.equals(parameters[0])) {
-							search(method, locations, monitor, false);
+							related.add(method);
 						}
 					}
 				}
-				if (monitor.isCanceled()) {
-					return Collections.emptyList();
-				}
+			}
+			// a single pass over the indexes for the element and its accessors
+			search(elementToSearch, related, locations, partialResults, monitor, param.getContext().isIncludeDeclaration());
+			if (monitor.isCanceled()) {
+				return Collections.emptyList();
 			}
 		} catch (CoreException e) {
 			JavaLanguageServerPlugin.logException("Find references failure ", e);
@@ -171,6 +176,10 @@ public final class ReferencesHandler {
 
 	// for test purpose only
 	public void search(IJavaElement elementToSearch, final List<Location> locations, IProgressMonitor monitor, boolean isIncludeDeclaration) throws CoreException, JavaModelException {
+		search(elementToSearch, Collections.emptyList(), locations, null, monitor, isIncludeDeclaration);
+	}
+
+	private void search(IJavaElement elementToSearch, List<IJavaElement> related, final List<Location> locations, Consumer<List<Location>> partialResults, IProgressMonitor monitor, boolean isIncludeDeclaration) throws CoreException, JavaModelException {
 		boolean includeClassFiles = preferenceManager.isClientSupportsClassFileContent();
 		boolean includeDecompiledSources = preferenceManager.getPreferences().isIncludeDecompiledSources();
 		SearchEngine engine = new SearchEngine();
@@ -179,6 +188,13 @@ public final class ReferencesHandler {
 			SearchPattern patternDecl = SearchPattern.createPattern(elementToSearch, IJavaSearchConstants.DECLARATIONS);
 			pattern = SearchPattern.createOrPattern(pattern, patternDecl);
 		}
+		for (IJavaElement element : related) {
+			SearchPattern relatedPattern = SearchPattern.createPattern(element, IJavaSearchConstants.REFERENCES);
+			if (relatedPattern != null) {
+				pattern = SearchPattern.createOrPattern(pattern, relatedPattern);
+			}
+		}
+		PartialResultsCollector collector = new PartialResultsCollector(locations, partialResults);
 		engine.search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() }, createSearchScope(elementToSearch), new SearchRequestor() {
 
 			@Override
@@ -191,21 +207,61 @@ public final class ReferencesHandler {
 					ICompilationUnit compilationUnit = (ICompilationUnit) element.getAncestor(IJavaElement.COMPILATION_UNIT);
 					if (compilationUnit != null) {
 						Location location = JDTUtils.toLocation(compilationUnit, match.getOffset(), match.getLength());
-						locations.add(location);
+						collector.add(location);
 					} else if (includeClassFiles) {
 						IClassFile cf = (IClassFile) element.getAncestor(IJavaElement.CLASS_FILE);
 						if (cf != null && cf.getSourceRange() != null) {
 							Location location = JDTUtils.toLocation(cf, match.getOffset(), match.getLength());
-							locations.add(location);
+							collector.add(location);
 						} else if (includeDecompiledSources && cf != null) {
 							List<Location> result = JDTUtils.searchDecompiledSources(element, cf, false, false, monitor);
-							locations.addAll(result);
+							result.forEach(collector::add);
 						}
 					}
 
 				}
 			}
 		}, monitor);
+		collector.flush();
+	}
+
+	/**
+	 * Adds the found locations to the result, or reports them in batches when
+	 * the client asked for partial results.
+	 */
+	private static final class PartialResultsCollector {
+
+		private static final int MAX_BATCH_SIZE = 100;
+		private static final long MAX_BATCH_DELAY = 200; /*ms*/
+
+		private final List<Location> locations;
+		private final Consumer<List<Location>> partialResults;
+		private List<Location> batch = new ArrayList<>();
+		private long lastFlush = System.currentTimeMillis();
+
+		private PartialResultsCollector(List<Location> locations, Consumer<List<Location>> partialResults) {
+			this.locations = locations;
+			this.partialResults = partialResults;
+		}
+
+		private void add(Location location) {
+			if (partialResults == null) {
+				locations.add(location);
+				return;
+			}
+			batch.add(location);
+			if (batch.size() >= MAX_BATCH_SIZE || System.currentTimeMillis() - lastFlush >= MAX_BATCH_DELAY) {
+				flush();
+			}
+		}
+
+		private void flush() {
+			if (partialResults != null && !batch.isEmpty()) {
+				partialResults.accept(batch);
+				batch = new ArrayList<>();
+			}
+			lastFlush = System.currentTimeMillis();
+		}
 	}
 
 }
\ No newline at end of file
@@ -21,9 +21,12 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.manipulation.CoreASTProvider;
+import org.eclipse.jdt.ls.core.internal.ASTCache;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JobHelpers;
 import org.eclipse.jdt.ls.core.internal.handlers.BaseDocumentLifeCycleHandler.DocumentMonitor;
+import org.eclipse.jdt.ls.core.internal.jfr.FlightRecorderSupport;
+import org.eclipse.jdt.ls.core.internal.jfr.SemanticTokensEvent;
 import org.eclipse.jdt.ls.core.internal.semantictokens.SemanticTokensVisitor;
 import org.eclipse.jdt.ls.core.internal.semantictokens.TokenModifier;
 import org.eclipse.jdt.ls.core.internal.semantictokens.TokenType;
@@ -35,6 +38,26 @@ public class SemanticTokensHandler {
 
 	public static SemanticTokens full(IProgressMonitor monitor, SemanticTokensParams params, DocumentMonitor documentMonitor) {
 		ITypeRoot typeRoot = JDTUtils.resolveTypeRoot(params.getTextDocument().getUri());
+		SemanticTokensEvent event = FlightRecorderSupport.isAvailable() ? new SemanticTokensEvent() : null;
+		if (event != null) {
+			event.begin();
+		}
+		SemanticTokens tokens = null;
+		try {
+			tokens = full(typeRoot, monitor, documentMonitor);
+			return tokens;
+		} finally {
+			if (event != null && event.shouldCommit()) {
+				event.setTypeRoot(typeRoot);
+				// each token is encoded as 5 integers
+				event.tokenCount = tokens == null ? 0 : tokens.getData().size() / 5;
+				event.cancelled = tokens == null || monitor.isCanceled();
+				event.commit();
+			}
+		}
+	}
+
+	private static SemanticTokens full(ITypeRoot typeRoot, IProgressMonitor monitor, DocumentMonitor documentMonitor) {
 		documentMonitor.checkChanged();
 		if (typeRoot == null || monitor.isCanceled()) {
 			return new SemanticTokens(Collections.emptyList());
@@ -43,7 +66,7 @@ public class SemanticTokensHandler {
 		JobHelpers.waitForJobs(DocumentLifeCycleHandler.DOCUMENT_LIFE_CYCLE_JOBS, monitor);
 		documentMonitor.checkChanged();
 
-		CompilationUnit root = CoreASTProvider.getInstance().getAST(typeRoot, CoreASTProvider.WAIT_YES, monitor);
+		CompilationUnit root = ASTCache.getInstance().getAST(typeRoot, CoreASTProvider.WAIT_YES, monitor);
 		documentMonitor.checkChanged();
 		if (root == null || monitor.isCanceled()) {
 			return new SemanticTokens(Collections.emptyList());
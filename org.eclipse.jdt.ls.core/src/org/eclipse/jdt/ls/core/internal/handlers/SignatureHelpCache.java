@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.jdt.core.CompletionProposal;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.lsp4j.SignatureInformation;
+
+/**
+ * Keeps the signatures of the invocation whose arguments are being typed, so
+ * that the following triggers only match them against the arguments, instead
+ * of running the code completion again.
+ *
+ * The signatures only depend on the source before the argument list and after
+ * the invocation, so they are reused as long as these regions are unchanged.
+ * They are dropped whenever the Java model reports a change of another
+ * compilation unit, saved or reconciled, since they also depend on it.
+ */
+public final class SignatureHelpCache {
+
+	private static final SignatureHelpCache INSTANCE = new SignatureHelpCache();
+
+	private Entry entry;
+
+	private SignatureHelpCache() {
+		IElementChangedListener listener = (ElementChangedEvent event) -> elementChanged(event.getDelta());
+		JavaCore.addElementChangedListener(listener, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+	}
+
+	private synchronized void elementChanged(IJavaElementDelta delta) {
+		// the changes of the cached unit are checked against its regions
+		if (entry != null && isChangedElsewhere(delta, entry.unit.getPrimary())) {
+			entry = null;
+		}
+	}
+
+	private static boolean isChangedElsewhere(IJavaElementDelta delta, ICompilationUnit unit) {
+		IJavaElement element = delta.getElement();
+		if (element instanceof ICompilationUnit) {
+			return !unit.equals(((ICompilationUnit) element).getPrimary());
+		}
+		if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & ~IJavaElementDelta.F_CHILDREN) != 0) {
+			return true;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (isChangedElsewhere(child, unit)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public static SignatureHelpCache getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Returns the signatures of the invocation of the given context, if they
+	 * were computed for the same regions of the given source.
+	 *
+	 * @return the signatures, or <code>null</code> if they are not cached
+	 */
+	public synchronized Signatures get(ICompilationUnit unit, String source, SignatureHelpContext context) {
+		Entry current = new Entry(unit, source, context, null);
+		if (entry == null || !entry.matches(current)) {
+			return null;
+		}
+		return entry.signatures;
+	}
+
+	public synchronized void put(ICompilationUnit unit, String source, SignatureHelpContext context, Signatures signatures) {
+		entry = new Entry(unit, source, context, signatures);
+	}
+
+	public synchronized void invalidate() {
+		entry = null;
+	}
+
+	/**
+	 * @return the number of cached invocations
+	 */
+	public synchronized int size() {
+		return entry == null ? 0 : 1;
+	}
+
+	/**
+	 * The signatures of an invocation, sorted by number of parameters, and
+	 * their completion proposals.
+	 */
+	public static final class Signatures {
+		private final List<SignatureInformation> infos;
+		private final Map<SignatureInformation, CompletionProposal> proposals;
+
+		public Signatures(List<SignatureInformation> infos, Map<SignatureInformation, CompletionProposal> proposals) {
+			this.infos = infos;
+			this.proposals = proposals;
+		}
+
+		public List<SignatureInformation> getInfos() {
+			return infos;
+		}
+
+		public CompletionProposal getProposal(SignatureInformation info) {
+			return proposals.get(info);
+		}
+	}
+
+	private static final class Entry {
+		private final ICompilationUnit unit;
+		private final String source;
+		private final String methodName;
+		private final List<String> declaringTypeNames;
+		private final int completionOffset;
+		/**
+		 * The end of the source before the argument list.
+		 */
+		private final int prefixEnd;
+		/**
+		 * The start of the source after the invocation.
+		 */
+		private final int suffixStart;
+		private final Signatures signatures;
+
+		private Entry(ICompilationUnit unit, String source, SignatureHelpContext context, Signatures signatures) {
+			this.unit = unit;
+			this.source = source;
+			this.methodName = context.methodName();
+			this.declaringTypeNames = context.declaringTypeNames();
+			this.completionOffset = context.completionOffset();
+			ASTNode node = context.targetNode();
+			this.prefixEnd = Math.min(completionOffset + 1, source.length());
+			this.suffixStart = Math.min(node.getStartPosition() + node.getLength(), source.length());
+			this.signatures = signatures;
+		}
+
+		private boolean matches(Entry other) {
+			int suffixLength = source.length() - suffixStart;
+			return unit.equals(other.unit) && completionOffset == other.completionOffset && Objects.equals(methodName, other.methodName)
+					&& Objects.equals(declaringTypeNames, other.declaringTypeNames) && prefixEnd == other.prefixEnd
+					&& suffixLength == other.source.length() - other.suffixStart
+					&& source.regionMatches(0, other.source, 0, prefixEnd)
+					&& source.regionMatches(suffixStart, other.source, other.suffixStart, suffixLength);
+		}
+	}
+}
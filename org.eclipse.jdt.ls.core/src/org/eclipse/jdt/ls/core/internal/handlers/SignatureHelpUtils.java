@@ -71,15 +71,27 @@ public class SignatureHelpUtils {
 				}
 			}
 
-			SignatureHelpRequestor collector = new SignatureHelpRequestor(unit, context.methodName(), context.declaringTypeNames());
-			unit.codeComplete(context.completionOffset(), collector, monitor);
-			help = collector.getSignatureHelp(monitor);
-			if (help.getSignatures().isEmpty() && context.secondaryCompletionOffset() > -1) {
-				unit.codeComplete(context.secondaryCompletionOffset(), collector, monitor);
+			// the signatures don't change while the arguments are typed
+			SignatureHelpCache cache = SignatureHelpCache.getInstance();
+			String source = unit.getSource();
+			SignatureHelpCache.Signatures signatures = source == null ? null : cache.get(unit, source, context);
+			if (signatures == null) {
+				SignatureHelpRequestor collector = new SignatureHelpRequestor(unit, context.methodName(), context.declaringTypeNames());
+				unit.codeComplete(context.completionOffset(), collector, monitor);
 				help = collector.getSignatureHelp(monitor);
-			}
-			if (help.getSignatures().isEmpty() && (context.targetNode() instanceof ClassInstanceCreation)) {
-				fix2097(help, context.targetNode(), collector, context.completionOffset());
+				if (help.getSignatures().isEmpty() && context.secondaryCompletionOffset() > -1) {
+					unit.codeComplete(context.secondaryCompletionOffset(), collector, monitor);
+					help = collector.getSignatureHelp(monitor);
+				}
+				if (help.getSignatures().isEmpty() && (context.targetNode() instanceof ClassInstanceCreation)) {
+					fix2097(help, context.targetNode(), collector, context.completionOffset());
+				}
+				signatures = new SignatureHelpCache.Signatures(new ArrayList<>(help.getSignatures()), collector.getInfoProposals());
+				if (source != null && !monitor.isCanceled()) {
+					cache.put(unit, source, context, signatures);
+				}
+			} else {
+				help.getSignatures().addAll(signatures.getInfos());
 			}
 			List<SignatureInformation> infos = help.getSignatures();
 			if (infos.isEmpty()) {
@@ -87,7 +99,7 @@ public class SignatureHelpUtils {
 			}
 			for (int i = 0; i < infos.size(); i++) {
 				SignatureInformation signatureInformation = infos.get(i);
-				CompletionProposal proposal = collector.getInfoProposals().get(signatureInformation);
+				CompletionProposal proposal = signatures.getProposal(signatureInformation);
 				boolean isMatched = isMatched(proposal, signatureInformation, context);
 				if (isMatched) {
 					help.setActiveSignature(i);
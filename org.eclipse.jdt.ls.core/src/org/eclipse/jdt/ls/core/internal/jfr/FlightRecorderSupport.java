@@ -0,0 +1,39 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.jfr;
+
+/**
+ * Tells whether the Java Flight Recorder events can be created. The
+ * <code>jdk.jfr</code> module is optional, the event classes can't be loaded
+ * without it, so they must only be instantiated if {@link #isAvailable()}.
+ */
+public final class FlightRecorderSupport {
+
+	private static final boolean AVAILABLE = isEventClassAvailable();
+
+	private FlightRecorderSupport() {
+	}
+
+	public static boolean isAvailable() {
+		return AVAILABLE;
+	}
+
+	private static boolean isEventClassAvailable() {
+		try {
+			Class.forName("jdk.jfr.Event", false, FlightRecorderSupport.class.getClassLoader());
+			return true;
+		} catch (ClassNotFoundException | LinkageError e) {
+			return false;
+		}
+	}
+}
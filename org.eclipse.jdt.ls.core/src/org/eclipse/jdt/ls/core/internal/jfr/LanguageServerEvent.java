@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.jfr;
+
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.ls.core.internal.JDTUtils;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Base class of the Java Flight Recorder events of the language server.
+ *
+ * The events are disabled unless a recording is started, for example with
+ * <code>jcmd &lt;pid&gt; JFR.start</code>, so the fields should only be
+ * computed when {@link #shouldCommit()} returns <code>true</code>.
+ */
+@Category({ "Java Language Server" })
+public abstract class LanguageServerEvent extends Event {
+
+	@Label("URI")
+	public String uri;
+
+	@Label("Unit Size")
+	@Description("Number of characters of the compilation unit or class file")
+	public int unitSize;
+
+	@Label("Cancelled")
+	public boolean cancelled;
+
+	/**
+	 * Sets the URI and the size of the given type root.
+	 */
+	public void setTypeRoot(ITypeRoot typeRoot) {
+		if (typeRoot == null) {
+			return;
+		}
+		uri = JDTUtils.toUri(typeRoot);
+		try {
+			IBuffer buffer = typeRoot.getBuffer();
+			unitSize = buffer == null ? 0 : buffer.getLength();
+		} catch (JavaModelException e) {
+			// keep the size unknown
+		}
+	}
+}
@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.managers;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+
+/**
+ * Orders the workspace builds so that the project of the active document and
+ * its dependents are built first, along with their prerequisites.
+ *
+ * The workspace builds the projects of its build order first, then the other
+ * projects in their default order. Since the auto-build is interrupted between
+ * projects when another operation needs the workspace, and then restarted, the
+ * project being edited is always built before unrelated projects.
+ */
+public class ActiveProjectBuildOrder {
+
+	private static final ActiveProjectBuildOrder INSTANCE = new ActiveProjectBuildOrder();
+
+	private final Job updateJob = new UpdateBuildOrderJob();
+	private volatile IProject activeProject;
+
+	private ActiveProjectBuildOrder() {
+	}
+
+	public static ActiveProjectBuildOrder getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Prioritizes the builds of the given project, if not already done.
+	 */
+	public void setActiveProject(IProject project) {
+		if (project == null || project.equals(activeProject)) {
+			return;
+		}
+		activeProject = project;
+		updateJob.schedule();
+	}
+
+	/**
+	 * Restores the default build order.
+	 */
+	public void reset() {
+		activeProject = null;
+		updateJob.cancel();
+		setBuildOrder(null);
+	}
+
+	/**
+	 * Returns the names of the projects to build first, in build order: the
+	 * given project, the projects depending on it and all their prerequisites.
+	 */
+	public static String[] getBuildOrder(IProject project) {
+		Set<IProject> prioritized = new HashSet<>();
+		Deque<IProject> toVisit = new ArrayDeque<>();
+		toVisit.add(project);
+		while (!toVisit.isEmpty()) {
+			IProject current = toVisit.poll();
+			if (current.isAccessible() && prioritized.add(current)) {
+				toVisit.addAll(Arrays.asList(current.getReferencingProjects()));
+			}
+		}
+		// the prerequisites are built before their dependents
+		toVisit.addAll(prioritized);
+		while (!toVisit.isEmpty()) {
+			IProject current = toVisit.poll();
+			try {
+				for (IProject referenced : current.getReferencedProjects()) {
+					if (referenced.isAccessible() && prioritized.add(referenced)) {
+						toVisit.add(referenced);
+					}
+				}
+			} catch (CoreException e) {
+				JavaLanguageServerPlugin.logException("Failed to get the references of " + current.getName(), e);
+			}
+		}
+		IWorkspace workspace = ResourcesPlugin.getWorkspace();
+		IProject[] sorted = workspace.computeProjectOrder(prioritized.toArray(new IProject[0])).projects;
+		return Arrays.stream(sorted).map(IProject::getName).toArray(String[]::new);
+	}
+
+	private static void setBuildOrder(String[] buildOrder) {
+		try {
+			// the auto-build and the concurrent builds are updated concurrently
+			ProjectsManager.updateWorkspaceDescription(description -> {
+				if (Arrays.equals(description.getBuildOrder(), buildOrder)) {
+					return false;
+				}
+				description.setBuildOrder(buildOrder);
+				return true;
+			});
+		} catch (CoreException e) {
+			JavaLanguageServerPlugin.logException("Failed to set the build order", e);
+		}
+	}
+
+	private final class UpdateBuildOrderJob extends Job {
+
+		private UpdateBuildOrderJob() {
+			super("Update build order");
+			setSystem(true);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			IProject project = activeProject;
+			if (project != null && project.isAccessible() && !monitor.isCanceled()) {
+				setBuildOrder(getBuildOrder(project));
+			}
+			return Status.OK_STATUS;
+		}
+	}
+}
@@ -52,6 +52,7 @@ import org.eclipse.jdt.ls.core.internal.ResourceUtils;
 import org.eclipse.jdt.ls.core.internal.managers.ProjectsManager.CHANGE_TYPE;
 import org.eclipse.jdt.ls.core.internal.preferences.IPreferencesChangeListener;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
+import org.eclipse.jdt.ls.core.internal.preferences.Preferences;
 import org.gradle.tooling.CancellationTokenSource;
 import org.gradle.tooling.GradleConnector;
 import org.gradle.tooling.model.eclipse.EclipseProject;
@@ -298,7 +299,8 @@ public class GradleBuildSupport implements IBuildSupport {
 	 */
 	@Override
 	public void registerPreferencesChangeListener(PreferenceManager preferenceManager) throws CoreException {
-		preferenceManager.addPreferencesChangeListener(listener);
+		preferenceManager.addPreferencesChangeListener(listener, Preferences.GRADLE_JAVA_HOME, Preferences.JAVA_GRADLE_WRAPPER_SHA256_KEY, Preferences.JAVA_JDT_LS_PROTOBUF_SUPPORT_ENABLED,
+				Preferences.JAVA_JDT_LS_ANDROID_SUPPORT_ENABLED, Preferences.GRADLE_ANNOTATION_PROCESSING_ENABLED);
 	}
 
 	/* (non-Javadoc)
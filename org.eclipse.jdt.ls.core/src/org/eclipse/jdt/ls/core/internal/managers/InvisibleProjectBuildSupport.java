@@ -28,6 +28,7 @@ import org.eclipse.jdt.ls.core.internal.ProjectUtils;
 import org.eclipse.jdt.ls.core.internal.managers.ProjectsManager.CHANGE_TYPE;
 import org.eclipse.jdt.ls.core.internal.preferences.IPreferencesChangeListener;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
+import org.eclipse.jdt.ls.core.internal.preferences.Preferences;
 import org.eclipse.jdt.ls.core.internal.preferences.Preferences.ReferencedLibraries;
 
 /**
@@ -65,7 +66,7 @@ public class InvisibleProjectBuildSupport extends EclipseBuildSupport implements
 		}
 		for (String pattern: libraries.getInclude()) {
 			if (matchPattern(projectFolder, pattern, resourcePath)) {
-				UpdateClasspathJob.getInstance().updateClasspath(JavaCore.create(project), libraries);
+				UpdateClasspathJob.getInstance().updateClasspath(JavaCore.create(project), libraries, resource.getLocation().toFile().toPath());
 				return false; // update if included in any pattern
 			}
 		}
@@ -108,7 +109,7 @@ public class InvisibleProjectBuildSupport extends EclipseBuildSupport implements
 	 */
 	@Override
 	public void registerPreferencesChangeListener(PreferenceManager preferenceManager) throws CoreException {
-		preferenceManager.addPreferencesChangeListener(listener);
+		preferenceManager.addPreferencesChangeListener(listener, Preferences.JAVA_PROJECT_SOURCE_PATHS_KEY, Preferences.JAVA_PROJECT_OUTPUT_PATH_KEY);
 	}
 
 	/* (non-Javadoc)
@@ -25,6 +25,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.TreeMap;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -77,6 +78,8 @@ import org.eclipse.jdt.ls.core.internal.ServiceStatus;
 import org.eclipse.jdt.ls.core.internal.StatusFactory;
 import org.eclipse.jdt.ls.core.internal.handlers.BaseInitHandler;
 import org.eclipse.jdt.ls.core.internal.handlers.ProjectEncodingMode;
+import org.eclipse.jdt.ls.core.internal.jfr.FlightRecorderSupport;
+import org.eclipse.jdt.ls.core.internal.jfr.ImportEvent;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
 
 public abstract class ProjectsManager implements ISaveParticipant, IProjectsManager {
@@ -87,6 +90,7 @@ public abstract class ProjectsManager implements ISaveParticipant, IProjectsMana
 	public static final String CREATED_BY_JAVA_LANGUAGE_SERVER = "__CREATED_BY_JAVA_LANGUAGE_SERVER__";
 	public static final String BUILD_FILE_MARKER_TYPE = "org.eclipse.jdt.ls.buildFileMarker";
 	private static final int JDTLS_FILTER_TYPE = IResourceFilterDescription.EXCLUDE_ALL | IResourceFilterDescription.INHERITABLE | IResourceFilterDescription.FILES | IResourceFilterDescription.FOLDERS;
+	private static final Object WORKSPACE_DESCRIPTION_LOCK = new Object();
 
 	private PreferenceManager preferenceManager;
 	protected JavaLanguageClient client;
@@ -147,7 +151,7 @@ public abstract class ProjectsManager implements ISaveParticipant, IProjectsMana
 				for (IProjectImporter importer : importers()) {
 					importer.initialize(rootFolder);
 					if (importer.applies(subMonitor.split(1))) {
-						importer.importToWorkspace(subMonitor.split(70));
+						importToWorkspace(importer, rootFolder, subMonitor.split(70));
 						if (importer.isResolved(rootFolder)) {
 							break;
 						}
@@ -172,7 +176,7 @@ public abstract class ProjectsManager implements ISaveParticipant, IProjectsMana
 				for (IProjectImporter importer : importers()) {
 					importer.initialize(rootFolder);
 					if (importer.applies(projectConfigurations, subMonitor.split(1))) {
-						importer.importToWorkspace(subMonitor.split(70));
+						importToWorkspace(importer, rootFolder, subMonitor.split(70));
 					}
 				}
 			} catch (CoreException e) {
@@ -185,6 +189,28 @@ public abstract class ProjectsManager implements ISaveParticipant, IProjectsMana
 		}
 	}
 
+	private static void importToWorkspace(IProjectImporter importer, File rootFolder, IProgressMonitor monitor) throws OperationCanceledException, CoreException {
+		ImportEvent event = FlightRecorderSupport.isAvailable() ? new ImportEvent() : null;
+		if (event != null) {
+			event.begin();
+		}
+		try {
+			importer.importToWorkspace(monitor);
+		} catch (OperationCanceledException e) {
+			if (event != null) {
+				event.cancelled = true;
+			}
+			throw e;
+		} finally {
+			if (event != null && event.shouldCommit()) {
+				event.uri = rootFolder.toURI().toString();
+				event.importer = importer.getClass().getSimpleName();
+				event.cancelled |= monitor.isCanceled();
+				event.commit();
+			}
+		}
+	}
+
 	public void importProjects(IProgressMonitor monitor) {
 		WorkspaceJob job = new WorkspaceJob("Importing projects in workspace...") {
 
@@ -550,14 +576,34 @@ public abstract class ProjectsManager implements ISaveParticipant, IProjectsMana
 	}
 
 	public static boolean setAutoBuilding(boolean enable) throws CoreException {
-		IWorkspace workspace = ResourcesPlugin.getWorkspace();
-		IWorkspaceDescription description = workspace.getDescription();
-		boolean changed = description.isAutoBuilding() != enable;
-		if (changed) {
+		return updateWorkspaceDescription(description -> {
+			if (description.isAutoBuilding() == enable) {
+				return false;
+			}
 			description.setAutoBuilding(enable);
+			return true;
+		});
+	}
+
+	/**
+	 * Updates the description of the workspace. The updates are serialized, so
+	 * that the concurrent updates of different settings aren't lost, and the
+	 * description is only saved if it changed.
+	 *
+	 * @param update
+	 *            changes the given description, and returns whether it changed
+	 * @return whether the description changed
+	 */
+	public static boolean updateWorkspaceDescription(Predicate<IWorkspaceDescription> update) throws CoreException {
+		synchronized (WORKSPACE_DESCRIPTION_LOCK) {
+			IWorkspace workspace = ResourcesPlugin.getWorkspace();
+			IWorkspaceDescription description = workspace.getDescription();
+			if (!update.test(description)) {
+				return false;
+			}
 			workspace.setDescription(description);
+			return true;
 		}
-		return changed;
 	}
 
 	public static Runnable interruptAutoBuild() throws CoreException {
@@ -614,7 +614,8 @@ public class StandardProjectsManager extends ProjectsManager {
 					}
 				}
 			};
-			this.preferenceManager.addPreferencesChangeListener(this.preferenceChangeListener);
+			this.preferenceManager.addPreferencesChangeListener(this.preferenceChangeListener, Preferences.JAVA_PROJECT_REFERENCED_LIBRARIES_KEY, Preferences.JAVA_FORMATTER_URL, Preferences.JAVA_SETTINGS_URL,
+					Preferences.JAVA_FORMATTER_PROFILE_NAME, Preferences.JAVA_RESOURCE_FILTERS, Preferences.JAVA_PROJECT_ENCODING);
 		}
 		buildSupports().forEach(p -> {
 			try {
@@ -12,19 +12,23 @@
  *******************************************************************************/
 package org.eclipse.jdt.ls.core.internal.managers;
 
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.resources.WorkspaceJob;
 import org.eclipse.core.runtime.CoreException;
@@ -32,6 +36,7 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
@@ -41,6 +46,10 @@ import org.eclipse.jdt.ls.core.internal.preferences.Preferences.ReferencedLibrar
 
 /**
  * Job updating project classpath to match content of library folders.
+ *
+ * The libraries found in the folders of each project are indexed, so that the
+ * changes of individual jars only update their own classpath entries, without
+ * scanning the folders again.
  */
 public class UpdateClasspathJob extends WorkspaceJob {
 
@@ -50,8 +59,20 @@ public class UpdateClasspathJob extends WorkspaceJob {
 
 	private static final UpdateClasspathJob instance = new UpdateClasspathJob();
 
+	/**
+	 * The libraries of each project, by project name. Updated by the job, and
+	 * evicted when the project is deleted or closed.
+	 */
+	private final Map<String, LibraryIndex> indexes = new ConcurrentHashMap<>();
+
 	UpdateClasspathJob() {
 		super("Update classpath Job");
+		IResourceChangeListener listener = (IResourceChangeEvent event) -> {
+			if (event.getResource() instanceof IProject project) {
+				indexes.remove(project.getName());
+			}
+		};
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(listener, IResourceChangeEvent.PRE_DELETE | IResourceChangeEvent.PRE_CLOSE);
 	}
 
 	@Override
@@ -61,17 +82,23 @@ public class UpdateClasspathJob extends WorkspaceJob {
 			requests = new ArrayList<>(this.queue);
 			this.queue.clear();
 		}
-		Map<IJavaProject, UpdateClasspathRequest> mergedRequestPerProject = requests.stream().collect(
-			Collectors.groupingBy(UpdateClasspathRequest::getProject,
-				Collectors.reducing(new UpdateClasspathRequest(), (mergedRequest, request) -> {
-					mergedRequest.setProject(request.getProject());
-					mergedRequest.getInclude().addAll(request.getInclude());
-					mergedRequest.getExclude().addAll(request.getExclude());
-					mergedRequest.getSources().putAll(request.getSources());
-					return mergedRequest;
-				})
-			)
-		);
+		Map<IJavaProject, UpdateClasspathRequest> mergedRequestPerProject = new LinkedHashMap<>();
+		for (UpdateClasspathRequest request : requests) {
+			UpdateClasspathRequest mergedRequest = mergedRequestPerProject.computeIfAbsent(request.getProject(), project -> {
+				UpdateClasspathRequest newRequest = new UpdateClasspathRequest();
+				newRequest.setProject(project);
+				newRequest.changes = new LinkedHashSet<>();
+				return newRequest;
+			});
+			mergedRequest.getInclude().addAll(request.getInclude());
+			mergedRequest.getExclude().addAll(request.getExclude());
+			mergedRequest.getSources().putAll(request.getSources());
+			if (request.getChanges() == null) {
+				mergedRequest.changes = null;
+			} else if (mergedRequest.getChanges() != null) {
+				mergedRequest.getChanges().addAll(request.getChanges());
+			}
+		}
 		for (Map.Entry<IJavaProject, UpdateClasspathRequest> entry : mergedRequestPerProject.entrySet()) {
 			if (monitor.isCanceled()) {
 				return Status.CANCEL_STATUS;
@@ -79,7 +106,16 @@ public class UpdateClasspathJob extends WorkspaceJob {
 			if (entry.getValue() != null) {
 				final IJavaProject project = entry.getKey();
 				final UpdateClasspathRequest request = entry.getValue();
-				doUpdateClasspath(project, request.include, request.exclude, request.sources, monitor);
+				if (!project.getProject().isAccessible()) {
+					indexes.remove(project.getElementName());
+					continue;
+				}
+				LibraryIndex index = indexes.get(project.getElementName());
+				if (index != null && request.getChanges() != null && index.accepts(request) && request.getChanges().stream().noneMatch(Files::isDirectory)) {
+					doUpdateClasspath(project, index, request.getChanges(), monitor);
+				} else {
+					doUpdateClasspath(project, request.include, request.exclude, request.sources, monitor);
+				}
 			}
 		}
 		synchronized (queue) {
@@ -101,15 +137,82 @@ public class UpdateClasspathJob extends WorkspaceJob {
 			final Path source = realFolderPath.resolve(entry.getValue());
 			expandedSources.put(binary, new org.eclipse.core.runtime.Path(source.toString()));
 		}
-		final Map<Path, IPath> libraries = new HashMap<>();
+		final Map<Path, IPath> libraries = new LinkedHashMap<>();
 		for (final Path binary: binaries) {
-			if (expandedSources.containsKey(binary)) {
-				libraries.put(binary, expandedSources.get(binary));
-			} else { // If not specified in source map, try to detect it
-				libraries.put(binary, ProjectUtils.detectSources(binary));
-			}
+			libraries.put(binary, getSources(binary, expandedSources));
 		}
 		ProjectUtils.updateBinaries(javaProject, libraries, monitor);
+		if (monitor.isCanceled()) {
+			indexes.remove(javaProject.getElementName());
+		} else {
+			indexes.put(javaProject.getElementName(), new LibraryIndex(include, exclude, sources, expandedSources, libraries));
+		}
+	}
+
+	/**
+	 * Updates the classpath entries of the changed binaries only, and of the
+	 * binaries whose sources changed. The created folders require a full scan
+	 * instead.
+	 */
+	private void doUpdateClasspath(IJavaProject javaProject, LibraryIndex index, Set<Path> changes, IProgressMonitor monitor) throws CoreException {
+		JavaLanguageServerPlugin.logInfo(">> Updating classpath for project " + javaProject.getElementName() + " (" + changes.size() + " changed files)");
+		final Map<Path, IPath> changed = new LinkedHashMap<>();
+		final Set<Path> removed = new LinkedHashSet<>();
+		for (Path file : changes) {
+			Path binary = getBinary(file);
+			if (binary == null) {
+				// a deleted folder removes the binaries it contained
+				for (Path library : index.libraries.keySet()) {
+					if (library.startsWith(file) && !Files.exists(library)) {
+						removed.add(library);
+					}
+				}
+				continue;
+			}
+			if (Files.isRegularFile(binary)) {
+				// a binary only affected by its sources must already be on the classpath
+				if (binary.equals(file) || index.libraries.containsKey(binary)) {
+					IPath source = getSources(binary, index.expandedSources);
+					if (!index.libraries.containsKey(binary) || !Objects.equals(index.libraries.get(binary), source)) {
+						changed.put(binary, source);
+					}
+				}
+			} else if (index.libraries.containsKey(binary)) {
+				removed.add(binary);
+			}
+		}
+		if (changed.isEmpty() && removed.isEmpty()) {
+			// the content of the jars may have changed
+			javaProject.getJavaModel().refreshExternalArchives(new IJavaElement[] { javaProject }, monitor);
+			return;
+		}
+		ProjectUtils.updateBinaries(javaProject, changed, removed, monitor);
+		if (monitor.isCanceled()) {
+			indexes.remove(javaProject.getElementName());
+		} else {
+			index.libraries.putAll(changed);
+			index.libraries.keySet().removeAll(removed);
+		}
+	}
+
+	/**
+	 * Returns the binary affected by the change of the given file, or
+	 * <code>null</code> if the file isn't a jar.
+	 */
+	private static Path getBinary(Path file) {
+		String fileName = file.getFileName().toString();
+		if (fileName.endsWith(ProjectUtils.SOURCE_JAR_SUFFIX)) {
+			return file.resolveSibling(fileName.substring(0, fileName.length() - ProjectUtils.SOURCE_JAR_SUFFIX.length()) + ProjectUtils.JAR_SUFFIX);
+		}
+		return fileName.endsWith(ProjectUtils.JAR_SUFFIX) ? file : null;
+	}
+
+	private static IPath getSources(Path binary, Map<Path, IPath> expandedSources) {
+		if (expandedSources.containsKey(binary)) {
+			return expandedSources.get(binary);
+		}
+		// If not specified in source map, try to detect it
+		return ProjectUtils.detectSources(binary);
 	}
 
 	public void updateClasspath(IJavaProject project, Set<String> include, Set<String> exclude, Map<String, String> sources) {
@@ -129,6 +232,28 @@ public class UpdateClasspathJob extends WorkspaceJob {
 		updateClasspath(project, libraries.getInclude(), libraries.getExclude(), libraries.getSources());
 	}
 
+	/**
+	 * Updates the classpath after the change of a file of the library folders.
+	 * When the libraries of the project are already indexed, only the entry of
+	 * the changed jar is updated.
+	 *
+	 * @param project
+	 *            the project
+	 * @param libraries
+	 *            the referenced libraries
+	 * @param changedFile
+	 *            the created, changed or deleted file
+	 */
+	public void updateClasspath(IJavaProject project, ReferencedLibraries libraries, Path changedFile) {
+		if (project == null || libraries.getInclude() == null) {
+			return;
+		}
+		UpdateClasspathRequest request = new UpdateClasspathRequest(project, libraries.getInclude(), libraries.getExclude() == null ? new HashSet<>() : libraries.getExclude(), libraries.getSources() == null ? new HashMap<>() : libraries.getSources());
+		request.changes = new LinkedHashSet<>();
+		request.changes.add(changedFile);
+		update(request);
+	}
+
 	public void updateClasspath(IJavaProject project) {
 		updateClasspath(project, JavaLanguageServerPlugin.getPreferencesManager().getPreferences().getReferencedLibraries());
 	}
@@ -165,6 +290,10 @@ public class UpdateClasspathJob extends WorkspaceJob {
 		private Set<String> include;
 		private Set<String> exclude;
 		private Map<String, String> sources;
+		/**
+		 * The changed files, or <code>null</code> to scan the library folders.
+		 */
+		private Set<Path> changes;
 
 		UpdateClasspathRequest(IJavaProject project, Set<String> include, Set<String> exclude, Map<String, String> sources) {
 			this.project = project;
@@ -197,9 +326,13 @@ public class UpdateClasspathJob extends WorkspaceJob {
 			return sources;
 		}
 
+		Set<Path> getChanges() {
+			return changes;
+		}
+
 		@Override
 		public int hashCode() {
-			return Objects.hash(include, exclude, sources, project);
+			return Objects.hash(include, exclude, sources, project, changes);
 		}
 
 		@Override
@@ -217,13 +350,51 @@ public class UpdateClasspathJob extends WorkspaceJob {
 			return Objects.equals(project, other.project)
 				&& Objects.equals(include, other.include)
 				&& Objects.equals(exclude, other.exclude)
-				&& Objects.equals(sources, other.sources);
+				&& Objects.equals(sources, other.sources)
+				&& Objects.equals(changes, other.changes);
 		}
 
 	}
 
+	/**
+	 * The libraries found by the last scan of the library folders of a project,
+	 * with their sources.
+	 */
+	private static final class LibraryIndex {
+		private final Set<String> include;
+		private final Set<String> exclude;
+		private final Map<String, String> sources;
+		private final Map<Path, IPath> expandedSources;
+		private final Map<Path, IPath> libraries;
+
+		private LibraryIndex(Set<String> include, Set<String> exclude, Map<String, String> sources, Map<Path, IPath> expandedSources, Map<Path, IPath> libraries) {
+			this.include = new HashSet<>(include);
+			this.exclude = new HashSet<>(exclude);
+			this.sources = new HashMap<>(sources);
+			this.expandedSources = expandedSources;
+			this.libraries = libraries;
+		}
+
+		/**
+		 * Returns whether the request uses the same library folders as the
+		 * scan.
+		 */
+		private boolean accepts(UpdateClasspathRequest request) {
+			return include.equals(request.getInclude()) && exclude.equals(request.getExclude()) && sources.equals(request.getSources());
+		}
+	}
+
 	public static UpdateClasspathJob getInstance() {
 		return instance;
 	}
 
+	/**
+	 * @return the indexed libraries of the given project, or <code>null</code>
+	 *         if the project isn't indexed
+	 */
+	Set<Path> getIndexedLibraries(IProject project) {
+		LibraryIndex index = indexes.get(project.getName());
+		return index == null ? null : new LinkedHashSet<>(index.libraries.keySet());
+	}
+
 }
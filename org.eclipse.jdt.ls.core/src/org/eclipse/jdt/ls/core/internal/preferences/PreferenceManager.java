@@ -15,11 +15,13 @@ package org.eclipse.jdt.ls.core.internal.preferences;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.util.Arrays;
 import java.util.Hashtable;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
@@ -68,6 +70,7 @@ public class PreferenceManager {
 	private static final String CUSTOM_CODE_TEMPLATES = IConstants.PLUGIN_ID + ".custom_code_templates";
 	private ClientPreferences clientPreferences;
 	private ListenerList<IPreferencesChangeListener> preferencesChangeListeners;
+	private Map<IPreferencesChangeListener, List<String>> subscribedKeys = new ConcurrentHashMap<>();
 	private IEclipsePreferences eclipsePrefs;
 	private static Map<String, Template> templates = new LinkedHashMap<>();
 
@@ -218,7 +221,12 @@ public class PreferenceManager {
 	}
 
 	private void preferencesChanged(Preferences oldPreferences, Preferences newPreferences) {
+		PreferencesChange change = PreferencesChange.compute(oldPreferences, newPreferences);
 		for (final IPreferencesChangeListener listener : preferencesChangeListeners) {
+			List<String> keys = subscribedKeys.get(listener);
+			if (keys != null && !change.affects(keys)) {
+				continue;
+			}
 			ISafeRunnable job = new ISafeRunnable() {
 				@Override
 				public void handleException(Throwable e) {
@@ -300,6 +308,23 @@ public class PreferenceManager {
 
 	}
 
+	/**
+	 * Register the given listener for notification of the changes of the given
+	 * configuration keys only. A key also covers its nested keys, e.g.
+	 * <code>java.inlayHints</code> covers
+	 * <code>java.inlayHints.parameterNames.enabled</code>.
+	 *
+	 * @param listener
+	 *            the preferences change listener to register
+	 * @param keys
+	 *            the configuration keys the listener depends on
+	 * @see PreferencesChange
+	 */
+	public void addPreferencesChangeListener(IPreferencesChangeListener listener, String... keys) {
+		subscribedKeys.put(listener, Arrays.asList(keys));
+		preferencesChangeListeners.add(listener);
+	}
+
 	/**
 	 * De-register the given listener from receiving notification of preferences
 	 * changes. Calling this method multiple times with the same listener has no
@@ -310,6 +335,7 @@ public class PreferenceManager {
 	 */
 	public void removePreferencesChangeListener(IPreferencesChangeListener listener) {
 		preferencesChangeListeners.remove(listener);
+		subscribedKeys.remove(listener);
 	}
 
 	/**
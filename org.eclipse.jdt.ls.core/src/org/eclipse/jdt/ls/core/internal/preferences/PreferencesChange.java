@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.preferences;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The configuration keys changed between two {@link Preferences}.
+ *
+ * The keys are the dotted paths of the configuration values, e.g.
+ * <code>java.format.settings.url</code>, whether the client sent them as nested
+ * objects or as dotted keys. If the configuration of either preferences is
+ * unknown, because they were not created from a configuration, every key is
+ * considered changed.
+ */
+public final class PreferencesChange {
+
+	private static final PreferencesChange NONE = new PreferencesChange(Collections.emptySet());
+	private static final PreferencesChange ALL = new PreferencesChange(null);
+
+	private final Set<String> changedKeys;
+
+	private PreferencesChange(Set<String> changedKeys) {
+		this.changedKeys = changedKeys;
+	}
+
+	public static PreferencesChange compute(Preferences oldPreferences, Preferences newPreferences) {
+		if (oldPreferences == newPreferences) {
+			return NONE;
+		}
+		Map<String, Object> oldConfiguration = oldPreferences == null ? null : oldPreferences.asMap();
+		Map<String, Object> newConfiguration = newPreferences == null ? null : newPreferences.asMap();
+		if (oldConfiguration == null || newConfiguration == null) {
+			return ALL;
+		}
+		Map<String, Object> oldValues = flatten(oldConfiguration);
+		Map<String, Object> newValues = flatten(newConfiguration);
+		Set<String> changedKeys = new HashSet<>();
+		oldValues.forEach((key, value) -> {
+			if (!Objects.equals(value, newValues.get(key))) {
+				changedKeys.add(key);
+			}
+		});
+		newValues.keySet().stream().filter(key -> !oldValues.containsKey(key)).forEach(changedKeys::add);
+		return changedKeys.isEmpty() ? NONE : new PreferencesChange(changedKeys);
+	}
+
+	/**
+	 * Returns whether nothing changed.
+	 */
+	public boolean isEmpty() {
+		return changedKeys != null && changedKeys.isEmpty();
+	}
+
+	/**
+	 * Returns whether any of the given keys, or of their nested keys, changed.
+	 */
+	public boolean affects(Collection<String> keys) {
+		if (changedKeys == null) {
+			return true;
+		}
+		for (String changedKey : changedKeys) {
+			for (String key : keys) {
+				if (changedKey.equals(key) || changedKey.startsWith(key + ".") || key.startsWith(changedKey + ".")) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private static Map<String, Object> flatten(Map<String, Object> configuration) {
+		Map<String, Object> values = new HashMap<>();
+		flatten(null, configuration, values);
+		return values;
+	}
+
+	private static void flatten(String prefix, Map<?, ?> configuration, Map<String, Object> values) {
+		configuration.forEach((name, value) -> {
+			String key = prefix == null ? String.valueOf(name) : prefix + "." + name;
+			if (value instanceof Map<?, ?> map) {
+				flatten(key, map, values);
+			} else {
+				values.put(key, value);
+			}
+		});
+	}
+}
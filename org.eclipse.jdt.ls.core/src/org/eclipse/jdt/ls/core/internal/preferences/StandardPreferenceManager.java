@@ -19,9 +19,6 @@ import org.apache.maven.settings.Activation;
 import org.apache.maven.settings.Profile;
 import org.apache.maven.settings.Settings;
 import org.eclipse.core.resources.IProject;
-import org.eclipse.core.resources.IWorkspace;
-import org.eclipse.core.resources.IWorkspaceDescription;
-import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.preferences.DefaultScope;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
@@ -29,6 +26,7 @@ import org.eclipse.core.runtime.preferences.InstanceScope;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.ProjectUtils;
+import org.eclipse.jdt.ls.core.internal.managers.ProjectsManager;
 import org.eclipse.m2e.apt.MavenJdtAptPlugin;
 import org.eclipse.m2e.apt.preferences.PreferencesConstants;
 import org.eclipse.m2e.core.MavenPlugin;
@@ -163,15 +161,17 @@ public class StandardPreferenceManager extends PreferenceManager {
 	}
 
 	private void updateParallelBuild(int maxConcurrentBuilds) {
-		IWorkspace workspace = ResourcesPlugin.getWorkspace();
-		IWorkspaceDescription description = workspace.getDescription();
-		if (description.getMaxConcurrentBuilds() == maxConcurrentBuilds) {
-			return;
-		}
-
-		description.setMaxConcurrentBuilds(maxConcurrentBuilds);
 		try {
-			workspace.setDescription(description);
+			boolean changed = ProjectsManager.updateWorkspaceDescription(description -> {
+				if (description.getMaxConcurrentBuilds() == maxConcurrentBuilds) {
+					return false;
+				}
+				description.setMaxConcurrentBuilds(maxConcurrentBuilds);
+				return true;
+			});
+			if (!changed) {
+				return;
+			}
 		} catch (CoreException e) {
 			JavaLanguageServerPlugin.logException("Problems setting maxConcurrentBuilds from workspace.", e);
 		}
@@ -13,23 +13,33 @@
 
 package org.eclipse.jdt.ls.core.internal.syntaxserver;
 
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.WorkingCopyOwner;
 import org.eclipse.jdt.core.search.IJavaSearchConstants;
 import org.eclipse.jdt.internal.codeassist.ISearchRequestor;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
 import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
 import org.eclipse.jdt.internal.core.JavaElementRequestor;
 import org.eclipse.jdt.internal.core.JavaProject;
 import org.eclipse.jdt.internal.core.NameLookup;
 import org.eclipse.jdt.internal.core.SearchableEnvironment;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.syntaxserver.TypeNameIndex.TypeName;
 
 public class ModelBasedSearchableEnvironment extends SearchableEnvironment {
+	private final boolean excludeTestCode;
+
 	public ModelBasedSearchableEnvironment(JavaProject javaProject, WorkingCopyOwner owner, boolean excludeTestCode) throws JavaModelException {
 		super(javaProject, owner, excludeTestCode);
+		this.excludeTestCode = excludeTestCode;
 	}
 
 	@Override
@@ -38,11 +48,90 @@ public class ModelBasedSearchableEnvironment extends SearchableEnvironment {
 			throw new OperationCanceledException();
 		}
 
+		Set<IPath> roots = getIndexedRoots();
+		if (roots != null) {
+			findIndexedTypes(new String(prefix), findMembers, roots, storage, convertSearchFilterToModelFilter(searchFor));
+			return;
+		}
 		JavaLanguageServerPlugin.logInfo("Search engine disabled, searching directly.");
 		// Look for types in the model instead of a search request
 		findTypes(new String(prefix), storage, convertSearchFilterToModelFilter(searchFor));
 	}
 
+	/**
+	 * @return the package fragment roots visible from the project, or
+	 *         <code>null</code> if some of them aren't in the {@link TypeNameIndex}
+	 */
+	private Set<IPath> getIndexedRoots() {
+		TypeNameIndex index = TypeNameIndex.getInstance();
+		Set<IPath> roots = new HashSet<>();
+		try {
+			for (IPackageFragmentRoot root : this.project.getAllPackageFragmentRoots()) {
+				if (excludeTestCode && root.getKind() == IPackageFragmentRoot.K_SOURCE && root.getResolvedClasspathEntry().isTest()) {
+					continue;
+				}
+				if (!index.isIndexed(root)) {
+					return null;
+				}
+				roots.add(root.getPath());
+			}
+		} catch (JavaModelException e) {
+			return null;
+		}
+		return roots;
+	}
+
+	/**
+	 * Find types, including member types, in the {@link TypeNameIndex}.
+	 */
+	private void findIndexedTypes(String prefix, boolean findMembers, Set<IPath> roots, ISearchRequestor storage, int type) {
+		int index = prefix.lastIndexOf('.');
+		String qualifier = index == -1 ? null : prefix.substring(0, index);
+		String simpleNamePrefix = prefix.substring(index + 1);
+		IPath unitToSkipPath = this.unitToSkip instanceof org.eclipse.jdt.core.ICompilationUnit unit ? unit.getPath() : null;
+		TypeNameIndex.getInstance().findTypes(simpleNamePrefix, roots, findMembers, (TypeName typeName) -> {
+			if (unitToSkipPath != null && unitToSkipPath.equals(typeName.unitPath)) {
+				return;
+			}
+			if (qualifier != null && !matchesQualifier(typeName, qualifier)) {
+				return;
+			}
+			int modifiers = typeName.getModifiers();
+			if ((modifiers & ClassFileConstants.AccSynthetic) != 0 || !acceptKind(modifiers, type)) {
+				return;
+			}
+			storage.acceptType(typeName.packageName, typeName.simpleName, typeName.enclosingTypeNames, modifiers, null);
+		});
+	}
+
+	private static boolean matchesQualifier(TypeName typeName, String qualifier) {
+		String packageName = new String(typeName.packageName);
+		if (typeName.enclosingTypeNames.length == 0) {
+			return packageName.equals(qualifier);
+		}
+		// the qualifier is the package, or the enclosing types
+		String typeQualifiedName = typeName.getTypeQualifiedName();
+		String enclosingTypes = typeQualifiedName.substring(0, typeQualifiedName.length() - typeName.simpleName.length - 1);
+		return packageName.equals(qualifier) || enclosingTypes.equals(qualifier) || (packageName + "." + enclosingTypes).equals(qualifier);
+	}
+
+	private static boolean acceptKind(int modifiers, int type) {
+		if (type == NameLookup.ACCEPT_ALL) {
+			return true;
+		}
+		int kind;
+		if ((modifiers & ClassFileConstants.AccAnnotation) != 0) {
+			kind = NameLookup.ACCEPT_ANNOTATIONS;
+		} else if ((modifiers & ClassFileConstants.AccInterface) != 0) {
+			kind = NameLookup.ACCEPT_INTERFACES;
+		} else if ((modifiers & ClassFileConstants.AccEnum) != 0) {
+			kind = NameLookup.ACCEPT_ENUMS;
+		} else {
+			kind = NameLookup.ACCEPT_CLASSES;
+		}
+		return (type & kind) != 0;
+	}
+
 	private static int convertSearchFilterToModelFilter(int searchFilter) {
 		switch (searchFilter) {
 			case IJavaSearchConstants.CLASS:
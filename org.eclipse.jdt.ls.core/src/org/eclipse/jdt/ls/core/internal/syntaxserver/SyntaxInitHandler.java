@@ -113,6 +113,7 @@ public class SyntaxInitHandler extends BaseInitHandler {
 				long start = System.currentTimeMillis();
 				try {
 					projectsManager.initializeProjects(roots, monitor);
+					TypeNameIndex.getInstance().build(monitor);
 					JavaLanguageServerPlugin.logInfo("Workspace initialized in " + (System.currentTimeMillis() - start) + "ms");
 				} catch (Exception e) {
 					JavaLanguageServerPlugin.logException("Initialization failed ", e);
@@ -147,7 +147,7 @@ public class SyntaxLanguageServer extends BaseJDTLanguageServer implements Langu
 	@Override
 	public CompletableFuture<Object> shutdown() {
 		logInfo(">> shutdown");
-		return computeAsync((monitor) -> {
+		return computeAsync("shutdown", (monitor) -> {
 			shutdownJob.schedule();
 			shutdownReceived = true;
 			if (preferenceManager.getClientPreferences().shouldLanguageServerExitOnShutdown()) {
@@ -311,28 +311,28 @@ public class SyntaxLanguageServer extends BaseJDTLanguageServer implements Langu
 	public CompletableFuture<List<? extends TextEdit>> formatting(DocumentFormattingParams params) {
 		logInfo(">> document/formatting");
 		FormatterHandler handler = new FormatterHandler(preferenceManager);
-		return computeAsync((monitor) -> handler.formatting(params, monitor));
+		return computeAsync("textDocument/formatting", (monitor) -> handler.formatting(params, monitor));
 	}
 
 	@Override
 	public CompletableFuture<List<? extends TextEdit>> rangeFormatting(DocumentRangeFormattingParams params) {
 		logInfo(">> document/rangeFormatting");
 		FormatterHandler handler = new FormatterHandler(preferenceManager);
-		return computeAsync((monitor) -> handler.rangeFormatting(params, monitor));
+		return computeAsync("textDocument/rangeFormatting", (monitor) -> handler.rangeFormatting(params, monitor));
 	}
 
 	@Override
 	public CompletableFuture<List<? extends TextEdit>> onTypeFormatting(DocumentOnTypeFormattingParams params) {
 		logInfo(">> document/onTypeFormatting");
 		FormatterHandler handler = new FormatterHandler(preferenceManager);
-		return computeAsync((monitor) -> handler.onTypeFormatting(params, monitor));
+		return computeAsync("textDocument/onTypeFormatting", (monitor) -> handler.onTypeFormatting(params, monitor));
 	}
 
 	@Override
 	public CompletableFuture<List<Either<SymbolInformation, DocumentSymbol>>> documentSymbol(DocumentSymbolParams params) {
 		logInfo(">> document/documentSymbol");
 		DocumentSymbolHandler handler = new DocumentSymbolHandler(preferenceManager);
-		return computeAsync((monitor) -> {
+		return computeAsync("textDocument/documentSymbol", (monitor) -> {
 			waitForLifecycleJobs(monitor);
 			return handler.documentSymbol(params, monitor);
 		});
@@ -342,7 +342,7 @@ public class SyntaxLanguageServer extends BaseJDTLanguageServer implements Langu
 	public CompletableFuture<Either<List<? extends Location>, List<? extends LocationLink>>> definition(DefinitionParams position) {
 		logInfo(">> document/definition");
 		NavigateToDefinitionHandler handler = new NavigateToDefinitionHandler(this.preferenceManager);
-		return computeAsync((monitor) -> {
+		return computeAsync("textDocument/definition", (monitor) -> {
 			waitForLifecycleJobs(monitor);
 			List<? extends Location> locations = handler.definition(position, monitor);
 			for (Location location : locations) {
@@ -356,7 +356,7 @@ public class SyntaxLanguageServer extends BaseJDTLanguageServer implements Langu
 	public CompletableFuture<Either<List<? extends Location>, List<? extends LocationLink>>> typeDefinition(TypeDefinitionParams position) {
 		logInfo(">> document/typeDefinition");
 		NavigateToTypeDefinitionHandler handler = new NavigateToTypeDefinitionHandler();
-		return computeAsync((monitor) -> {
+		return computeAsync("textDocument/typeDefinition", (monitor) -> {
 			waitForLifecycleJobs(monitor);
 			List<? extends Location> locations = handler.typeDefinition(position, monitor);
 			for (Location location : locations) {
@@ -369,16 +369,16 @@ public class SyntaxLanguageServer extends BaseJDTLanguageServer implements Langu
 	@Override
 	public CompletableFuture<List<FoldingRange>> foldingRange(FoldingRangeRequestParams params) {
 		logInfo(">> document/foldingRange");
-		return computeAsync((monitor) -> {
+		return computeAsync("textDocument/foldingRange", documentLifeCycleHandler.withDocumentMonitor(params.getTextDocument().getUri(), (monitor) -> {
 			waitForLifecycleJobs(monitor);
 			return new FoldingRangeHandler().foldingRange(params, monitor);
-		});
+		}));
 	}
 
 	@Override
 	public CompletableFuture<List<SelectionRange>> selectionRange(SelectionRangeParams params) {
 		logInfo(">> document/selectionRange");
-		return computeAsync((monitor) -> {
+		return computeAsync("textDocument/selectionRange", (monitor) -> {
 			waitForLifecycleJobs(monitor);
 			return new SelectionRangeHandler().selectionRange(params, monitor);
 		});
@@ -395,14 +395,14 @@ public class SyntaxLanguageServer extends BaseJDTLanguageServer implements Langu
 	public CompletableFuture<String> classFileContents(TextDocumentIdentifier param) {
 		logInfo(">> java/classFileContents");
 		URI uri = JDTUtils.toURI(param.getUri());
-		return computeAsync((monitor) -> contentProviderManager.getContent(uri, monitor));
+		return computeAsync("java/classFileContents", (monitor) -> contentProviderManager.getContent(uri, monitor));
 	}
 
 	@Override
 	public CompletableFuture<Hover> hover(HoverParams position) {
 		logInfo(">> document/hover");
 		HoverHandler handler = new HoverHandler(this.preferenceManager);
-		return computeAsync((monitor) -> handler.hover(position, monitor));
+		return computeAsync("textDocument/hover", (monitor) -> handler.hover(position, monitor));
 	}
 
 	/* (non-Javadoc)
@@ -413,7 +413,7 @@ public class SyntaxLanguageServer extends BaseJDTLanguageServer implements Langu
 		logInfo(">> document/completion");
 		CompletionHandler handler = new CompletionHandler(preferenceManager);
 		final IProgressMonitor[] monitors = new IProgressMonitor[1];
-		CompletableFuture<Either<List<CompletionItem>, CompletionList>> result = computeAsync((monitor) -> {
+		CompletableFuture<Either<List<CompletionItem>, CompletionList>> result = computeAsync("textDocument/completion", (monitor) -> {
 			monitors[0] = monitor;
 			if (Boolean.getBoolean(JAVA_LSP_JOIN_ON_COMPLETION)) {
 				waitForLifecycleJobs(monitor);
@@ -435,7 +435,7 @@ public class SyntaxLanguageServer extends BaseJDTLanguageServer implements Langu
 		logInfo(">> document/resolveCompletionItem");
 		CompletionResolveHandler handler = new CompletionResolveHandler(preferenceManager);
 		final IProgressMonitor[] monitors = new IProgressMonitor[1];
-		CompletableFuture<CompletionItem> result = computeAsync((monitor) -> {
+		CompletableFuture<CompletionItem> result = computeAsync("completionItem/resolve", (monitor) -> {
 			monitors[0] = monitor;
 			if ((Boolean.getBoolean(JAVA_LSP_JOIN_ON_COMPLETION))) {
 				waitForLifecycleJobs(monitor);
@@ -452,14 +452,14 @@ public class SyntaxLanguageServer extends BaseJDTLanguageServer implements Langu
 	@Override
 	public CompletableFuture<SemanticTokens> semanticTokensFull(SemanticTokensParams params) {
 		logInfo(">> textDocument/semanticTokens/full");
-		return computeAsync(monitor -> SemanticTokensHandler.full(monitor, params,
-			documentLifeCycleHandler.new DocumentMonitor(params.getTextDocument().getUri())));
+		return computeAsync("textDocument/semanticTokens/full", documentLifeCycleHandler.withDocumentMonitor(params.getTextDocument().getUri(),
+			(monitor, documentMonitor) -> SemanticTokensHandler.full(monitor, params, documentMonitor)));
 	}
 
 	@Override
 	public CompletableFuture<List<? extends DocumentHighlight>> documentHighlight(DocumentHighlightParams position) {
 		logInfo(">> document/documentHighlight");
-		return computeAsync((monitor) -> DocumentHighlightHandler.documentHighlight(position, monitor));
+		return computeAsync("textDocument/documentHighlight", (monitor) -> DocumentHighlightHandler.documentHighlight(position, monitor));
 	}
 
 	private void waitForLifecycleJobs(IProgressMonitor monitor) {
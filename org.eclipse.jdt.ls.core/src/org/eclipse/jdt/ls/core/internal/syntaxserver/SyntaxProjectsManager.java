@@ -40,6 +40,7 @@ import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
@@ -212,5 +213,20 @@ public class SyntaxProjectsManager extends ProjectsManager {
 		} catch (CoreException e) {
 			JavaLanguageServerPlugin.logException("Problem refreshing workspace", e);
 		}
+		updateTypeNameIndex(uriString, resource, changeType);
+	}
+
+	private void updateTypeNameIndex(String uriString, IResource resource, CHANGE_TYPE changeType) {
+		if (!JavaCore.isJavaLikeFileName(resource.getName())) {
+			return;
+		}
+		if (changeType == CHANGE_TYPE.DELETED) {
+			TypeNameIndex.getInstance().remove(resource.getFullPath());
+			return;
+		}
+		ICompilationUnit unit = JDTUtils.resolveCompilationUnit(uriString);
+		if (unit != null) {
+			TypeNameIndex.getInstance().update(unit);
+		}
 	}
 }
@@ -0,0 +1,536 @@
+/*******************************************************************************
+* Copyright (c) 2023 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License 2.0
+* which accompanies this distribution, and is available at
+* https://www.eclipse.org/legal/epl-2.0/
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+package org.eclipse.jdt.ls.core.internal.syntaxserver;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IOrdinaryClassFile;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.ProjectUtils;
+
+/**
+ * In-memory index of the type names of the syntax server projects, used to
+ * answer type completions without the search engine.
+ *
+ * Type names are stored in a trie keyed by the lower case simple name, so a
+ * prefix lookup only visits the matching types. Member types are indexed by
+ * their own simple name. The index is built once the projects are
+ * initialized, and the source types are updated from the file events. The
+ * package fragment roots added to the classpath and the changed archives are
+ * indexed again in the background.
+ *
+ * Binary types are indexed from the class file names, their modifiers are
+ * read from the class file when they are first requested.
+ */
+public class TypeNameIndex {
+
+	/**
+	 * The maximum number of types reported for a prefix, the shortest names
+	 * first.
+	 */
+	static final int MAX_MATCHES = 1000;
+
+	private static final long INDEX_DELAY = 500L;
+
+	private static final TypeNameIndex INSTANCE = new TypeNameIndex();
+
+	private final Node root = new Node();
+	private final Set<IPath> indexedRoots = new HashSet<>();
+	private final Map<IPath, List<TypeName>> typesByUnit = new HashMap<>();
+	private final Map<IPath, List<TypeName>> binaryTypesByRoot = new HashMap<>();
+	private long generation;
+	private boolean listening;
+
+	private final Job indexJob = new Job("Index type names") {
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			try {
+				build(monitor);
+			} catch (OperationCanceledException e) {
+				return Status.CANCEL_STATUS;
+			}
+			return Status.OK_STATUS;
+		}
+	};
+
+	public static TypeNameIndex getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Indexes the package fragment roots of all the Java projects which aren't
+	 * indexed yet, and starts tracking the classpath changes.
+	 */
+	public void build(IProgressMonitor monitor) {
+		startListening();
+		long start = System.currentTimeMillis();
+		int count = 0;
+		for (IJavaProject javaProject : ProjectUtils.getJavaProjects()) {
+			try {
+				for (IPackageFragmentRoot packageFragmentRoot : javaProject.getAllPackageFragmentRoots()) {
+					if (monitor != null && monitor.isCanceled()) {
+						throw new OperationCanceledException();
+					}
+					if (!isIndexed(packageFragmentRoot)) {
+						count += index(packageFragmentRoot);
+					}
+				}
+			} catch (JavaModelException e) {
+				JavaLanguageServerPlugin.logException("Failed to index the types of " + javaProject.getElementName(), e);
+			}
+		}
+		JavaLanguageServerPlugin.logInfo("Indexed " + count + " type names in " + (System.currentTimeMillis() - start) + "ms");
+	}
+
+	/**
+	 * @return whether the types of the given package fragment root are indexed
+	 */
+	public synchronized boolean isIndexed(IPackageFragmentRoot packageFragmentRoot) {
+		return indexedRoots.contains(packageFragmentRoot.getPath());
+	}
+
+	/**
+	 * Updates the types declared in the given compilation unit.
+	 */
+	public void update(ICompilationUnit unit) {
+		IPackageFragmentRoot packageFragmentRoot = (IPackageFragmentRoot) unit.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+		if (packageFragmentRoot == null || !isIndexed(packageFragmentRoot)) {
+			return;
+		}
+		List<TypeName> types = new ArrayList<>();
+		try {
+			if (unit.exists()) {
+				collectTypes(unit, types);
+			}
+		} catch (JavaModelException e) {
+			// the unit is removed from the index
+		}
+		synchronized (this) {
+			List<TypeName> previous = typesByUnit.remove(unit.getPath());
+			if (previous != null) {
+				previous.forEach(this::remove);
+			}
+			if (!types.isEmpty()) {
+				typesByUnit.put(unit.getPath(), types);
+				types.forEach(this::add);
+			}
+		}
+	}
+
+	/**
+	 * Removes the types declared in the compilation unit at the given path.
+	 */
+	public synchronized void remove(IPath unitPath) {
+		List<TypeName> previous = typesByUnit.remove(unitPath);
+		if (previous != null) {
+			previous.forEach(this::remove);
+		}
+	}
+
+	/**
+	 * Reports the types whose simple name starts with the given prefix, ignoring
+	 * case, and declared in one of the given package fragment roots. At most
+	 * {@link #MAX_MATCHES} types are reported, the shortest names first, so that
+	 * short prefixes don't copy the whole index.
+	 */
+	public void findTypes(String prefix, Collection<IPath> roots, boolean findMembers, Consumer<TypeName> requestor) {
+		List<TypeName> result = new ArrayList<>();
+		synchronized (this) {
+			Node node = root;
+			for (int i = 0; i < prefix.length() && node != null; i++) {
+				node = node.getChild(Character.toLowerCase(prefix.charAt(i)), false);
+			}
+			// breadth first, by name length
+			Queue<Node> queue = new ArrayDeque<>();
+			if (node != null) {
+				queue.add(node);
+			}
+			while (!queue.isEmpty() && result.size() < MAX_MATCHES) {
+				node = queue.poll();
+				for (int i = 0; i < node.typeCount && result.size() < MAX_MATCHES; i++) {
+					TypeName type = node.types[i];
+					if ((findMembers || type.enclosingTypeNames.length == 0) && roots.contains(type.root)) {
+						result.add(type);
+					}
+				}
+				if (node.children != null) {
+					queue.addAll(Arrays.asList(node.children));
+				}
+			}
+		}
+		result.forEach(requestor);
+	}
+
+	private void startListening() {
+		synchronized (this) {
+			if (listening) {
+				return;
+			}
+			listening = true;
+		}
+		IElementChangedListener listener = (ElementChangedEvent event) -> {
+			if (elementChanged(event.getDelta())) {
+				indexJob.schedule(INDEX_DELAY);
+			}
+		};
+		JavaCore.addElementChangedListener(listener, ElementChangedEvent.POST_CHANGE);
+	}
+
+	/**
+	 * Drops the package fragment roots removed from the classpath and the
+	 * changed archives.
+	 *
+	 * @return whether some package fragment roots need to be indexed
+	 */
+	private boolean elementChanged(IJavaElementDelta delta) {
+		IJavaElement element = delta.getElement();
+		int flags = delta.getFlags();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+				return childrenChanged(delta);
+			case IJavaElement.JAVA_PROJECT:
+				if (delta.getKind() == IJavaElementDelta.REMOVED || (flags & IJavaElementDelta.F_CLOSED) != 0) {
+					// the roots of the project aren't reported
+					removeRoots(element.getPath(), true);
+					return false;
+				}
+				boolean classpathChanged = delta.getKind() == IJavaElementDelta.ADDED || (flags & (IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED)) != 0;
+				return childrenChanged(delta) || classpathChanged;
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+				if (delta.getKind() == IJavaElementDelta.REMOVED || (flags & (IJavaElementDelta.F_REMOVED_FROM_CLASSPATH | IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED)) != 0) {
+					removeRoots(element.getPath(), false);
+					return true;
+				}
+				return delta.getKind() == IJavaElementDelta.ADDED || (flags & IJavaElementDelta.F_ADDED_TO_CLASSPATH) != 0;
+			default:
+				return false;
+		}
+	}
+
+	private boolean childrenChanged(IJavaElementDelta delta) {
+		boolean changed = false;
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			changed |= elementChanged(child);
+		}
+		return changed;
+	}
+
+	/**
+	 * Removes the types of the given package fragment root, or of all the
+	 * package fragment roots under the given path.
+	 */
+	private synchronized void removeRoots(IPath path, boolean prefix) {
+		generation++;
+		Iterator<IPath> roots = indexedRoots.iterator();
+		while (roots.hasNext()) {
+			IPath rootPath = roots.next();
+			if (prefix ? path.isPrefixOf(rootPath) : path.equals(rootPath)) {
+				roots.remove();
+				List<TypeName> binaryTypes = binaryTypesByRoot.remove(rootPath);
+				if (binaryTypes != null) {
+					binaryTypes.forEach(this::remove);
+				}
+			}
+		}
+		Iterator<List<TypeName>> units = typesByUnit.values().iterator();
+		while (units.hasNext()) {
+			List<TypeName> types = units.next();
+			IPath rootPath = types.get(0).root;
+			if (prefix ? path.isPrefixOf(rootPath) : path.equals(rootPath)) {
+				units.remove();
+				types.forEach(this::remove);
+			}
+		}
+	}
+
+	private int index(IPackageFragmentRoot packageFragmentRoot) throws JavaModelException {
+		long currentGeneration;
+		synchronized (this) {
+			currentGeneration = generation;
+		}
+		Map<IPath, List<TypeName>> types = new HashMap<>();
+		List<TypeName> binaryTypes = new ArrayList<>();
+		boolean isSource = packageFragmentRoot.getKind() == IPackageFragmentRoot.K_SOURCE;
+		for (IJavaElement child : packageFragmentRoot.getChildren()) {
+			if (!(child instanceof IPackageFragment fragment)) {
+				continue;
+			}
+			if (isSource) {
+				for (ICompilationUnit unit : fragment.getCompilationUnits()) {
+					List<TypeName> unitTypes = new ArrayList<>();
+					try {
+						collectTypes(unit, unitTypes);
+					} catch (JavaModelException e) {
+						continue;
+					}
+					if (!unitTypes.isEmpty()) {
+						types.put(unit.getPath(), unitTypes);
+					}
+				}
+			} else {
+				char[] packageName = fragment.getElementName().toCharArray();
+				for (IOrdinaryClassFile classFile : fragment.getOrdinaryClassFiles()) {
+					// names only, the class files are read on demand
+					TypeName type = createBinaryTypeName(packageName, classFile.getElementName(), fragment);
+					if (type != null) {
+						binaryTypes.add(type);
+					}
+				}
+			}
+		}
+		int count = binaryTypes.size();
+		synchronized (this) {
+			// the root may be changed while being read, it is indexed again
+			if (generation != currentGeneration || !indexedRoots.add(packageFragmentRoot.getPath())) {
+				return 0;
+			}
+			if (!binaryTypes.isEmpty()) {
+				binaryTypesByRoot.put(packageFragmentRoot.getPath(), binaryTypes);
+				binaryTypes.forEach(this::add);
+			}
+			for (Map.Entry<IPath, List<TypeName>> entry : types.entrySet()) {
+				typesByUnit.put(entry.getKey(), entry.getValue());
+				entry.getValue().forEach(this::add);
+				count += entry.getValue().size();
+			}
+		}
+		return count;
+	}
+
+	private static void collectTypes(ICompilationUnit unit, List<TypeName> result) throws JavaModelException {
+		IPackageFragmentRoot packageFragmentRoot = (IPackageFragmentRoot) unit.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+		char[] packageName = unit.getParent().getElementName().toCharArray();
+		for (IType type : unit.getAllTypes()) {
+			if (type.isAnonymous() || type.isLocal()) {
+				continue;
+			}
+			List<char[]> enclosingTypeNames = new ArrayList<>();
+			for (IType declaringType = type.getDeclaringType(); declaringType != null; declaringType = declaringType.getDeclaringType()) {
+				enclosingTypeNames.add(0, declaringType.getElementName().toCharArray());
+			}
+			result.add(new TypeName(packageName, type.getElementName().toCharArray(), enclosingTypeNames.toArray(new char[0][]), type.getFlags(), packageFragmentRoot.getPath(), unit.getPath(), null));
+		}
+	}
+
+	static TypeName createBinaryTypeName(char[] packageName, String classFileName, IPackageFragment fragment) {
+		String name = classFileName.endsWith(".class") ? classFileName.substring(0, classFileName.length() - ".class".length()) : classFileName;
+		if (name.equals("module-info") || name.equals("package-info")) {
+			return null;
+		}
+		String[] segments = name.split("\\$");
+		for (String segment : segments) {
+			// anonymous and local types
+			if (segment.isEmpty() || Character.isDigit(segment.charAt(0))) {
+				return null;
+			}
+		}
+		char[][] enclosingTypeNames = new char[segments.length - 1][];
+		for (int i = 0; i < enclosingTypeNames.length; i++) {
+			enclosingTypeNames[i] = segments[i].toCharArray();
+		}
+		IPath root = fragment.getParent().getPath();
+		return new TypeName(packageName, segments[segments.length - 1].toCharArray(), enclosingTypeNames, TypeName.UNKNOWN_MODIFIERS, root, null, fragment);
+	}
+
+	private void add(TypeName type) {
+		Node node = root;
+		for (char c : type.simpleName) {
+			node = node.getChild(Character.toLowerCase(c), true);
+		}
+		node.add(type);
+	}
+
+	private void remove(TypeName type) {
+		Node node = root;
+		for (int i = 0; i < type.simpleName.length && node != null; i++) {
+			node = node.getChild(Character.toLowerCase(type.simpleName[i]), false);
+		}
+		if (node != null) {
+			node.remove(type);
+		}
+	}
+
+	/**
+	 * Waits for the package fragment roots being indexed in the background, for
+	 * test purpose only.
+	 */
+	void join() throws InterruptedException {
+		indexJob.join();
+	}
+
+	/**
+	 * Clears the index, for test purpose only.
+	 */
+	synchronized void clear() {
+		root.children = null;
+		root.keys = null;
+		root.types = null;
+		root.typeCount = 0;
+		indexedRoots.clear();
+		typesByUnit.clear();
+		binaryTypesByRoot.clear();
+		generation++;
+	}
+
+	public static final class TypeName {
+		private static final int UNKNOWN_MODIFIERS = -1;
+
+		public final char[] packageName;
+		public final char[] simpleName;
+		public final char[][] enclosingTypeNames;
+		public final IPath root;
+		/**
+		 * The path of the declaring compilation unit, <code>null</code> for binary types.
+		 */
+		public final IPath unitPath;
+		/**
+		 * The package fragment of a binary type, <code>null</code> for source types.
+		 */
+		private final IPackageFragment packageFragment;
+		private volatile int modifiers;
+
+		TypeName(char[] packageName, char[] simpleName, char[][] enclosingTypeNames, int modifiers, IPath root, IPath unitPath, IPackageFragment packageFragment) {
+			this.packageName = packageName;
+			this.simpleName = simpleName;
+			this.enclosingTypeNames = enclosingTypeNames;
+			this.modifiers = modifiers;
+			this.root = root;
+			this.unitPath = unitPath;
+			this.packageFragment = packageFragment;
+		}
+
+		/**
+		 * Returns the modifiers of the type, as defined by {@link ClassFileConstants}.
+		 * The modifiers of a binary type are read from its class file the first
+		 * time.
+		 */
+		public int getModifiers() {
+			int result = modifiers;
+			if (result == UNKNOWN_MODIFIERS) {
+				result = readModifiers();
+				modifiers = result;
+			}
+			return result;
+		}
+
+		private int readModifiers() {
+			StringBuilder fileName = new StringBuilder();
+			for (char[] enclosingTypeName : enclosingTypeNames) {
+				fileName.append(enclosingTypeName).append('$');
+			}
+			fileName.append(simpleName).append(".class");
+			try {
+				IOrdinaryClassFile classFile = packageFragment.getOrdinaryClassFile(fileName.toString());
+				return new ClassFileReader(classFile.getBytes(), fileName.toString().toCharArray()).getModifiers();
+			} catch (JavaModelException | ClassFormatException e) {
+				// assume the type is visible, like the model lookup without the class file
+				return ClassFileConstants.AccPublic;
+			}
+		}
+
+		/**
+		 * @return the name of the type qualified by its enclosing types, without package
+		 */
+		public String getTypeQualifiedName() {
+			StringBuilder builder = new StringBuilder();
+			for (char[] enclosingTypeName : enclosingTypeNames) {
+				builder.append(enclosingTypeName).append('.');
+			}
+			return builder.append(simpleName).toString();
+		}
+	}
+
+	private static final class Node {
+		private char[] keys;
+		private Node[] children;
+		private TypeName[] types;
+		private int typeCount;
+
+		private Node getChild(char key, boolean create) {
+			int index = keys == null ? -1 : Arrays.binarySearch(keys, key);
+			if (index >= 0) {
+				return children[index];
+			}
+			if (!create) {
+				return null;
+			}
+			int insertion = keys == null ? 0 : -index - 1;
+			int length = keys == null ? 0 : keys.length;
+			char[] newKeys = new char[length + 1];
+			Node[] newChildren = new Node[length + 1];
+			if (length > 0) {
+				System.arraycopy(keys, 0, newKeys, 0, insertion);
+				System.arraycopy(keys, insertion, newKeys, insertion + 1, length - insertion);
+				System.arraycopy(children, 0, newChildren, 0, insertion);
+				System.arraycopy(children, insertion, newChildren, insertion + 1, length - insertion);
+			}
+			Node child = new Node();
+			newKeys[insertion] = key;
+			newChildren[insertion] = child;
+			keys = newKeys;
+			children = newChildren;
+			return child;
+		}
+
+		private void add(TypeName type) {
+			if (types == null) {
+				types = new TypeName[1];
+			} else if (typeCount == types.length) {
+				types = Arrays.copyOf(types, typeCount * 2);
+			}
+			types[typeCount++] = type;
+		}
+
+		private void remove(TypeName type) {
+			for (int i = 0; i < typeCount; i++) {
+				if (types[i] == type) {
+					System.arraycopy(types, i + 1, types, i, typeCount - i - 1);
+					types[--typeCount] = null;
+					return;
+				}
+			}
+		}
+	}
+}
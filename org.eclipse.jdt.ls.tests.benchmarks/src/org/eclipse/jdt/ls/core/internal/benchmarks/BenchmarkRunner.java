@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.benchmarks;
+
+import static org.junit.Assert.assertFalse;
+
+import java.io.File;
+import java.util.Collection;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.JavaCore;
+import org.junit.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks from the test runtime, and writes the results as
+ * JSON so that builds can be compared.
+ *
+ * The benchmarks need the OSGi runtime and the workspace, so they can't be
+ * forked into a new JVM, they run in the JVM of the tests instead.
+ */
+public class BenchmarkRunner {
+
+	@Test
+	public void runBenchmarks() throws Exception {
+		String include = System.getProperty("jdt.ls.benchmarks.include", ".*");
+		if (include.isBlank()) {
+			return;
+		}
+		JavaCore.initializeAfterLoad(new NullProgressMonitor());
+		File result = new File(System.getProperty("jdt.ls.benchmarks.result", "target/jmh-result.json"));
+		result.getParentFile().mkdirs();
+		Options options = new OptionsBuilder()
+				.include(include)
+				.forks(0)
+				.warmupIterations(Integer.getInteger("jdt.ls.benchmarks.warmupIterations", 5))
+				.measurementIterations(Integer.getInteger("jdt.ls.benchmarks.iterations", 10))
+				.resultFormat(ResultFormatType.JSON)
+				.result(result.getAbsolutePath())
+				.shouldFailOnError(true)
+				.build();
+		Collection<RunResult> results = new Runner(options).run();
+		assertFalse("No benchmark was run", results.isEmpty());
+	}
+}
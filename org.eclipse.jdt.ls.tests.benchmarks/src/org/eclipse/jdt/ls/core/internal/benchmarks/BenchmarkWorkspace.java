@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.WorkingCopyOwner;
+import org.eclipse.jdt.ls.core.internal.DocumentAdapter;
+import org.eclipse.jdt.ls.core.internal.JavaClientConnection;
+import org.eclipse.jdt.ls.core.internal.JavaClientConnection.JavaLanguageClient;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.JobHelpers;
+import org.eclipse.jdt.ls.core.internal.ResourceUtils;
+import org.eclipse.jdt.ls.core.internal.handlers.DocumentLifeCycleHandler;
+import org.eclipse.jdt.ls.core.internal.managers.ProjectsManager;
+import org.eclipse.jdt.ls.core.internal.managers.StandardProjectsManager;
+import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
+import org.eclipse.jdt.ls.core.internal.preferences.Preferences;
+import org.eclipse.jdt.ls.core.internal.preferences.StandardPreferenceManager;
+import org.eclipse.lsp4j.ClientCapabilities;
+import org.eclipse.lsp4j.DidCloseTextDocumentParams;
+import org.eclipse.lsp4j.DidOpenTextDocumentParams;
+import org.eclipse.lsp4j.TextDocumentClientCapabilities;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.eclipse.lsp4j.TextDocumentItem;
+import org.eclipse.lsp4j.WorkspaceClientCapabilities;
+
+/**
+ * Imports the test projects of <code>org.eclipse.jdt.ls.tests</code>, or
+ * generated projects, into the workspace of the benchmarks, the same way the
+ * language server does.
+ */
+public class BenchmarkWorkspace {
+
+	private final StandardPreferenceManager preferenceManager;
+	private final StandardProjectsManager projectsManager;
+	private final JavaClientConnection connection;
+	private final DocumentLifeCycleHandler lifeCycleHandler;
+	private final File workingDirectory;
+	private PreferenceManager oldPreferenceManager;
+
+	public BenchmarkWorkspace() throws IOException, CoreException {
+		workingDirectory = Files.createTempDirectory("jdtls-benchmarks").toFile();
+		// the builds are triggered by the benchmarks
+		ProjectsManager.setAutoBuilding(false);
+		preferenceManager = new StandardPreferenceManager();
+		preferenceManager.updateClientPrefences(new ClientCapabilities(new WorkspaceClientCapabilities(), new TextDocumentClientCapabilities(), null), Collections.emptyMap());
+		projectsManager = new StandardProjectsManager(preferenceManager);
+		JavaLanguageClient client = (JavaLanguageClient) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[] { JavaLanguageClient.class }, (proxy, method, args) -> null);
+		connection = new JavaClientConnection(client);
+		lifeCycleHandler = new DocumentLifeCycleHandler(connection, preferenceManager, projectsManager, false);
+	}
+
+	/**
+	 * Imports the given projects, relative to the <code>projects</code> folder of
+	 * the tests, and waits for the initial build.
+	 */
+	public List<IProject> importProjects(String... paths) throws Exception {
+		List<IPath> roots = new ArrayList<>();
+		for (String path : paths) {
+			File to = new File(workingDirectory, path);
+			FileUtils.copyDirectory(new File(getSourceProjectDirectory(), path), to);
+			roots.add(Path.fromOSString(to.getAbsolutePath()));
+		}
+		return importRoots(roots, Collections.emptyList());
+	}
+
+	/**
+	 * Imports the projects found in the given folders and waits for the initial
+	 * build.
+	 *
+	 * @param triggerFiles
+	 *            the files opened by the client, required to import invisible
+	 *            projects
+	 */
+	public List<IProject> importRoots(Collection<IPath> roots, Collection<IPath> triggerFiles) throws Exception {
+		initialize(roots, triggerFiles);
+		IWorkspaceRunnable runnable = monitor -> projectsManager.initializeProjects(roots, monitor);
+		JavaCore.run(runnable, null, new NullProgressMonitor());
+		waitForBackgroundJobs();
+		List<IProject> projects = new ArrayList<>();
+		Collections.addAll(projects, ResourcesPlugin.getWorkspace().getRoot().getProjects());
+		return projects;
+	}
+
+	/**
+	 * Opens the given file of an imported project, as a client would.
+	 *
+	 * @return the uri of the document
+	 */
+	public String open(String project, String file) throws Exception {
+		File source = new File(new File(workingDirectory, project), file);
+		String uri = ResourceUtils.fixURI(source.toURI());
+		TextDocumentItem textDocument = new TextDocumentItem(uri, "java", 1, FileUtils.readFileToString(source, "UTF-8"));
+		lifeCycleHandler.didOpen(new DidOpenTextDocumentParams(textDocument));
+		waitForBackgroundJobs();
+		return uri;
+	}
+
+	public void close(String uri) throws Exception {
+		lifeCycleHandler.didClose(new DidCloseTextDocumentParams(new TextDocumentIdentifier(uri)));
+		waitForBackgroundJobs();
+	}
+
+	/**
+	 * @return the temporary folder the projects are imported from
+	 */
+	public File getWorkingDirectory() {
+		return workingDirectory;
+	}
+
+	public PreferenceManager getPreferenceManager() {
+		return preferenceManager;
+	}
+
+	public StandardProjectsManager getProjectsManager() {
+		return projectsManager;
+	}
+
+	public JavaClientConnection getConnection() {
+		return connection;
+	}
+
+	public DocumentLifeCycleHandler getLifeCycleHandler() {
+		return lifeCycleHandler;
+	}
+
+	/**
+	 * Deletes the imported projects and restores the preferences.
+	 */
+	public void dispose() throws Exception {
+		for (ICompilationUnit unit : JavaCore.getWorkingCopies(null)) {
+			unit.discardWorkingCopy();
+		}
+		waitForBackgroundJobs();
+		for (IProject project : ResourcesPlugin.getWorkspace().getRoot().getProjects()) {
+			try {
+				project.delete(true, true, new NullProgressMonitor());
+			} catch (CoreException e) {
+				JavaLanguageServerPlugin.logException(e);
+			}
+		}
+		JavaLanguageServerPlugin.setPreferencesManager(oldPreferenceManager);
+		FileUtils.deleteQuietly(workingDirectory);
+	}
+
+	private void initialize(Collection<IPath> roots, Collection<IPath> triggerFiles) {
+		Preferences preferences = new Preferences();
+		preferences.setRootPaths(roots);
+		preferences.setTriggerFiles(triggerFiles);
+		preferenceManager.update(preferences);
+		oldPreferenceManager = JavaLanguageServerPlugin.getPreferencesManager();
+		JavaLanguageServerPlugin.setPreferencesManager(preferenceManager);
+		WorkingCopyOwner.setPrimaryBufferProvider(new WorkingCopyOwner() {
+			@Override
+			public IBuffer createBuffer(ICompilationUnit workingCopy) {
+				IResource resource = workingCopy.getPrimary().getResource();
+				if (resource instanceof IFile file) {
+					return new DocumentAdapter(workingCopy, file);
+				}
+				return DocumentAdapter.Null;
+			}
+		});
+	}
+
+	private static File getSourceProjectDirectory() {
+		// the benchmarks run from their own module directory
+		return new File(System.getProperty("jdt.ls.benchmarks.projects", "../org.eclipse.jdt.ls.tests/projects"));
+	}
+
+	private static void waitForBackgroundJobs() throws Exception {
+		JobHelpers.waitForJobsToComplete(new NullProgressMonitor());
+		JobHelpers.waitUntilIndexesReady();
+	}
+}
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.manipulation.CoreASTProvider;
+import org.eclipse.jdt.ls.core.internal.ASTCache;
+import org.eclipse.jdt.ls.core.internal.JDTUtils;
+import org.eclipse.jdt.ls.core.internal.handlers.CompletionHandler;
+import org.eclipse.jdt.ls.core.internal.handlers.FoldingRangeHandler;
+import org.eclipse.jdt.ls.core.internal.handlers.JsonRpcHelpers;
+import org.eclipse.jdt.ls.core.internal.handlers.SemanticTokensHandler;
+import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.CompletionList;
+import org.eclipse.lsp4j.CompletionParams;
+import org.eclipse.lsp4j.FoldingRange;
+import org.eclipse.lsp4j.FoldingRangeRequestParams;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.SemanticTokens;
+import org.eclipse.lsp4j.SemanticTokensParams;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmarks the requests computed on an opened document. The ASTs are
+ * discarded before each request, as they are after an edit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DocumentBenchmarks {
+
+	@Param({ "maven/salut" })
+	public String project;
+
+	@Param({ "src/main/java/java/Foo.java" })
+	public String file;
+
+	/**
+	 * The completion is requested right after the last occurrence of this text.
+	 */
+	@Param({ "System.out." })
+	public String completionTrigger;
+
+	private BenchmarkWorkspace workspace;
+	private TextDocumentIdentifier textDocument;
+	private CompletionParams completionParams;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		workspace = new BenchmarkWorkspace();
+		workspace.importProjects(project);
+		String uri = workspace.open(project, file);
+		textDocument = new TextDocumentIdentifier(uri);
+		ICompilationUnit unit = JDTUtils.resolveCompilationUnit(uri);
+		int offset = unit.getSource().lastIndexOf(completionTrigger);
+		if (offset < 0) {
+			throw new IllegalArgumentException(completionTrigger + " not found in " + file);
+		}
+		int[] position = JsonRpcHelpers.toLine(unit.getBuffer(), offset + completionTrigger.length());
+		completionParams = new CompletionParams(textDocument, new Position(position[0], position[1]));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		workspace.dispose();
+	}
+
+	@Benchmark
+	public Either<List<CompletionItem>, CompletionList> completion() {
+		disposeASTs();
+		return new CompletionHandler(workspace.getPreferenceManager()).completion(completionParams, new NullProgressMonitor());
+	}
+
+	@Benchmark
+	public SemanticTokens semanticTokens() {
+		disposeASTs();
+		return SemanticTokensHandler.full(new NullProgressMonitor(), new SemanticTokensParams(textDocument), workspace.getLifeCycleHandler().new DocumentMonitor(textDocument.getUri()));
+	}
+
+	@Benchmark
+	public IStatus publishDiagnostics() throws Exception {
+		disposeASTs();
+		return workspace.getLifeCycleHandler().publishDiagnostics(new NullProgressMonitor());
+	}
+
+	@Benchmark
+	public List<FoldingRange> foldingRange() {
+		return new FoldingRangeHandler().foldingRange(new FoldingRangeRequestParams(textDocument), new NullProgressMonitor());
+	}
+
+	private static void disposeASTs() {
+		ASTCache.getInstance().invalidate();
+		CoreASTProvider.getInstance().disposeAST();
+	}
+}
@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.benchmarks;
+
+import static org.junit.Assert.assertFalse;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Map;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.junit.Test;
+
+import com.google.gson.GsonBuilder;
+
+/**
+ * Replays the session given by the <code>jdt.ls.replay.session</code> system
+ * property, and writes the latency percentiles of each method as JSON.
+ */
+public class ReplayRunner {
+
+	@Test
+	public void runReplay() throws Exception {
+		String session = System.getProperty("jdt.ls.replay.session", "");
+		if (session.isBlank()) {
+			return;
+		}
+		JavaCore.initializeAfterLoad(new NullProgressMonitor());
+		BenchmarkWorkspace workspace = new BenchmarkWorkspace();
+		try {
+			SessionReplay replay = new SessionReplay(Paths.get(session))
+					.setSpeed(Double.parseDouble(System.getProperty("jdt.ls.replay.speed", "1")))
+					.setUriRewrite(System.getProperty("jdt.ls.replay.uriPrefix"), System.getProperty("jdt.ls.replay.uriReplacement"));
+			Map<String, Object> report = replay.replay(workspace);
+			assertFalse("No request was replayed", report.isEmpty());
+			File result = new File(System.getProperty("jdt.ls.replay.result", "target/replay-result.json"));
+			result.getParentFile().mkdirs();
+			Files.writeString(result.toPath(), new GsonBuilder().setPrettyPrinting().create().toJson(report), StandardCharsets.UTF_8);
+			JavaLanguageServerPlugin.logInfo("Replay results written to " + result.getAbsolutePath());
+		} finally {
+			workspace.dispose();
+		}
+	}
+}
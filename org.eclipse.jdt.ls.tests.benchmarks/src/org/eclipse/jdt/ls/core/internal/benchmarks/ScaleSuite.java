@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.benchmarks;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.resources.IncrementalProjectBuilder;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.JobHelpers;
+import org.eclipse.jdt.ls.core.internal.benchmarks.WorkspaceGenerator.GeneratedWorkspace;
+import org.eclipse.jdt.ls.core.internal.benchmarks.WorkspaceGenerator.Kind;
+import org.eclipse.jdt.ls.core.internal.handlers.WorkspaceDiagnosticsHandler;
+import org.junit.Test;
+
+import com.google.gson.GsonBuilder;
+
+/**
+ * Measures the import, the first build, the workspace diagnostics and the
+ * memory footprint on generated workspaces of increasing sizes, and writes the
+ * growth curves as JSON.
+ *
+ * The growth of a measure between two sizes is its ratio divided by the ratio
+ * of the sizes, so 1 means it grows linearly with the number of files.
+ */
+public class ScaleSuite {
+
+	@Test
+	public void runScaleSuite() throws Exception {
+		String sizes = System.getProperty("jdt.ls.scale.sizes", "1000,10000,50000");
+		if (sizes.isBlank()) {
+			return;
+		}
+		JavaCore.initializeAfterLoad(new NullProgressMonitor());
+		Kind kind = Kind.valueOf(System.getProperty("jdt.ls.scale.kind", Kind.MAVEN.name()));
+		int modules = Integer.getInteger("jdt.ls.scale.modules", 10);
+		List<Map<String, Object>> measures = new ArrayList<>();
+		for (String size : sizes.split(",")) {
+			measures.add(measure(kind, Integer.parseInt(size.trim()), modules));
+		}
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("kind", kind.name());
+		report.put("modules", modules);
+		report.put("measures", measures);
+		report.put("growth", getGrowth(measures));
+		File result = new File(System.getProperty("jdt.ls.scale.result", "target/scale-result.json"));
+		result.getParentFile().mkdirs();
+		Files.writeString(result.toPath(), new GsonBuilder().setPrettyPrinting().create().toJson(report), StandardCharsets.UTF_8);
+		JavaLanguageServerPlugin.logInfo("Scale suite results written to " + result.getAbsolutePath());
+	}
+
+	private Map<String, Object> measure(Kind kind, int files, int modules) throws Exception {
+		BenchmarkWorkspace workspace = new BenchmarkWorkspace();
+		try {
+			GeneratedWorkspace generated = new WorkspaceGenerator().setKind(kind).setTypeCount(files).setModuleCount(modules).generate(workspace.getWorkingDirectory());
+			long heapBefore = getUsedHeap();
+
+			long start = System.nanoTime();
+			workspace.importRoots(Collections.singleton(generated.getRoot()), generated.getSourceFiles().subList(0, 1));
+			long initializeProjects = elapsedMillis(start);
+
+			start = System.nanoTime();
+			ResourcesPlugin.getWorkspace().build(IncrementalProjectBuilder.FULL_BUILD, new NullProgressMonitor());
+			JobHelpers.waitForJobsToComplete(new NullProgressMonitor());
+			long firstBuild = elapsedMillis(start);
+
+			start = System.nanoTime();
+			WorkspaceDiagnosticsHandler handler = new WorkspaceDiagnosticsHandler(workspace.getConnection(), workspace.getProjectsManager(), workspace.getPreferenceManager().getClientPreferences());
+			handler.publishDiagnostics(new NullProgressMonitor());
+			long publishDiagnostics = elapsedMillis(start);
+
+			long heap = Math.max(0, getUsedHeap() - heapBefore);
+
+			Map<String, Object> measure = new LinkedHashMap<>();
+			measure.put("files", files);
+			measure.put("initializeProjectsMillis", initializeProjects);
+			measure.put("firstBuildMillis", firstBuild);
+			measure.put("publishDiagnosticsMillis", publishDiagnostics);
+			measure.put("heapMegabytes", heap / (1024 * 1024));
+			JavaLanguageServerPlugin.logInfo("Scale suite: " + measure);
+			return measure;
+		} finally {
+			workspace.dispose();
+		}
+	}
+
+	private static List<Map<String, Object>> getGrowth(List<Map<String, Object>> measures) {
+		List<Map<String, Object>> growth = new ArrayList<>();
+		for (int i = 1; i < measures.size(); i++) {
+			Map<String, Object> previous = measures.get(i - 1);
+			Map<String, Object> current = measures.get(i);
+			double sizeRatio = ((Number) current.get("files")).doubleValue() / ((Number) previous.get("files")).doubleValue();
+			Map<String, Object> entry = new LinkedHashMap<>();
+			entry.put("from", previous.get("files"));
+			entry.put("to", current.get("files"));
+			for (String key : current.keySet()) {
+				if (key.equals("files")) {
+					continue;
+				}
+				double from = Math.max(1, ((Number) previous.get(key)).doubleValue());
+				double to = ((Number) current.get(key)).doubleValue();
+				entry.put(key, Math.round(to / from / sizeRatio * 100) / 100.0);
+			}
+			growth.add(entry);
+		}
+		return growth;
+	}
+
+	private static long getUsedHeap() {
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+	}
+
+	private static long elapsedMillis(long start) {
+		return (System.nanoTime() - start) / 1_000_000;
+	}
+}
@@ -0,0 +1,340 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.ls.core.internal.JavaClientConnection.JavaLanguageClient;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.SessionRecorder;
+import org.eclipse.jdt.ls.core.internal.handlers.JDTLanguageServer;
+import org.eclipse.lsp4j.jsonrpc.Launcher;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseErrorCode;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Replays a session recorded by {@link SessionRecorder} against an in-process
+ * {@link JDTLanguageServer}, and measures the latency of the requests.
+ *
+ * The messages sent by the client are replayed with their original timing,
+ * scaled by the speed factor, or as fast as possible if the speed is 0. The
+ * requests sent by the server are answered with the response recorded for the
+ * same method, if any. The <code>shutdown</code> and <code>exit</code>
+ * messages aren't replayed, so that the test runtime keeps running.
+ *
+ * The server is connected through a loopback socket, since its messages are
+ * written by the threads of the request executor, which may end before the
+ * replay reads them.
+ */
+public class SessionReplay {
+
+	private static final String CANCEL_REQUEST = "$/cancelRequest";
+	private static final Set<String> SKIPPED_METHODS = Set.of("shutdown", "exit");
+
+	private final List<JsonObject> entries;
+	private String uriPrefix;
+	private String replacementPrefix;
+	private double speed = 1;
+	private long timeout = TimeUnit.MINUTES.toMillis(1);
+
+	private final Map<String, PendingRequest> pending = new ConcurrentHashMap<>();
+	private final Map<String, List<Long>> latencies = new ConcurrentHashMap<>();
+	private final Map<String, Integer> cancellations = new ConcurrentHashMap<>();
+	private final Map<String, JsonElement> clientResponses = new HashMap<>();
+	private OutputStream serverInput;
+	private volatile boolean closed;
+	private volatile Exception readError;
+
+	public SessionReplay(Path session) throws IOException {
+		this.entries = new ArrayList<>();
+		for (String line : Files.readAllLines(session, StandardCharsets.UTF_8)) {
+			if (!line.isBlank()) {
+				entries.add(JsonParser.parseString(line).getAsJsonObject());
+			}
+		}
+	}
+
+	/**
+	 * Rewrites the URIs starting with the given prefix, to replay the session
+	 * against a copy of the recorded workspace.
+	 */
+	public SessionReplay setUriRewrite(String uriPrefix, String replacementPrefix) {
+		this.uriPrefix = uriPrefix;
+		this.replacementPrefix = replacementPrefix;
+		return this;
+	}
+
+	/**
+	 * @param speed
+	 *            the factor applied to the recorded timing, 2 replays twice as
+	 *            fast, 0 sends the messages as fast as possible
+	 */
+	public SessionReplay setSpeed(double speed) {
+		this.speed = Math.max(0, speed);
+		return this;
+	}
+
+	/**
+	 * @param timeout
+	 *            how long to wait for the pending responses after the last
+	 *            message, in milliseconds
+	 */
+	public SessionReplay setTimeout(long timeout) {
+		this.timeout = timeout;
+		return this;
+	}
+
+	/**
+	 * Replays the session and returns, for each method, the number of requests,
+	 * the cancellation rate and the latency percentiles in milliseconds.
+	 *
+	 * @throws IOException
+	 *             if the messages of the server couldn't be read
+	 */
+	public Map<String, Object> replay(BenchmarkWorkspace workspace) throws Exception {
+		collectClientResponses();
+		closed = false;
+		readError = null;
+		InetAddress loopback = InetAddress.getLoopbackAddress();
+		try (ServerSocket serverSocket = new ServerSocket(0, 1, loopback);
+				Socket clientSocket = new Socket(loopback, serverSocket.getLocalPort());
+				Socket socket = serverSocket.accept()) {
+			serverInput = clientSocket.getOutputStream();
+			JDTLanguageServer server = new JDTLanguageServer(workspace.getProjectsManager(), workspace.getPreferenceManager());
+			Launcher<JavaLanguageClient> launcher = Launcher.createLauncher(server, JavaLanguageClient.class, socket.getInputStream(), socket.getOutputStream());
+			server.connectClient(launcher.getRemoteProxy());
+			Future<Void> listening = launcher.startListening();
+			InputStream clientInput = clientSocket.getInputStream();
+			Thread reader = new Thread(() -> readServerMessages(clientInput), "Session replay reader");
+			reader.setDaemon(true);
+			reader.start();
+			try {
+				sendClientMessages();
+				long deadline = System.currentTimeMillis() + timeout;
+				while (!pending.isEmpty() && readError == null && System.currentTimeMillis() < deadline) {
+					Thread.sleep(50);
+				}
+				if (!pending.isEmpty() && readError == null) {
+					JavaLanguageServerPlugin.logInfo("Session replay: " + pending.size() + " requests without response");
+				}
+			} finally {
+				closed = true;
+				listening.cancel(true);
+			}
+		}
+		if (readError != null) {
+			throw new IOException("Failed to read the messages of the server", readError);
+		}
+		return getReport();
+	}
+
+	private void collectClientResponses() {
+		Map<String, String> serverRequests = new HashMap<>();
+		for (JsonObject entry : entries) {
+			JsonObject message = entry.getAsJsonObject("message");
+			if (!message.has("id")) {
+				continue;
+			}
+			String id = message.get("id").toString();
+			if (SessionRecorder.OUT.equals(getDirection(entry)) && message.has("method")) {
+				serverRequests.put(id, message.get("method").getAsString());
+			} else if (SessionRecorder.IN.equals(getDirection(entry)) && !message.has("method")) {
+				String method = serverRequests.remove(id);
+				if (method != null && message.has("result")) {
+					clientResponses.putIfAbsent(method, message.get("result"));
+				}
+			}
+		}
+	}
+
+	private void sendClientMessages() throws IOException, InterruptedException {
+		long start = System.currentTimeMillis();
+		long firstTime = -1;
+		for (JsonObject entry : entries) {
+			JsonObject message = entry.getAsJsonObject("message");
+			if (!SessionRecorder.IN.equals(getDirection(entry)) || !message.has("method")) {
+				// the server requests are answered as they come
+				continue;
+			}
+			String method = message.get("method").getAsString();
+			if (SKIPPED_METHODS.contains(method)) {
+				continue;
+			}
+			long time = entry.get("time").getAsLong();
+			if (firstTime < 0) {
+				firstTime = time;
+			}
+			if (speed > 0) {
+				long delay = start + (long) ((time - firstTime) / speed) - System.currentTimeMillis();
+				if (delay > 0) {
+					Thread.sleep(delay);
+				}
+			}
+			if (message.has("id")) {
+				pending.put(message.get("id").toString(), new PendingRequest(method, System.nanoTime()));
+			} else if (CANCEL_REQUEST.equals(method) && message.has("params")) {
+				PendingRequest request = pending.get(message.getAsJsonObject("params").get("id").toString());
+				if (request != null) {
+					request.cancelled = true;
+				}
+			}
+			send(rewriteUris(message.toString()));
+		}
+	}
+
+	private void readServerMessages(InputStream input) {
+		try {
+			JsonObject message;
+			while ((message = readMessage(input)) != null) {
+				if (!message.has("id")) {
+					continue;
+				}
+				if (message.has("method")) {
+					JsonObject response = new JsonObject();
+					response.addProperty("jsonrpc", "2.0");
+					response.add("id", message.get("id"));
+					response.add("result", clientResponses.getOrDefault(message.get("method").getAsString(), JsonNull.INSTANCE));
+					send(response.toString());
+					continue;
+				}
+				PendingRequest request = pending.remove(message.get("id").toString());
+				if (request == null) {
+					continue;
+				}
+				long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - request.start);
+				latencies.computeIfAbsent(request.method, k -> Collections.synchronizedList(new ArrayList<>())).add(latency);
+				boolean cancelled = request.cancelled;
+				if (message.has("error")) {
+					JsonElement code = message.getAsJsonObject("error").get("code");
+					cancelled |= code != null && code.getAsInt() == ResponseErrorCode.RequestCancelled.getValue();
+				}
+				if (cancelled) {
+					cancellations.merge(request.method, 1, Integer::sum);
+				}
+			}
+			if (!closed) {
+				readError = new IOException("The server closed the connection");
+			}
+		} catch (IOException | RuntimeException e) {
+			// the sockets are closed at the end of the replay
+			if (!closed) {
+				readError = e;
+				JavaLanguageServerPlugin.logException("Session replay: failed to read the messages of the server", e);
+			}
+		}
+	}
+
+	private synchronized void send(String content) throws IOException {
+		byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+		serverInput.write(("Content-Length: " + bytes.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+		serverInput.write(bytes);
+		serverInput.flush();
+	}
+
+	private static JsonObject readMessage(InputStream input) throws IOException {
+		int contentLength = -1;
+		String header;
+		while ((header = readLine(input)) != null && !header.isEmpty()) {
+			int separator = header.indexOf(':');
+			if (separator > 0 && header.substring(0, separator).trim().equalsIgnoreCase("Content-Length")) {
+				contentLength = Integer.parseInt(header.substring(separator + 1).trim());
+			}
+		}
+		if (header == null || contentLength < 0) {
+			return null;
+		}
+		byte[] content = input.readNBytes(contentLength);
+		return JsonParser.parseString(new String(content, StandardCharsets.UTF_8)).getAsJsonObject();
+	}
+
+	private static String readLine(InputStream input) throws IOException {
+		ByteArrayOutputStream line = new ByteArrayOutputStream();
+		int c;
+		while ((c = input.read()) != -1) {
+			if (c == '\n') {
+				return line.toString(StandardCharsets.US_ASCII).trim();
+			}
+			line.write(c);
+		}
+		return null;
+	}
+
+	private String rewriteUris(String content) {
+		if (uriPrefix == null || uriPrefix.isEmpty() || replacementPrefix == null) {
+			return content;
+		}
+		return content.replace(uriPrefix, replacementPrefix);
+	}
+
+	private Map<String, Object> getReport() {
+		Map<String, Object> report = new TreeMap<>();
+		for (Map.Entry<String, List<Long>> entry : latencies.entrySet()) {
+			List<Long> values = new ArrayList<>(entry.getValue());
+			Collections.sort(values);
+			int cancelled = cancellations.getOrDefault(entry.getKey(), 0);
+			Map<String, Object> measure = new LinkedHashMap<>();
+			measure.put("count", values.size());
+			measure.put("cancellationRate", Math.round(cancelled * 1000.0 / values.size()) / 1000.0);
+			measure.put("p50", percentile(values, 50));
+			measure.put("p95", percentile(values, 95));
+			measure.put("p99", percentile(values, 99));
+			measure.put("max", values.get(values.size() - 1));
+			report.put(entry.getKey(), measure);
+		}
+		return report;
+	}
+
+	private static long percentile(List<Long> sortedValues, int percentile) {
+		int index = (int) Math.ceil(percentile / 100.0 * sortedValues.size()) - 1;
+		return sortedValues.get(Math.max(0, index));
+	}
+
+	private static String getDirection(JsonObject entry) {
+		return entry.get("direction").getAsString();
+	}
+
+	private static final class PendingRequest {
+		private final String method;
+		private final long start;
+		private volatile boolean cancelled;
+
+		private PendingRequest(String method, long start) {
+			this.method = method;
+			this.start = start;
+		}
+	}
+}
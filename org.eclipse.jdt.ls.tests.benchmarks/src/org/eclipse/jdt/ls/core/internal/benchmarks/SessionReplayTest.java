@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.benchmarks;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.lang.reflect.Proxy;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.ls.core.internal.JavaClientConnection.JavaLanguageClient;
+import org.eclipse.jdt.ls.core.internal.ResourceUtils;
+import org.eclipse.jdt.ls.core.internal.SessionRecorder;
+import org.eclipse.jdt.ls.core.internal.handlers.JDTLanguageServer;
+import org.eclipse.lsp4j.DidCloseTextDocumentParams;
+import org.eclipse.lsp4j.DidOpenTextDocumentParams;
+import org.eclipse.lsp4j.DocumentSymbol;
+import org.eclipse.lsp4j.DocumentSymbolParams;
+import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.eclipse.lsp4j.TextDocumentItem;
+import org.eclipse.lsp4j.jsonrpc.Launcher;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.eclipse.lsp4j.services.LanguageServer;
+import org.eclipse.lsp4j.services.TextDocumentService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Records a session against an in-process {@link JDTLanguageServer} and
+ * replays it with {@link SessionReplay}.
+ */
+public class SessionReplayTest {
+
+	private BenchmarkWorkspace workspace;
+
+	@Before
+	public void setUp() throws Exception {
+		JavaCore.initializeAfterLoad(new NullProgressMonitor());
+		workspace = new BenchmarkWorkspace();
+		workspace.importProjects("eclipse/hello");
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		workspace.dispose();
+	}
+
+	@Test
+	public void testRecordAndReplay() throws Exception {
+		Path session = new File(workspace.getWorkingDirectory(), "session.jsonl").toPath();
+		File file = new File(workspace.getWorkingDirectory(), "eclipse/hello/src/java/Foo.java");
+		String uri = ResourceUtils.fixURI(file.toURI());
+		InetAddress loopback = InetAddress.getLoopbackAddress();
+		try (SessionRecorder recorder = new SessionRecorder(session);
+				ServerSocket serverSocket = new ServerSocket(0, 1, loopback);
+				Socket clientSocket = new Socket(loopback, serverSocket.getLocalPort());
+				Socket socket = serverSocket.accept()) {
+			JDTLanguageServer server = new JDTLanguageServer(workspace.getProjectsManager(), workspace.getPreferenceManager());
+			Launcher<JavaLanguageClient> serverLauncher = new Launcher.Builder<JavaLanguageClient>()
+					.setLocalService(server)
+					.setRemoteInterface(JavaLanguageClient.class)
+					.setInput(socket.getInputStream())
+					.setOutput(socket.getOutputStream())
+					.wrapMessages(recorder)
+					.create();
+			server.connectClient(serverLauncher.getRemoteProxy());
+			serverLauncher.startListening();
+			Launcher<LanguageServer> clientLauncher = new Launcher.Builder<LanguageServer>()
+					.setLocalService(createClient())
+					.setRemoteInterface(LanguageServer.class)
+					.setInput(clientSocket.getInputStream())
+					.setOutput(clientSocket.getOutputStream())
+					.create();
+			clientLauncher.startListening();
+
+			TextDocumentService documents = clientLauncher.getRemoteProxy().getTextDocumentService();
+			documents.didOpen(new DidOpenTextDocumentParams(new TextDocumentItem(uri, "java", 1, Files.readString(file.toPath(), StandardCharsets.UTF_8))));
+			assertFalse(getDocumentSymbols(documents, uri).isEmpty());
+			documents.didClose(new DidCloseTextDocumentParams(new TextDocumentIdentifier(uri)));
+			// the notifications are handled in order, before the following request
+			assertFalse(getDocumentSymbols(documents, uri).isEmpty());
+		}
+
+		List<String> lines = Files.readAllLines(session, StandardCharsets.UTF_8);
+		assertTrue(lines.stream().anyMatch(line -> line.contains("\"direction\":\"in\"") && line.contains("textDocument/didOpen")));
+		assertTrue(lines.stream().anyMatch(line -> line.contains("\"direction\":\"out\"") && line.contains("\"result\"")));
+
+		Map<String, Object> report = new SessionReplay(session).setSpeed(0).setTimeout(TimeUnit.SECONDS.toMillis(30)).replay(workspace);
+		@SuppressWarnings("unchecked")
+		Map<String, Object> measure = (Map<String, Object>) report.get("textDocument/documentSymbol");
+		assertNotNull(report.toString(), measure);
+		assertEquals(2, measure.get("count"));
+		assertEquals(0.0, measure.get("cancellationRate"));
+	}
+
+	private static List<Either<SymbolInformation, DocumentSymbol>> getDocumentSymbols(TextDocumentService documents, String uri) throws Exception {
+		return documents.documentSymbol(new DocumentSymbolParams(new TextDocumentIdentifier(uri))).get(1, TimeUnit.MINUTES);
+	}
+
+	private static JavaLanguageClient createClient() {
+		// answers the requests of the server with null
+		return (JavaLanguageClient) Proxy.newProxyInstance(SessionReplayTest.class.getClassLoader(), new Class[] { JavaLanguageClient.class }, (proxy, method, args) -> {
+			switch (method.getName()) {
+				case "equals":
+					return proxy == args[0];
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "toString":
+					return "JavaLanguageClient";
+				default:
+					return method.getReturnType() == CompletableFuture.class ? CompletableFuture.completedFuture(null) : null;
+			}
+		});
+	}
+}
@@ -0,0 +1,252 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+
+/**
+ * Generates synthetic Maven, Gradle or invisible projects, to measure how the
+ * server scales with the size of the workspace.
+ *
+ * The sources are spread over a chain of modules, each module depending on the
+ * previous one. The types of a module form inheritance chains of the given
+ * depth, and reference types of their own module and of the previous module.
+ * The output only depends on the settings and the seed.
+ */
+public class WorkspaceGenerator {
+
+	public enum Kind {
+		MAVEN, GRADLE, INVISIBLE
+	}
+
+	private static final int TYPES_PER_PACKAGE = 50;
+
+	private Kind kind = Kind.MAVEN;
+	private int typeCount = 1000;
+	private int moduleCount = 1;
+	private int inheritanceDepth = 3;
+	private int referenceCount = 3;
+	private long seed = 42;
+
+	public WorkspaceGenerator setKind(Kind kind) {
+		this.kind = kind;
+		return this;
+	}
+
+	/**
+	 * @param typeCount
+	 *            the total number of source files
+	 */
+	public WorkspaceGenerator setTypeCount(int typeCount) {
+		this.typeCount = typeCount;
+		return this;
+	}
+
+	/**
+	 * @param moduleCount
+	 *            the number of modules, ignored by invisible projects which have
+	 *            a single source folder
+	 */
+	public WorkspaceGenerator setModuleCount(int moduleCount) {
+		this.moduleCount = Math.max(1, moduleCount);
+		return this;
+	}
+
+	public WorkspaceGenerator setInheritanceDepth(int inheritanceDepth) {
+		this.inheritanceDepth = Math.max(1, inheritanceDepth);
+		return this;
+	}
+
+	/**
+	 * @param referenceCount
+	 *            the number of fields referencing other types, per type
+	 */
+	public WorkspaceGenerator setReferenceCount(int referenceCount) {
+		this.referenceCount = Math.max(0, referenceCount);
+		return this;
+	}
+
+	public WorkspaceGenerator setSeed(long seed) {
+		this.seed = seed;
+		return this;
+	}
+
+	/**
+	 * Writes the workspace into the given folder.
+	 */
+	public GeneratedWorkspace generate(File root) throws IOException {
+		Random random = new Random(seed);
+		int modules = kind == Kind.INVISIBLE ? 1 : moduleCount;
+		List<IPath> sourceFiles = new ArrayList<>(typeCount);
+		List<String> moduleNames = new ArrayList<>(modules);
+		int previousTypes = 0;
+		for (int module = 0; module < modules; module++) {
+			String name = "module" + module;
+			moduleNames.add(name);
+			File moduleDir = kind == Kind.INVISIBLE ? root : new File(root, name);
+			File sourceDir = new File(moduleDir, kind == Kind.INVISIBLE ? "src" : "src/main/java");
+			// the remaining types go to the last module
+			int types = module == modules - 1 ? typeCount - module * (typeCount / modules) : typeCount / modules;
+			for (int index = 0; index < types; index++) {
+				String source = generateType(module, index, previousTypes, random);
+				File file = new File(new File(sourceDir, getPackageName(module, index).replace('.', '/')), "Type" + index + ".java");
+				write(file, source);
+				sourceFiles.add(Path.fromOSString(file.getAbsolutePath()));
+			}
+			if (kind == Kind.MAVEN) {
+				write(new File(moduleDir, "pom.xml"), generateModulePom(module));
+			} else if (kind == Kind.GRADLE) {
+				write(new File(moduleDir, "build.gradle"), generateModuleBuildGradle(module));
+			}
+			previousTypes = types;
+		}
+		if (kind == Kind.MAVEN) {
+			write(new File(root, "pom.xml"), generateParentPom(moduleNames));
+		} else if (kind == Kind.GRADLE) {
+			write(new File(root, "settings.gradle"), generateSettingsGradle(moduleNames));
+		}
+		return new GeneratedWorkspace(Path.fromOSString(root.getAbsolutePath()), sourceFiles);
+	}
+
+	private String generateType(int module, int index, int previousTypes, Random random) {
+		StringBuilder builder = new StringBuilder();
+		builder.append("package ").append(getPackageName(module, index)).append(";\n\n");
+		builder.append("public class Type").append(index);
+		if (index % inheritanceDepth != 0) {
+			builder.append(" extends ").append(getQualifiedName(module, index - 1));
+		}
+		builder.append(" {\n\n");
+		for (int i = 0; i < referenceCount; i++) {
+			String type;
+			if (module > 0 && previousTypes > 0 && random.nextBoolean()) {
+				type = getQualifiedName(module - 1, random.nextInt(previousTypes));
+			} else {
+				type = getQualifiedName(module, random.nextInt(index + 1));
+			}
+			builder.append("\tprotected ").append(type).append(" ref").append(i).append(";\n");
+		}
+		builder.append("\n\tpublic String describe").append(index).append("(int depth) {\n");
+		builder.append("\t\tStringBuilder builder = new StringBuilder(\"Type").append(index).append("\");\n");
+		for (int i = 0; i < referenceCount; i++) {
+			builder.append("\t\tif (ref").append(i).append(" != null && depth > 0) {\n");
+			builder.append("\t\t\tbuilder.append(ref").append(i).append(".toString());\n");
+			builder.append("\t\t}\n");
+		}
+		builder.append("\t\treturn builder.toString();\n");
+		builder.append("\t}\n}\n");
+		return builder.toString();
+	}
+
+	private String generateParentPom(List<String> moduleNames) {
+		StringBuilder modules = new StringBuilder();
+		for (String name : moduleNames) {
+			modules.append("\t\t<module>").append(name).append("</module>\n");
+		}
+		return """
+				<?xml version="1.0" encoding="UTF-8"?>
+				<project xmlns="http://maven.apache.org/POM/4.0.0" xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance" xsi:schemaLocation="http://maven.apache.org/POM/4.0.0 http://maven.apache.org/xsd/maven-4.0.0.xsd">
+					<modelVersion>4.0.0</modelVersion>
+					<groupId>org.example.generated</groupId>
+					<artifactId>parent</artifactId>
+					<version>1.0.0</version>
+					<packaging>pom</packaging>
+					<properties>
+						<maven.compiler.release>17</maven.compiler.release>
+						<project.build.sourceEncoding>UTF-8</project.build.sourceEncoding>
+					</properties>
+					<modules>
+				%s	</modules>
+				</project>
+				""".formatted(modules);
+	}
+
+	private String generateModulePom(int module) {
+		String dependency = module == 0 ? "" : """
+					<dependencies>
+						<dependency>
+							<groupId>org.example.generated</groupId>
+							<artifactId>module%d</artifactId>
+							<version>1.0.0</version>
+						</dependency>
+					</dependencies>
+				""".formatted(module - 1);
+		return """
+				<?xml version="1.0" encoding="UTF-8"?>
+				<project xmlns="http://maven.apache.org/POM/4.0.0" xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance" xsi:schemaLocation="http://maven.apache.org/POM/4.0.0 http://maven.apache.org/xsd/maven-4.0.0.xsd">
+					<modelVersion>4.0.0</modelVersion>
+					<parent>
+						<groupId>org.example.generated</groupId>
+						<artifactId>parent</artifactId>
+						<version>1.0.0</version>
+					</parent>
+					<artifactId>module%d</artifactId>
+				%s</project>
+				""".formatted(module, dependency);
+	}
+
+	private String generateSettingsGradle(List<String> moduleNames) {
+		StringBuilder builder = new StringBuilder("rootProject.name = 'generated'\n");
+		for (String name : moduleNames) {
+			builder.append("include '").append(name).append("'\n");
+		}
+		return builder.toString();
+	}
+
+	private String generateModuleBuildGradle(int module) {
+		StringBuilder builder = new StringBuilder("plugins {\n\tid 'java-library'\n}\n\njava {\n\tsourceCompatibility = JavaVersion.VERSION_17\n}\n");
+		if (module > 0) {
+			builder.append("\ndependencies {\n\tapi project(':module").append(module - 1).append("')\n}\n");
+		}
+		return builder.toString();
+	}
+
+	private static String getPackageName(int module, int index) {
+		return "org.example.m" + module + ".p" + (index / TYPES_PER_PACKAGE);
+	}
+
+	private static String getQualifiedName(int module, int index) {
+		return getPackageName(module, index) + ".Type" + index;
+	}
+
+	private static void write(File file, String contents) throws IOException {
+		file.getParentFile().mkdirs();
+		Files.writeString(file.toPath(), contents, StandardCharsets.UTF_8);
+	}
+
+	public static final class GeneratedWorkspace {
+		private final IPath root;
+		private final List<IPath> sourceFiles;
+
+		private GeneratedWorkspace(IPath root, List<IPath> sourceFiles) {
+			this.root = root;
+			this.sourceFiles = sourceFiles;
+		}
+
+		public IPath getRoot() {
+			return root;
+		}
+
+		public List<IPath> getSourceFiles() {
+			return sourceFiles;
+		}
+	}
+}
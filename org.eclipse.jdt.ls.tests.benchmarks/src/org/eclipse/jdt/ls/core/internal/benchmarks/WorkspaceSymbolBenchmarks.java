@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.ls.core.internal.handlers.WorkspaceSymbolHandler;
+import org.eclipse.lsp4j.SymbolInformation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmarks the workspace symbol search, including the JDK and the
+ * dependencies of the imported projects.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class WorkspaceSymbolBenchmarks {
+
+	@Param({ "maven/salut", "maven/multimodule3" })
+	public String project;
+
+	@Param({ "Foo", "App", "Str" })
+	public String query;
+
+	private BenchmarkWorkspace workspace;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		workspace = new BenchmarkWorkspace();
+		workspace.importProjects(project);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		workspace.dispose();
+	}
+
+	@Benchmark
+	public List<SymbolInformation> search() {
+		return WorkspaceSymbolHandler.search(query, new NullProgressMonitor());
+	}
+}
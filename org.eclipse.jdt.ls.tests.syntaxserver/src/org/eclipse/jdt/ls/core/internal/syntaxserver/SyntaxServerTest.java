@@ -19,21 +19,31 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
+import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.IClasspathEntry;
 import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.manipulation.CoreASTProvider;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
 import org.eclipse.jdt.ls.core.internal.JDTEnvironmentUtils;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.ProjectUtils;
@@ -41,6 +51,7 @@ import org.eclipse.jdt.ls.core.internal.ResourceUtils;
 import org.eclipse.jdt.ls.core.internal.TextEditUtil;
 import org.eclipse.jdt.ls.core.internal.handlers.CompletionResolveHandler;
 import org.eclipse.jdt.ls.core.internal.handlers.JsonRpcHelpers;
+import org.eclipse.jdt.ls.core.internal.syntaxserver.TypeNameIndex.TypeName;
 import org.eclipse.jdt.ls.core.internal.managers.ContentProviderManager;
 import org.eclipse.jdt.ls.core.internal.managers.ProjectsManager;
 import org.eclipse.lsp4j.CompletionItem;
@@ -351,6 +362,106 @@ public class SyntaxServerTest extends AbstractSyntaxProjectsManagerBasedTest {
 		}
 	}
 	
+	@Test
+	public void testTypeNameIndex() throws Exception {
+		URI fileURI = openFile("maven/salut4", "src/main/java/java/Completion.java");
+		ICompilationUnit cu = JDTUtils.resolveCompilationUnit(fileURI);
+		assertNotNull(cu);
+		TypeNameIndex index = TypeNameIndex.getInstance();
+		index.clear();
+		index.build(null);
+		Set<IPath> roots = new HashSet<>();
+		for (IPackageFragmentRoot root : cu.getJavaProject().getAllPackageFragmentRoots()) {
+			assertTrue(index.isIndexed(root));
+			roots.add(root.getPath());
+		}
+		List<String> types = new ArrayList<>();
+		index.findTypes("completio", roots, true, type -> types.add(new String(type.packageName) + "." + type.getTypeQualifiedName()));
+		assertTrue(types.toString(), types.contains("java.Completion"));
+
+		cu.getBuffer().setContents("package java;\n\n" +
+			"public class Completion {\n" +
+			"	public static class Inner {\n" +
+			"	}\n" +
+			"}\n");
+		cu.makeConsistent(null);
+		index.update(cu);
+		types.clear();
+		index.findTypes("Inn", roots, true, type -> types.add(new String(type.packageName) + "." + type.getTypeQualifiedName()));
+		assertEquals(List.of("java.Completion.Inner"), types);
+		types.clear();
+		index.findTypes("Inn", roots, false, type -> types.add(new String(type.packageName) + "." + type.getTypeQualifiedName()));
+		assertTrue(types.toString(), types.isEmpty());
+	}
+
+	@Test
+	public void testTypeNameIndexBinaryTypes() throws Exception {
+		URI fileURI = openFile("maven/salut4", "src/main/java/java/Completion.java");
+		ICompilationUnit cu = JDTUtils.resolveCompilationUnit(fileURI);
+		assertNotNull(cu);
+		TypeNameIndex index = TypeNameIndex.getInstance();
+		index.clear();
+		index.build(null);
+		Set<IPath> roots = new HashSet<>();
+		for (IPackageFragmentRoot root : cu.getJavaProject().getAllPackageFragmentRoots()) {
+			roots.add(root.getPath());
+		}
+
+		// the modifiers of the binary types are read from the class files
+		List<TypeName> types = new ArrayList<>();
+		index.findTypes("list", roots, false, types::add);
+		TypeName list = types.stream().filter(type -> "java.util".equals(new String(type.packageName)) && "List".equals(new String(type.simpleName))).findFirst().orElse(null);
+		assertNotNull(types.toString(), list);
+		assertTrue((list.getModifiers() & ClassFileConstants.AccInterface) != 0);
+		assertTrue((list.getModifiers() & ClassFileConstants.AccPublic) != 0);
+		types.clear();
+		index.findTypes("arraylist", roots, false, types::add);
+		TypeName arrayList = types.stream().filter(type -> "java.util".equals(new String(type.packageName)) && "ArrayList".equals(new String(type.simpleName))).findFirst().orElse(null);
+		assertNotNull(types.toString(), arrayList);
+		assertEquals(0, arrayList.getModifiers() & ClassFileConstants.AccInterface);
+
+		// short prefixes are capped, the shortest names first
+		types.clear();
+		index.findTypes("", roots, true, types::add);
+		assertEquals(TypeNameIndex.MAX_MATCHES, types.size());
+		for (int i = 1; i < types.size(); i++) {
+			assertTrue(types.get(i - 1).simpleName.length <= types.get(i).simpleName.length);
+		}
+	}
+
+	@Test
+	public void testTypeNameIndexClasspathChanges() throws Exception {
+		URI fileURI = openFile("maven/salut4", "src/main/java/java/Completion.java");
+		ICompilationUnit cu = JDTUtils.resolveCompilationUnit(fileURI);
+		assertNotNull(cu);
+		TypeNameIndex index = TypeNameIndex.getInstance();
+		index.clear();
+		index.build(null);
+
+		// a source folder added after the initialization
+		IJavaProject javaProject = cu.getJavaProject();
+		IFolder folder = javaProject.getProject().getFolder("extra");
+		folder.create(true, true, null);
+		folder.getFile("Extra.java").create(new ByteArrayInputStream("public class Extra {\n}\n".getBytes()), true, null);
+		IClasspathEntry[] classpath = javaProject.getRawClasspath();
+		IClasspathEntry[] newClasspath = Arrays.copyOf(classpath, classpath.length + 1);
+		newClasspath[classpath.length] = JavaCore.newSourceEntry(folder.getFullPath());
+		javaProject.setRawClasspath(newClasspath, null);
+		index.join();
+		IPackageFragmentRoot extraRoot = javaProject.getPackageFragmentRoot(folder);
+		assertTrue(index.isIndexed(extraRoot));
+		List<String> types = new ArrayList<>();
+		index.findTypes("extr", Set.of(extraRoot.getPath()), false, type -> types.add(type.getTypeQualifiedName()));
+		assertEquals(List.of("Extra"), types);
+
+		// and removed
+		javaProject.setRawClasspath(classpath, null);
+		assertFalse(index.isIndexed(extraRoot));
+		types.clear();
+		index.findTypes("extr", Set.of(extraRoot.getPath()), false, type -> types.add(type.getTypeQualifiedName()));
+		assertTrue(types.toString(), types.isEmpty());
+	}
+
 	@Test
 	public void testDocumentFormatting() throws Exception {
 		URI fileURI = openFile("maven/salut4", "src/main/java/java/Completion.java");
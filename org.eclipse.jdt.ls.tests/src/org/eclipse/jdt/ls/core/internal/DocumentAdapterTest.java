@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.ls.core.internal.managers.AbstractProjectsManagerBasedTest;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.junit.Test;
+
+public class DocumentAdapterTest extends AbstractProjectsManagerBasedTest {
+
+	@Test
+	public void testLineIndexFollowsEdits() throws Exception {
+		IJavaProject project = newEmptyProject();
+		IPackageFragmentRoot sourceFolder = project.getPackageFragmentRoot(project.getProject().getFolder("src"));
+		IPackageFragment pack = sourceFolder.createPackageFragment("test1", false, null);
+		ICompilationUnit unit = pack.createCompilationUnit("E.java", "package test1;\r\npublic class E {\n}\r", false, null);
+		unit.becomeWorkingCopy(null);
+		try {
+			assertTrue(unit.getBuffer() instanceof DocumentAdapter);
+			DocumentAdapter buffer = (DocumentAdapter) unit.getBuffer();
+			assertSameLines(buffer);
+
+			String[] texts = { "", "x", "\n", "\r", "\r\n", "ab\ncd", "\n\r" };
+			Random random = new Random(42);
+			for (int i = 0; i < 500; i++) {
+				int offset = random.nextInt(buffer.getLength() + 1);
+				int length = random.nextInt(Math.min(4, buffer.getLength() - offset) + 1);
+				buffer.replace(offset, length, texts[random.nextInt(texts.length)]);
+				assertSameLines(buffer);
+			}
+
+			CharSequence snapshot = buffer.getSnapshot();
+			String contents = buffer.getContents();
+			buffer.setContents("a\nb\r\nc");
+			assertSameLines(buffer);
+			assertEquals(contents, snapshot.toString());
+		} finally {
+			unit.discardWorkingCopy();
+		}
+	}
+
+	/**
+	 * Checks the conversions of the buffer against a document with the same
+	 * contents.
+	 */
+	private static void assertSameLines(DocumentAdapter buffer) throws Exception {
+		IDocument document = new Document(buffer.getContents());
+		for (int offset = 0; offset <= document.getLength(); offset++) {
+			int line = document.getLineOfOffset(offset);
+			int column = offset - document.getLineOffset(line);
+			assertArrayEquals(buffer.getContents(), new int[] { line, column }, buffer.toLine(offset));
+			assertEquals(buffer.getContents(), offset, buffer.toOffset(line, column));
+		}
+	}
+}
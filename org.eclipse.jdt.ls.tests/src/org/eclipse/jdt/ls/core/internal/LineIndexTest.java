@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.junit.Test;
+
+public class LineIndexTest {
+
+	@Test
+	public void testCreate() throws Exception {
+		LineIndex index = LineIndex.create("a\nbc\r\nd\re");
+		assertEquals(4, index.getNumberOfLines());
+		assertEquals(0, index.getLineOffset(0));
+		assertEquals(2, index.getLineOffset(1));
+		assertEquals(6, index.getLineOffset(2));
+		assertEquals(8, index.getLineOffset(3));
+		assertArrayEquals(new int[] { 1, 1 }, index.toLine(3));
+		assertArrayEquals(new int[] { 3, 1 }, index.toLine(9));
+		assertEquals(7, index.toOffset(2, 1));
+	}
+
+	@Test
+	public void testTrailingDelimiter() throws Exception {
+		LineIndex index = LineIndex.create("a\r\n");
+		assertEquals(2, index.getNumberOfLines());
+		assertArrayEquals(new int[] { 1, 0 }, index.toLine(3));
+	}
+
+	@Test(expected = BadLocationException.class)
+	public void testInvalidLine() throws Exception {
+		LineIndex.create("a\nb").getLineOffset(2);
+	}
+
+	@Test
+	public void testJoinDelimiters() throws Exception {
+		assertReplace("a\rb", 2, 0, "\n");
+		assertReplace("a\nb", 1, 0, "\r");
+		assertReplace("a\r\nb", 2, 0, "x");
+		assertReplace("a\rx\nb", 2, 1, "");
+		assertReplace("\r\n", 0, 1, "");
+		assertReplace("\n", 0, 0, "\r");
+	}
+
+	@Test
+	public void testRandomEdits() throws Exception {
+		Random random = new Random(42);
+		String alphabet = "ab\r\n";
+		Document document = new Document();
+		LineIndex index = LineIndex.create("");
+		for (int i = 0; i < 5000; i++) {
+			int offset = random.nextInt(document.getLength() + 1);
+			int length = random.nextInt(Math.min(4, document.getLength() - offset) + 1);
+			StringBuilder text = new StringBuilder();
+			for (int j = random.nextInt(5); j > 0; j--) {
+				text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+			}
+			replace(document, index, offset, length, text.toString());
+			assertIndex(document, index);
+		}
+	}
+
+	private void assertReplace(String initial, int offset, int length, String text) throws BadLocationException {
+		Document document = new Document(initial);
+		LineIndex index = LineIndex.create(initial);
+		replace(document, index, offset, length, text);
+		assertIndex(document, index);
+	}
+
+	private void replace(IDocument document, LineIndex index, int offset, int length, String text) throws BadLocationException {
+		document.replace(offset, length, text);
+		int end = offset + text.length();
+		char previous = offset > 0 ? document.getChar(offset - 1) : 0;
+		char next = end < document.getLength() ? document.getChar(end) : 0;
+		index.replace(offset, length, text, previous, next);
+	}
+
+	private void assertIndex(IDocument edited, LineIndex index) throws BadLocationException {
+		// the incremental jface line tracker does not join a '\r' inserted before a '\n'
+		IDocument document = new Document(edited.get());
+		assertEquals(document.get(), document.getNumberOfLines(), index.getNumberOfLines());
+		assertEquals(document.getLength(), index.getLength());
+		for (int line = 0; line < document.getNumberOfLines(); line++) {
+			assertEquals(document.getLineOffset(line), index.getLineOffset(line));
+		}
+		for (int offset = 0; offset <= document.getLength(); offset++) {
+			assertEquals(document.getLineOfOffset(offset), index.getLineOfOffset(offset));
+		}
+	}
+}
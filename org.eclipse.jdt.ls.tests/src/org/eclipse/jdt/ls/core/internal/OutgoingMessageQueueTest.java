@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.ProgressParams;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.eclipse.lsp4j.WorkDoneProgressBegin;
+import org.eclipse.lsp4j.WorkDoneProgressEnd;
+import org.eclipse.lsp4j.WorkDoneProgressNotification;
+import org.eclipse.lsp4j.WorkDoneProgressReport;
+import org.eclipse.lsp4j.jsonrpc.MessageConsumer;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.eclipse.lsp4j.jsonrpc.messages.Message;
+import org.eclipse.lsp4j.jsonrpc.messages.NotificationMessage;
+import org.junit.Test;
+
+public class OutgoingMessageQueueTest {
+
+	private final List<Message> written = new CopyOnWriteArrayList<>();
+	private final CountDownLatch blocked = new CountDownLatch(1);
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	@Test
+	public void testSupersededNotifications() throws Exception {
+		MessageConsumer consumer = createBlockedConsumer();
+		consumer.consume(notification("window/logMessage", "first"));
+		assertTrue(blocked.await(5, TimeUnit.SECONDS));
+
+		consumer.consume(diagnostics("file:///A.java", 1));
+		consumer.consume(progress("token", new WorkDoneProgressBegin()));
+		consumer.consume(progress("token", new WorkDoneProgressReport()));
+		consumer.consume(diagnostics("file:///B.java", 1));
+		consumer.consume(diagnostics("file:///A.java", 2));
+		consumer.consume(progress("token", new WorkDoneProgressReport()));
+		consumer.consume(progress("token", new WorkDoneProgressEnd()));
+		NotificationMessage last = diagnostics("file:///A.java", 3);
+		consumer.consume(last);
+		release.countDown();
+
+		waitForMessages(6);
+		assertEquals(6, written.size());
+		assertEquals("window/logMessage", ((NotificationMessage) written.get(0)).getMethod());
+		// the queued diagnostics of A.java and progress report are replaced by the newest ones
+		assertEquals(last, written.get(1));
+		assertTrue(getProgress(written.get(2)) instanceof WorkDoneProgressBegin);
+		assertTrue(getProgress(written.get(3)) instanceof WorkDoneProgressReport);
+		assertEquals("file:///B.java", ((PublishDiagnosticsParams) ((NotificationMessage) written.get(4)).getParams()).getUri());
+		assertTrue(getProgress(written.get(5)) instanceof WorkDoneProgressEnd);
+	}
+
+	@Test
+	public void testOrder() throws Exception {
+		MessageConsumer consumer = createBlockedConsumer();
+		for (int i = 0; i < 10; i++) {
+			consumer.consume(notification("window/logMessage", String.valueOf(i)));
+		}
+		release.countDown();
+		waitForMessages(10);
+		for (int i = 0; i < 10; i++) {
+			assertEquals(String.valueOf(i), ((NotificationMessage) written.get(i)).getParams());
+		}
+	}
+
+	@Test
+	public void testBackpressure() throws Exception {
+		MessageConsumer consumer = createBlockedConsumer(2);
+		consumer.consume(notification("window/logMessage", "0"));
+		assertTrue(blocked.await(5, TimeUnit.SECONDS));
+		AtomicBoolean interrupted = new AtomicBoolean();
+		Thread producer = new Thread(() -> {
+			for (int i = 1; i < 5; i++) {
+				consumer.consume(notification("window/logMessage", String.valueOf(i)));
+			}
+			interrupted.set(Thread.currentThread().isInterrupted());
+		});
+		producer.start();
+		// the third queued message waits for the writer
+		waitForState(producer, Thread.State.WAITING);
+		assertEquals(Thread.State.WAITING, producer.getState());
+		producer.interrupt();
+		producer.join(200);
+		assertTrue(producer.isAlive());
+
+		release.countDown();
+		producer.join(5000);
+		assertFalse(producer.isAlive());
+		assertTrue(interrupted.get());
+		waitForMessages(5);
+		assertEquals(5, written.size());
+		for (int i = 0; i < 5; i++) {
+			assertEquals(String.valueOf(i), ((NotificationMessage) written.get(i)).getParams());
+		}
+	}
+
+	@Test
+	public void testBatchedFlushes() throws Exception {
+		AtomicInteger flushes = new AtomicInteger();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream() {
+			@Override
+			public void flush() {
+				flushes.incrementAndGet();
+			}
+		};
+		OutgoingMessageQueue queue = new OutgoingMessageQueue(100);
+		OutputStream out = queue.wrap(bytes);
+		MessageConsumer consumer = queue.apply(message -> {
+			blocked.countDown();
+			try {
+				release.await(5, TimeUnit.SECONDS);
+				out.write(((String) ((NotificationMessage) message).getParams()).getBytes(StandardCharsets.UTF_8));
+				out.flush();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			written.add(message);
+		});
+		consumer.consume(notification("window/logMessage", "0"));
+		assertTrue(blocked.await(5, TimeUnit.SECONDS));
+		for (int i = 1; i < 4; i++) {
+			consumer.consume(notification("window/logMessage", String.valueOf(i)));
+		}
+		release.countDown();
+
+		waitForMessages(4);
+		assertEquals("0123", bytes.toString(StandardCharsets.UTF_8));
+		// the first message, then the three queued ones together
+		assertEquals(2, flushes.get());
+	}
+
+	private MessageConsumer createBlockedConsumer() {
+		return createBlockedConsumer(100);
+	}
+
+	private MessageConsumer createBlockedConsumer(int capacity) {
+		return new OutgoingMessageQueue(capacity).apply(message -> {
+			blocked.countDown();
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			written.add(message);
+		});
+	}
+
+	private void waitForMessages(int count) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (written.size() < count && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+	}
+
+	private static void waitForState(Thread thread, Thread.State state) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (thread.getState() != state && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+	}
+
+	private static WorkDoneProgressNotification getProgress(Message message) {
+		return ((ProgressParams) ((NotificationMessage) message).getParams()).getValue().getLeft();
+	}
+
+	private static NotificationMessage notification(String method, Object params) {
+		NotificationMessage message = new NotificationMessage();
+		message.setMethod(method);
+		message.setParams(params);
+		return message;
+	}
+
+	private static NotificationMessage diagnostics(String uri, int count) {
+		return notification("textDocument/publishDiagnostics", new PublishDiagnosticsParams(uri, Collections.nCopies(count, new Diagnostic())));
+	}
+
+	private static NotificationMessage progress(String token, WorkDoneProgressNotification value) {
+		return notification("$/progress", new ProgressParams(Either.forLeft(token), Either.forLeft(value)));
+	}
+}
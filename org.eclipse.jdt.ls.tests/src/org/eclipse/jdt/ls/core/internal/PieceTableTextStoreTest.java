@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class PieceTableTextStoreTest {
+
+	@Test
+	public void testReplace() {
+		PieceTableTextStore store = new PieceTableTextStore();
+		store.set("public class Foo {}");
+		store.replace(18, 0, "\n\tint i;\n");
+		store.replace(13, 3, "Bar");
+		store.replace(0, 7, null);
+		assertEquals("class Bar {\n\tint i;\n}", store.get(0, store.getLength()));
+		assertEquals('B', store.get(6));
+	}
+
+	@Test
+	public void testTyping() {
+		PieceTableTextStore store = new PieceTableTextStore();
+		store.set("ab");
+		for (char c : "hello".toCharArray()) {
+			store.replace(store.getLength() - 1, 0, String.valueOf(c));
+		}
+		store.replace(5, 1, "");
+		assertEquals("ahellb", store.get(0, store.getLength()));
+	}
+
+	@Test
+	public void testSnapshot() {
+		PieceTableTextStore store = new PieceTableTextStore();
+		store.set("int a = 1;");
+		store.replace(8, 1, "42");
+		CharSequence snapshot = store.snapshot();
+		store.replace(0, 3, "long");
+		store.replace(store.getLength(), 0, "// more text appended to the buffer");
+		assertEquals("int a = 42;", snapshot.toString());
+		assertEquals('4', snapshot.charAt(8));
+		assertEquals("a = 42", snapshot.subSequence(4, 10).toString());
+		assertEquals("long a = 42;// more text appended to the buffer", store.get(0, store.getLength()));
+	}
+
+	@Test
+	public void testSnapshotAfterCompaction() {
+		PieceTableTextStore store = new PieceTableTextStore();
+		String line = "\tSystem.out.println(\"Hello World\");\n";
+		store.set("class Foo {\n}");
+		store.replace(12, 0, line);
+		CharSequence snapshot = store.snapshot();
+		String expected = store.get(0, store.getLength());
+		// compacted and set several times
+		for (int i = 0; i < 1000; i++) {
+			store.replace(12, line.length(), "");
+			store.replace(12, 0, line);
+		}
+		store.set("class Bar {}");
+		assertEquals(expected, snapshot.toString());
+	}
+
+	@Test
+	public void testFullReplace() {
+		PieceTableTextStore store = new PieceTableTextStore();
+		store.set("class Foo {}");
+		for (int i = 0; i < 1000; i++) {
+			store.replace(0, store.getLength(), "class Foo" + i + " {}");
+		}
+		assertEquals("class Foo999 {}", store.get(0, store.getLength()));
+		assertEquals(store.getLength(), store.getStoredLength());
+	}
+
+	@Test
+	public void testCompactReplacedText() {
+		PieceTableTextStore store = new PieceTableTextStore();
+		String line = "\tSystem.out.println(\"Hello World\");\n";
+		store.set("class Foo {\n}");
+		// few pieces, but the replaced lines pile up in the added buffer
+		for (int i = 0; i < 10000; i++) {
+			store.replace(12, 0, line);
+			store.replace(12, line.length(), "");
+		}
+		assertEquals("class Foo {\n}", store.get(0, store.getLength()));
+		assertTrue("Stored characters: " + store.getStoredLength(), store.getStoredLength() < 2 * 4096 + line.length());
+	}
+
+	@Test
+	public void testRandomEdits() {
+		Random random = new Random(42);
+		PieceTableTextStore store = new PieceTableTextStore();
+		StringBuilder expected = new StringBuilder("initial\ncontents\n");
+		store.set(expected.toString());
+		Map<CharSequence, String> snapshots = new LinkedHashMap<>();
+		// enough edits to trigger compaction
+		for (int i = 0; i < 10000; i++) {
+			int offset = random.nextInt(expected.length() + 1);
+			int length = random.nextInt(Math.min(8, expected.length() - offset) + 1);
+			String text = random.nextInt(4) == 0 ? "" : Integer.toString(random.nextInt(1000));
+			if (i % 1000 == 0) {
+				snapshots.put(store.snapshot(), expected.toString());
+			}
+			expected.replace(offset, offset + length, text);
+			store.replace(offset, length, text);
+			assertEquals(expected.length(), store.getLength());
+			if (expected.length() > 0) {
+				int index = random.nextInt(expected.length());
+				assertEquals(expected.charAt(index), store.get(index));
+			}
+		}
+		assertEquals(expected.toString(), store.get(0, store.getLength()));
+		// unchanged by the later edits
+		snapshots.forEach((snapshot, text) -> assertEquals(text, snapshot.toString()));
+	}
+}
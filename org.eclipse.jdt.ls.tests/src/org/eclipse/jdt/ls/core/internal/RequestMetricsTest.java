@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class RequestMetricsTest {
+
+	@After
+	public void tearDown() {
+		RequestMetrics.getInstance().reset();
+	}
+
+	@Test
+	public void testHistogramPercentiles() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (int i = 1; i <= 100; i++) {
+			histogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+		}
+		assertEquals(100, histogram.getCount());
+		assertWithinPrecision(50_000, histogram.getPercentile(50));
+		assertWithinPrecision(90_000, histogram.getPercentile(90));
+		assertWithinPrecision(99_000, histogram.getPercentile(99));
+		assertWithinPrecision(100_000, histogram.getPercentile(100));
+	}
+
+	@Test
+	public void testHistogramBuckets() {
+		for (long micros : new long[] { 0, 1, 31, 32, 63, 64, 1000, 123_456, (1L << 32) - 1 }) {
+			int bucket = LatencyHistogram.getBucket(micros);
+			assertWithinPrecision(micros, LatencyHistogram.getBucketMiddle(bucket));
+		}
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testSnapshot() {
+		RequestMetrics metrics = RequestMetrics.getInstance();
+		metrics.record("hover", TimeUnit.MILLISECONDS.toNanos(1), TimeUnit.MILLISECONDS.toNanos(20), false);
+		metrics.record("hover", TimeUnit.MILLISECONDS.toNanos(1), TimeUnit.MILLISECONDS.toNanos(30), true);
+		metrics.record(RequestMetrics.BUILD, -1, TimeUnit.SECONDS.toNanos(1), false);
+
+		Map<String, Object> methods = (Map<String, Object>) metrics.getSnapshot().get("methods");
+		Map<String, Object> hover = (Map<String, Object>) methods.get("hover");
+		assertEquals(1L, hover.get("cancelled"));
+		assertEquals(2L, ((Map<String, Object>) hover.get("queue")).get("count"));
+		assertEquals(2L, ((Map<String, Object>) hover.get("execution")).get("count"));
+		Map<String, Object> build = (Map<String, Object>) methods.get(RequestMetrics.BUILD);
+		assertFalse(build.containsKey("queue"));
+		assertEquals(1000.0, (double) ((Map<String, Object>) build.get("execution")).get("max"), 0);
+	}
+
+	private static void assertWithinPrecision(long expected, long actual) {
+		assertTrue("Expected " + expected + " but was " + actual, Math.abs(expected - actual) <= Math.max(1, expected * 0.04));
+	}
+}
@@ -16,6 +16,7 @@ package org.eclipse.jdt.ls.core.internal.commands;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
@@ -26,6 +27,7 @@ import java.util.List;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IPackageFragment;
@@ -397,6 +399,136 @@ public class OrganizeImportsCommandTest extends AbstractProjectsManagerBasedTest
 		assertEquals(buf.toString(), getOrganizeImportResult(cu2, rootEdit));
 	}
 
+	@Test
+	public void testOrganizeImportsInDirectory() throws CoreException, BadLocationException {
+		IPackageFragment pack1 = fSourceFolder.createPackageFragment("test1", false, null);
+		IPackageFragment pack2 = fSourceFolder.createPackageFragment("test2", false, null);
+
+		StringBuilder buf = new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("\n");
+		buf.append("import java.util.ArrayList;\n");
+		buf.append("\n");
+		buf.append("public class E {\n");
+		buf.append("}\n");
+		ICompilationUnit cu1 = pack1.createCompilationUnit("E.java", buf.toString(), false, null);
+
+		buf = new StringBuilder();
+		buf.append("package test2;\n");
+		buf.append("\n");
+		buf.append("import java.util.HashMap;\n");
+		buf.append("import java.util.ArrayList;\n");
+		buf.append("\n");
+		buf.append("public class F {\n");
+		buf.append("    ArrayList list;\n");
+		buf.append("}\n");
+		ICompilationUnit cu2 = pack2.createCompilationUnit("F.java", buf.toString(), false, null);
+
+		String folderUri = fSourceFolder.getResource().getLocationURI().toString();
+		WorkspaceEdit rootEdit = command.organizeImportsInDirectory(folderUri, fJProject1.getProject());
+
+		buf = new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("\n");
+		buf.append("public class E {\n");
+		buf.append("}\n");
+		assertEquals(buf.toString(), getOrganizeImportResult(cu1, rootEdit));
+
+		buf = new StringBuilder();
+		buf.append("package test2;\n");
+		buf.append("\n");
+		buf.append("import java.util.ArrayList;\n");
+		buf.append("\n");
+		buf.append("public class F {\n");
+		buf.append("    ArrayList list;\n");
+		buf.append("}\n");
+		assertEquals(buf.toString(), getOrganizeImportResult(cu2, rootEdit));
+	}
+
+	@Test
+	public void testOrganizeImportsInManyBatches() throws CoreException, BadLocationException {
+		IPackageFragment pack1 = fSourceFolder.createPackageFragment("test1", false, null);
+		IPackageFragment pack2 = fSourceFolder.createPackageFragment("test2", false, null);
+
+		// one more unit than a batch, the last one referencing a type of the first batch
+		int count = OrganizeImportsCommand.BATCH_SIZE + 1;
+		ICompilationUnit[] units = new ICompilationUnit[count];
+		for (int i = 0; i < count - 1; i++) {
+			StringBuilder buf = new StringBuilder();
+			buf.append("package test1;\n");
+			buf.append("\n");
+			buf.append("import java.util.ArrayList;\n");
+			buf.append("\n");
+			buf.append("public class E" + i + " {\n");
+			buf.append("}\n");
+			units[i] = pack1.createCompilationUnit("E" + i + ".java", buf.toString(), false, null);
+		}
+		StringBuilder buf = new StringBuilder();
+		buf.append("package test2;\n");
+		buf.append("\n");
+		buf.append("import java.util.HashMap;\n");
+		buf.append("import test1.E0;\n");
+		buf.append("\n");
+		buf.append("public class F {\n");
+		buf.append("    E0 e;\n");
+		buf.append("}\n");
+		units[count - 1] = pack2.createCompilationUnit("F.java", buf.toString(), false, null);
+
+		WorkspaceEdit rootEdit = command.organizeImportsInProject(fJProject1.getProject());
+		assertEquals(count, rootEdit.getChanges().size());
+
+		for (int i = 0; i < count - 1; i++) {
+			buf = new StringBuilder();
+			buf.append("package test1;\n");
+			buf.append("\n");
+			buf.append("public class E" + i + " {\n");
+			buf.append("}\n");
+			assertEquals(buf.toString(), getOrganizeImportResult(units[i], rootEdit));
+		}
+		buf = new StringBuilder();
+		buf.append("package test2;\n");
+		buf.append("\n");
+		buf.append("import test1.E0;\n");
+		buf.append("\n");
+		buf.append("public class F {\n");
+		buf.append("    E0 e;\n");
+		buf.append("}\n");
+		assertEquals(buf.toString(), getOrganizeImportResult(units[count - 1], rootEdit));
+	}
+
+	@Test
+	public void testOrganizeImportsCancelled() throws Exception {
+		IPackageFragment pack1 = fSourceFolder.createPackageFragment("test1", false, null);
+		int count = OrganizeImportsCommand.BATCH_SIZE + 1;
+		String contents = "package test1;\n\nimport java.util.ArrayList;\n\npublic class E {\n}\n";
+		for (int i = 0; i < count; i++) {
+			pack1.createCompilationUnit("E" + i + ".java", contents.replace("class E ", "class E" + i + " "), false, null);
+		}
+		String projectUri = fJProject1.getProject().getLocationURI().toString();
+
+		NullProgressMonitor cancelled = new NullProgressMonitor();
+		cancelled.setCanceled(true);
+		assertNull(command.organizeImports(Arrays.asList(projectUri), cancelled));
+
+		// cancelled once the first batch is organized
+		NullProgressMonitor cancelledAfterBatch = new NullProgressMonitor() {
+			@Override
+			public void worked(int work) {
+				setCanceled(true);
+			}
+
+			@Override
+			public void internalWorked(double work) {
+				setCanceled(true);
+			}
+		};
+		assertNull(command.organizeImports(Arrays.asList(projectUri), cancelledAfterBatch));
+		assertTrue(cancelledAfterBatch.isCanceled());
+
+		Object result = command.organizeImports(Arrays.asList(projectUri), new NullProgressMonitor());
+		assertEquals(count, ((WorkspaceEdit) result).getChanges().size());
+	}
+
 	@Test
 	public void testOrganizeImportsOnDemandThreshold() throws Exception {
 		int onDemandTreshold = preferenceManager.getPreferences().getImportOnDemandThreshold();
@@ -14,13 +14,19 @@ package org.eclipse.jdt.ls.core.internal.commands;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 import java.util.List;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.ls.core.internal.TypeHierarchyCache;
 import org.eclipse.jdt.ls.core.internal.WorkspaceHelper;
 import org.eclipse.jdt.ls.core.internal.managers.AbstractInvisibleProjectBasedTest;
 import org.eclipse.lsp4j.Position;
@@ -178,4 +184,21 @@ public class TypeHierarchyCommandTest extends AbstractInvisibleProjectBasedTest
 		assertEquals(SymbolKind.Null, two.getChildren().get(0).getKind()); // five
 		assertEquals(SymbolKind.Class, two.getChildren().get(1).getKind()); // six
 	}
+
+	@Test
+	public void testTypeHierarchyCached() throws Exception {
+		IProgressMonitor monitor = new NullProgressMonitor();
+		IType type = JavaCore.create(fJProject).findType("org.sample.TestJavadoc");
+		TypeHierarchyCache cache = TypeHierarchyCache.getInstance();
+		ITypeHierarchy hierarchy = cache.getTypeHierarchy(type, monitor);
+		assertSame(hierarchy, cache.getTypeHierarchy(type, monitor));
+		assertSame(hierarchy, cache.getSupertypeHierarchy(type, monitor));
+		assertEquals(0, hierarchy.getAllSubtypes(type).length);
+
+		// a new subtype changes the hierarchy
+		type.getPackageFragment().createCompilationUnit("SubJavadoc.java", "package org.sample;\npublic class SubJavadoc extends TestJavadoc {\n}\n", false, monitor);
+		ITypeHierarchy newHierarchy = cache.getTypeHierarchy(type, monitor);
+		assertNotSame(hierarchy, newHierarchy);
+		assertEquals(1, newHierarchy.getAllSubtypes(type).length);
+	}
 }
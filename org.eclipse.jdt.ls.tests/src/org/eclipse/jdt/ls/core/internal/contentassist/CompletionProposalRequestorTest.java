@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.contentassist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.core.CompletionProposal;
+import org.eclipse.jdt.ls.core.internal.contentassist.CompletionProposalRequestor.ProposalComparator;
+import org.junit.Test;
+
+public class CompletionProposalRequestorTest {
+
+	@Test
+	public void testTopProposals() {
+		int[] relevances = { 5, 1, 9, 3, 9, 7, 2, 8, 4, 6 };
+		List<CompletionProposal> proposals = new ArrayList<>();
+		for (int i = 0; i < relevances.length; i++) {
+			proposals.add(createProposal("name" + (char) ('j' - i), relevances[i]));
+		}
+		ProposalComparator comparator = new ProposalComparator(4);
+		List<CompletionProposal> top = CompletionProposalRequestor.getTopProposals(proposals, 4, comparator);
+
+		// the most relevant first, the same relevances sorted by completion
+		assertEquals(List.of("namef:9", "nameh:9", "namec:8", "namee:7"), toStrings(top));
+		assertTrue("cached completions: " + comparator.getCacheSize(), comparator.getCacheSize() <= 4);
+	}
+
+	@Test
+	public void testTopProposalsWithSameRelevance() {
+		List<CompletionProposal> proposals = new ArrayList<>();
+		for (int i = 99; i >= 0; i--) {
+			proposals.add(createProposal(String.format("name%02d", i), 10));
+		}
+		ProposalComparator comparator = new ProposalComparator(10);
+		List<CompletionProposal> top = CompletionProposalRequestor.getTopProposals(proposals, 10, comparator);
+
+		List<String> expected = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			expected.add(String.format("name%02d:10", i));
+		}
+		assertEquals(expected, toStrings(top));
+		assertTrue("cached completions: " + comparator.getCacheSize(), comparator.getCacheSize() <= 10);
+	}
+
+	@Test
+	public void testTopProposalsUnderLimit() {
+		List<CompletionProposal> proposals = List.of(createProposal("b", 1), createProposal("a", 1), createProposal("c", 2));
+		List<CompletionProposal> top = CompletionProposalRequestor.getTopProposals(proposals, 10);
+		assertEquals(List.of("c:2", "a:1", "b:1"), toStrings(top));
+	}
+
+	@Test
+	public void testMinRelevance() {
+		int[] relevances = { 5, 1, 9, 3, 9, 7, 2, 8, 4, 6 };
+		List<CompletionProposal> proposals = new ArrayList<>();
+		for (int relevance : relevances) {
+			proposals.add(createProposal("name", relevance));
+		}
+		assertEquals(9, CompletionProposalRequestor.getMinRelevance(proposals, 1));
+		assertEquals(9, CompletionProposalRequestor.getMinRelevance(proposals, 2));
+		assertEquals(7, CompletionProposalRequestor.getMinRelevance(proposals, 4));
+		assertEquals(1, CompletionProposalRequestor.getMinRelevance(proposals, 20));
+		assertEquals(Integer.MIN_VALUE, CompletionProposalRequestor.getMinRelevance(new ArrayList<>(), 4));
+	}
+
+	private static CompletionProposal createProposal(String completion, int relevance) {
+		CompletionProposal proposal = CompletionProposal.create(CompletionProposal.METHOD_REF, 0);
+		proposal.setCompletion(completion.toCharArray());
+		proposal.setRelevance(relevance);
+		return proposal;
+	}
+
+	private static List<String> toStrings(List<CompletionProposal> proposals) {
+		return proposals.stream().map(p -> new String(p.getCompletion()) + ":" + p.getRelevance()).collect(Collectors.toList());
+	}
+}
@@ -25,8 +25,10 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.ls.core.internal.ClassFileUtil;
+import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.WorkspaceHelper;
 import org.eclipse.jdt.ls.core.internal.hover.JavaElementLabels;
 import org.eclipse.jdt.ls.core.internal.managers.AbstractProjectsManagerBasedTest;
@@ -102,6 +104,65 @@ public class CallHierarchyHandlerTest extends AbstractProjectsManagerBasedTest {
 		assertItem(calls.get(2).getFrom(), "method_1()" + JavaElementLabels.DECL_STRING + "void", Method, "org.sample.CallHierarchy$Base", false, 35);
 	}
 
+	@Test
+	public void incomingCalls_cacheInvalidated() throws Exception {
+		// Line 27 from `CallHierarchy`
+		//    public void <|>bar() {
+		String uri = getUriFromSrcProject("org.sample.CallHierarchy");
+		List<CallHierarchyItem> items = prepareCallHierarchy(uri, 26, 16);
+		assertNotNull(items);
+		List<CallHierarchyIncomingCall> calls = getIncomingCalls(items.get(0));
+		assertNotNull(calls);
+		assertEquals(3, calls.size());
+		assertEquals(calls, getIncomingCalls(items.get(0)));
+
+		// Line 54 from `CallHierarchy`, now calling `bar()`
+		//      method_1();
+		ICompilationUnit unit = JDTUtils.resolveCompilationUnit(uri);
+		unit.becomeWorkingCopy(null);
+		try {
+			String source = unit.getSource();
+			int offset = source.indexOf("method_1();", source.indexOf("void method_2()"));
+			unit.getBuffer().replace(offset, "method_1();".length(), "bar();     ");
+			unit.reconcile(ICompilationUnit.NO_AST, false, null, null);
+			calls = getIncomingCalls(items.get(0));
+			assertNotNull(calls);
+			assertEquals(4, calls.size());
+			assertTrue(calls.stream().anyMatch(call -> ("method_2()" + JavaElementLabels.DECL_STRING + "void").equals(call.getFrom().getName())));
+		} finally {
+			unit.discardWorkingCopy();
+		}
+	}
+
+	@Test
+	public void incomingCalls_cacheInvalidatedByOtherUnit() throws Exception {
+		// Line 27 from `CallHierarchy`
+		//    public void <|>bar() {
+		String uri = getUriFromSrcProject("org.sample.CallHierarchy");
+		List<CallHierarchyItem> items = prepareCallHierarchy(uri, 26, 16);
+		assertNotNull(items);
+		List<CallHierarchyIncomingCall> calls = getIncomingCalls(items.get(0));
+		assertNotNull(calls);
+		assertEquals(3, calls.size());
+
+		// Line 5 from `Call`, now calling `bar()`
+		//        System.out.println("skip");
+		ICompilationUnit unit = JDTUtils.resolveCompilationUnit(getUriFromSrcProject("org.sample.Call"));
+		unit.becomeWorkingCopy(null);
+		try {
+			String source = unit.getSource();
+			String call = "System.out.println(\"skip\");";
+			unit.getBuffer().replace(source.indexOf(call), call.length(), "new CallHierarchy.Base().bar();");
+			unit.reconcile(ICompilationUnit.NO_AST, false, null, null);
+			calls = getIncomingCalls(items.get(0));
+			assertNotNull(calls);
+			assertEquals(4, calls.size());
+			assertTrue(calls.stream().anyMatch(c -> "org.sample.Call".equals(c.getFrom().getDetail())));
+		} finally {
+			unit.discardWorkingCopy();
+		}
+	}
+
 	@Test
 	public void testSelectionRange() throws Exception {
 		// Line  from `org.sample.Foo`
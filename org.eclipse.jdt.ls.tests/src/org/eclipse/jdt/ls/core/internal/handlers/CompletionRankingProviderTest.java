@@ -21,6 +21,8 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.core.CompletionProposal;
@@ -90,6 +92,33 @@ public class CompletionRankingProviderTest extends AbstractCompilationUnitBasedT
 		assertTrue(((Map)recommended.getData()).containsKey(CompletionRanking.COMPLETION_EXECUTION_TIME));
 	}
 
+	@Test
+	public void testSlowProviderIgnored() throws Exception {
+		SlowRankingProvider slowProvider = new SlowRankingProvider();
+		JavaLanguageServerPlugin.getCompletionContributionService().registerRankingProvider(slowProvider);
+		try {
+			ICompilationUnit unit = getWorkingCopy(
+					"src/java/Foo.java",
+					"public class Foo {\n"+
+							"	void foo() {\n"+
+							" 		Integer.\n" +
+							"	}\n"+
+					"}\n");
+
+			long start = System.currentTimeMillis();
+			CompletionList list = requestCompletions(unit, "Integer.");
+			assertTrue(System.currentTimeMillis() - start < SlowRankingProvider.DELAY);
+			assertFalse("No proposals were found", list.getItems().isEmpty());
+			CompletionItem recommended = list.getItems().get(0);
+			assertTrue(recommended.getLabel().startsWith("★"));
+			assertTrue(CompletionContributionService.getRankingTimeouts().containsKey(SlowRankingProvider.class.getName()));
+			// the provider stops once its monitor is canceled
+			assertTrue(slowProvider.canceled.await(SlowRankingProvider.DELAY, TimeUnit.MILLISECONDS));
+		} finally {
+			JavaLanguageServerPlugin.getCompletionContributionService().unregisterRankingProvider(slowProvider);
+		}
+	}
+
 	@Test
 	public void testOnDidCompletionItemSelect() throws Exception {
 		CompletionHandler handler = new CompletionHandler(JavaLanguageServerPlugin.getPreferencesManager());
@@ -123,6 +152,37 @@ public class CompletionRankingProviderTest extends AbstractCompilationUnitBasedT
 		}
 	}
 
+	static class SlowRankingProvider implements ICompletionRankingProvider {
+
+		static final long DELAY = 5000;
+
+		final CountDownLatch canceled = new CountDownLatch(1);
+
+		@Override
+		public CompletionRanking[] rank(List<CompletionProposal> proposals, org.eclipse.jdt.core.CompletionContext context, ICompilationUnit unit, IProgressMonitor monitor) {
+			long deadline = System.currentTimeMillis() + DELAY;
+			try {
+				while (System.currentTimeMillis() < deadline) {
+					if (monitor.isCanceled()) {
+						canceled.countDown();
+						return null;
+					}
+					Thread.sleep(10);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			CompletionRanking[] rankings = new CompletionRanking[proposals.size()];
+			rankings[proposals.size() - 1] = new CompletionRanking();
+			rankings[proposals.size() - 1].setDecorator('☆');
+			return rankings;
+		}
+
+		@Override
+		public void onDidCompletionItemSelect(CompletionItem item) {
+		}
+	}
+
 	protected CompletionList requestCompletions(ICompilationUnit unit, String completeBehind) throws JavaModelException {
 		return requestCompletions(unit, completeBehind, 0);
 	}
@@ -16,7 +16,9 @@ import static java.util.Map.entry;
 import static org.eclipse.jdt.ls.core.internal.Lsp4jAssertions.assertRange;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.when;
@@ -31,6 +33,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.apache.commons.io.FileUtils;
@@ -39,6 +42,7 @@ import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.core.ICompilationUnit;
@@ -50,6 +54,7 @@ import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.compiler.IProblem;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.manipulation.CoreASTProvider;
+import org.eclipse.jdt.ls.core.internal.ASTCache;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaClientConnection;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
@@ -846,6 +851,71 @@ public class DocumentLifeCycleHandlerTest extends AbstractProjectsManagerBasedTe
 		closeDocument(cu);
 	}
 
+	@Test
+	public void testOutdatedRequestCancelled() throws Exception {
+		IJavaProject javaProject = newEmptyProject();
+		IPackageFragmentRoot sourceFolder = javaProject.getPackageFragmentRoot(javaProject.getProject().getFolder("src"));
+		IPackageFragment fooPackage = sourceFolder.createPackageFragment("foo", false, null);
+
+		String content = "package foo;\n";
+		ICompilationUnit cu = fooPackage.createCompilationUnit("Foo.java", content, false, null);
+
+		openDocument(cu, content, 1);
+		IProgressMonitor monitor = new NullProgressMonitor();
+		Function<IProgressMonitor, String> request = lifeCycleHandler.withDocumentMonitor(JDTUtils.toURI(cu), (m) -> {
+			assertFalse(m.isCanceled());
+			try {
+				changeDocumentFull(cu, content, 2);
+			} catch (JavaModelException e) {
+				fail(e.getMessage());
+			}
+			// cancelled by the didChange, not at the next checkpoint
+			assertTrue(m.isCanceled());
+			return "outdated";
+		});
+		try {
+			request.apply(monitor);
+			fail("Should have thrown ResponseErrorException");
+		} catch (ResponseErrorException e) {
+			assertEquals(-32801, e.getResponseError().getCode()); // ContentModified error code
+		}
+
+		// requests received after the change are not cancelled
+		monitor = new NullProgressMonitor();
+		request = lifeCycleHandler.withDocumentMonitor(JDTUtils.toURI(cu), (m) -> "current");
+		assertEquals("current", request.apply(monitor));
+		assertFalse(monitor.isCanceled());
+		closeDocument(cu);
+	}
+
+	@Test
+	public void testASTCache() throws Exception {
+		IJavaProject javaProject = newEmptyProject();
+		IPackageFragmentRoot sourceFolder = javaProject.getPackageFragmentRoot(javaProject.getProject().getFolder("src"));
+		IPackageFragment fooPackage = sourceFolder.createPackageFragment("foo", false, null);
+
+		String fooContent = "package foo;\npublic class Foo {\n\tBar bar;\n}\n";
+		String barContent = "package foo;\npublic class Bar {\n}\n";
+		ICompilationUnit foo = fooPackage.createCompilationUnit("Foo.java", fooContent, false, null);
+		ICompilationUnit bar = fooPackage.createCompilationUnit("Bar.java", barContent, false, null);
+
+		openDocument(foo, fooContent, 1);
+		openDocument(bar, barContent, 1);
+		assertEquals(bar, sharedASTProvider.getActiveJavaElement());
+
+		// the AST of the background unit is not rebuilt
+		CompilationUnit ast = ASTCache.getInstance().getAST(foo, CoreASTProvider.WAIT_YES, new NullProgressMonitor());
+		assertNotNull(ast);
+		assertSame(ast, ASTCache.getInstance().getAST(foo, CoreASTProvider.WAIT_YES, new NullProgressMonitor()));
+
+		// but its bindings may depend on the changed unit
+		changeDocumentFull(bar, "package foo;\npublic class Bar {\n\tint i;\n}\n", 2);
+		assertNotSame(ast, ASTCache.getInstance().getAST(foo, CoreASTProvider.WAIT_YES, new NullProgressMonitor()));
+
+		closeDocument(foo);
+		closeDocument(bar);
+	}
+
 	private File createTempFile(File parent, String fileName, String content) throws IOException {
 		parent.mkdirs();
 		File file = new File(parent, fileName);
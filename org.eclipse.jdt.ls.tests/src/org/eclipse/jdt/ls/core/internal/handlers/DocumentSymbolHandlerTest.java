@@ -21,6 +21,7 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.when;
 
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -160,6 +161,18 @@ public class DocumentSymbolHandlerTest extends AbstractProjectsManagerBasedTest
 		assertHasHierarchicalSymbol("bar() : void", "MyClass", SymbolKind.Method, symbols);
 	}
 
+	@Test
+	public void testPartialResults_hierarchical() throws Exception {
+		String className = "org.sample.Bar";
+		List<? extends DocumentSymbol> symbols = getHierarchicalSymbols(className);
+		DocumentSymbolParams params = new DocumentSymbolParams();
+		params.setTextDocument(new TextDocumentIdentifier(ClassFileUtil.getURI(project, className)));
+		List<DocumentSymbol> partialResults = new ArrayList<>();
+		List<Either<SymbolInformation, DocumentSymbol>> result = new DocumentSymbolHandler(preferenceManager).documentSymbol(params, partialResults::addAll, monitor);
+		assertTrue(result.isEmpty());
+		assertEquals(symbols, partialResults);
+	}
+
 	@Test
 	public void testSyntheticMember_hierarchical_noSourceAttached() throws Exception {
 		String className = "foo.bar";
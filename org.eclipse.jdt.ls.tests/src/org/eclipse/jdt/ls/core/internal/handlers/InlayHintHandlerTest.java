@@ -16,11 +16,18 @@ package org.eclipse.jdt.ls.core.internal.handlers;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.IClasspathEntry;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaCore;
@@ -507,4 +514,71 @@ public class InlayHintHandlerTest extends AbstractCompilationUnitBasedTest {
 		assertEquals(5, inlayHints.get(0).getPosition().getLine());
 		assertEquals(16, inlayHints.get(0).getPosition().getCharacter());
 	}
+
+	@Test
+	public void testBinaryMethodParameterNamesCached() throws JavaModelException {
+		preferences.setInlayHintsParameterMode(InlayHintsParameterMode.ALL);
+		ICompilationUnit unit = getWorkingCopy(
+			"src/Foo.java",
+			"public class Foo {\n" +
+			"	void foo(int i) {}\n" +
+			"	void bar() {\n" +
+			"		foo(Integer.parseInt(\"1\", 10));\n" +
+			"	}\n"+
+			"}\n"
+		);
+		ParameterNamesCache.getInstance().invalidate();
+		InlayHintsHandler handler = new InlayHintsHandler(preferenceManager);
+		InlayHintParams params = new InlayHintParams();
+		params.setTextDocument(new TextDocumentIdentifier(unit.getResource().getLocationURI().toString()));
+		params.setRange(new Range(new Position(0, 0), new Position(5, 0)));
+		List<InlayHint> inlayHints = handler.inlayHint(params, new NullProgressMonitor());
+		// only the binary method is cached
+		assertEquals(1, ParameterNamesCache.getInstance().size());
+		assertEquals(inlayHints.size(), handler.inlayHint(params, new NullProgressMonitor()).size());
+		assertEquals(1, ParameterNamesCache.getInstance().size());
+	}
+
+	@Test
+	public void testBinaryMethodParameterNamesPerProject() throws Exception {
+		preferences.setInlayHintsParameterMode(InlayHintsParameterMode.ALL);
+		File library = new File(getSourceProjectDirectory(), "eclipse/source-attachment");
+		Path jar = new Path(new File(library, "foo.jar").getAbsolutePath());
+		Path sources = new Path(new File(library, "foo-sources.jar").getAbsolutePath());
+		// the same library, with its sources in a single project
+		addLibrary(JavaCore.create(project), JavaCore.newLibraryEntry(jar, sources, null));
+		IJavaProject other = newEmptyProject();
+		addLibrary(other, JavaCore.newLibraryEntry(jar, null, null));
+		String source = "public class Sum {\n" +
+			"	int sum = foo.bar.add(1);\n" +
+			"}\n";
+		ParameterNamesCache.getInstance().invalidate();
+
+		List<InlayHint> inlayHints = getInlayHints(createFile(project.getFile("src/Sum.java"), source));
+		assertEquals(1, inlayHints.size());
+		assertEquals("...a:", inlayHints.get(0).getLabel().getLeft());
+		// no names without the sources
+		assertTrue(getInlayHints(createFile(other.getProject().getFile("src/Sum.java"), source)).isEmpty());
+		assertEquals(2, ParameterNamesCache.getInstance().size());
+	}
+
+	private List<InlayHint> getInlayHints(IFile file) {
+		InlayHintsHandler handler = new InlayHintsHandler(preferenceManager);
+		InlayHintParams params = new InlayHintParams();
+		params.setTextDocument(new TextDocumentIdentifier(file.getLocationURI().toString()));
+		params.setRange(new Range(new Position(0, 0), new Position(3, 0)));
+		return handler.inlayHint(params, new NullProgressMonitor());
+	}
+
+	private IFile createFile(IFile file, String contents) throws Exception {
+		file.create(new ByteArrayInputStream(contents.getBytes(StandardCharsets.UTF_8)), true, null);
+		waitForBackgroundJobs();
+		return file;
+	}
+
+	private static void addLibrary(IJavaProject javaProject, IClasspathEntry library) throws JavaModelException {
+		List<IClasspathEntry> entries = new ArrayList<>(Arrays.asList(javaProject.getRawClasspath()));
+		entries.add(library);
+		javaProject.setRawClasspath(entries.toArray(new IClasspathEntry[0]), null);
+	}
 }
@@ -84,6 +84,43 @@ public class ProgressReporterManagerTest {
 		monitor.done();
 	}
 
+	@Test
+	public void testUnchangedReportsAreSkipped() {
+		manager.setReportThrottle(0);
+		IProgressMonitor monitor = manager.getDefaultMonitor();
+		monitor.beginTask("Some task", 0);
+		for (int i = 0; i < 10; i++) {
+			monitor.subTask("Same sub task");
+		}
+		monitor.done();
+		// the client already removed the progress
+		monitor.done();
+		monitor.subTask("Another sub task");
+
+		ArgumentCaptor<ProgressReport> captor = ArgumentCaptor.forClass(ProgressReport.class);
+		verify(client, times(3)).sendProgressReport(captor.capture());
+		List<ProgressReport> reports = captor.getAllValues();
+		assertEquals(null, reports.get(0).getSubTask());
+		assertEquals("Same sub task", reports.get(1).getSubTask());
+		assertTrue(reports.get(2).isComplete());
+	}
+
+	@Test
+	public void testFractionalWork() {
+		manager.setReportThrottle(0);
+		IProgressMonitor monitor = manager.getDefaultMonitor();
+		monitor.beginTask("Some task", 2);
+		for (int i = 0; i < 4; i++) {
+			monitor.internalWorked(0.5);
+		}
+
+		ArgumentCaptor<ProgressReport> captor = ArgumentCaptor.forClass(ProgressReport.class);
+		verify(client, times(5)).sendProgressReport(captor.capture());
+		List<ProgressReport> reports = captor.getAllValues();
+		assertEquals(1, reports.get(2).getWorkDone());
+		assertTrue(reports.get(4).isComplete());
+	}
+
 	@Test
 	public void testJobReporting() throws InterruptedException {
 		manager.setReportThrottle(275);
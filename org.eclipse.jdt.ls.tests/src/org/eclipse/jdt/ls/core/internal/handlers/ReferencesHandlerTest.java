@@ -142,6 +142,21 @@ public class ReferencesHandlerTest extends AbstractProjectsManagerBasedTest{
 		assertEquals(fileURI, l.getUri());
 	}
 
+	@Test
+	public void testPartialResults() {
+		URI uri = project.getFile("src/org/ref/Apple.java").getRawLocationURI();
+		String fileURI = ResourceUtils.fixURI(uri);
+		ReferenceParams param = new ReferenceParams();
+		param.setPosition(new Position(3, 18));
+		param.setContext(new ReferenceContext(false));
+		param.setTextDocument(new TextDocumentIdentifier(fileURI));
+		List<Location> expected = handler.findReferences(param, monitor);
+		List<Location> partialResults = new ArrayList<>();
+		List<Location> references = handler.findReferences(param, partialResults::addAll, monitor);
+		assertTrue("references are not empty", references.isEmpty());
+		assertEquals(expected, partialResults);
+	}
+
 	// https://github.com/redhat-developer/vscode-java/issues/2227
 	@Test
 	public void testPotentialMatch() throws Exception {
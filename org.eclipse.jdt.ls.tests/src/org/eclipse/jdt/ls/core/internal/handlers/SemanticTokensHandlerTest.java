@@ -18,6 +18,7 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 
+import java.io.File;
 import java.util.Arrays;
 import java.util.Hashtable;
 import java.util.List;
@@ -34,6 +35,7 @@ import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.WorkspaceHelper;
 import org.eclipse.jdt.ls.core.internal.correction.TestOptions;
 import org.eclipse.jdt.ls.core.internal.handlers.BaseDocumentLifeCycleHandler.DocumentMonitor;
+import org.eclipse.jdt.ls.core.internal.jfr.SemanticTokensEvent;
 import org.eclipse.jdt.ls.core.internal.managers.AbstractProjectsManagerBasedTest;
 import org.eclipse.lsp4j.SemanticTokens;
 import org.eclipse.lsp4j.SemanticTokensLegend;
@@ -44,6 +46,10 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
 @RunWith(MockitoJUnitRunner.class)
 public class SemanticTokensHandlerTest extends AbstractProjectsManagerBasedTest {
 	private IJavaProject semanticTokensProject;
@@ -425,6 +431,29 @@ public class SemanticTokensHandlerTest extends AbstractProjectsManagerBasedTest
 		.endAssertion();
 	}
 
+	@Test
+	public void testSemanticTokens_FlightRecorderEvent() throws Exception {
+		String uri = getURI("Methods.java");
+		File dump = File.createTempFile("semantic-tokens", ".jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable(SemanticTokensEvent.class).withoutThreshold();
+			recording.start();
+			SemanticTokens semanticTokens = SemanticTokensHandler.full(new NullProgressMonitor(), new SemanticTokensParams(new TextDocumentIdentifier(uri)), mock(DocumentMonitor.class));
+			recording.stop();
+			recording.dump(dump.toPath());
+
+			List<RecordedEvent> events = RecordingFile.readAllEvents(dump.toPath());
+			assertEquals(1, events.size());
+			RecordedEvent event = events.get(0);
+			assertEquals(uri, event.getString("uri"));
+			assertEquals(semanticTokens.getData().size() / 5, event.getInt("tokenCount"));
+			assertTrue(event.getInt("unitSize") > 0);
+			assertFalse(event.getBoolean("cancelled"));
+		} finally {
+			dump.delete();
+		}
+	}
+
 	private String getURI(String compilationUnitName) {
 		return JDTUtils.toURI(fooPackage.getCompilationUnit(compilationUnitName));
 	}
@@ -16,6 +16,7 @@ import static org.eclipse.jdt.ls.core.internal.JsonMessageHelper.getParams;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -128,6 +129,70 @@ public class SignatureHelpHandlerTest extends AbstractCompilationUnitBasedTest {
 		assertEquals(help.getSignatures().get(help.getActiveSignature()).getLabel(), "foo(int s, String s) : int");
 	}
 
+	@Test
+	public void testSignatureHelp_cachedSignatures() throws JavaModelException {
+		IPackageFragment pack1 = sourceFolder.createPackageFragment("test1", false, null);
+		StringBuilder buf = new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class E {\n");
+		buf.append("   public int foo(String s) { }\n");
+		buf.append("   public int foo(int s) { }\n");
+		buf.append("   public int foo(int s, String s) { }\n");
+		buf.append("   public int bar(String s) { this.foo(2,  ) }\n");
+		buf.append("}\n");
+		ICompilationUnit cu = pack1.createCompilationUnit("E.java", buf.toString(), false, null);
+		SignatureHelpCache.getInstance().invalidate();
+
+		SignatureHelp first = getSignatureHelp(cu, 5, 39);
+		assertNotNull(first);
+		assertEquals(3, first.getSignatures().size());
+		assertEquals((Integer) 0, first.getActiveParameter());
+		assertEquals(1, SignatureHelpCache.getInstance().size());
+
+		// the signatures of the same invocation are reused for the next argument
+		SignatureHelp second = getSignatureHelp(cu, 5, 42);
+		assertNotNull(second);
+		assertEquals(3, second.getSignatures().size());
+		for (int i = 0; i < second.getSignatures().size(); i++) {
+			assertSame(first.getSignatures().get(i), second.getSignatures().get(i));
+		}
+		assertEquals((Integer) 1, second.getActiveParameter());
+		assertEquals("foo(int s, String s) : int", second.getSignatures().get(second.getActiveSignature()).getLabel());
+	}
+
+	@Test
+	public void testSignatureHelp_cachedSignaturesReconciled() throws JavaModelException {
+		IPackageFragment pack1 = sourceFolder.createPackageFragment("test1", false, null);
+		ICompilationUnit other = pack1.createCompilationUnit("F.java", "package test1;\npublic class F {\n}\n", false, null);
+		StringBuilder buf = new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class E {\n");
+		buf.append("   public int bar(String s) { System.out.println(  }\n");
+		buf.append("}\n");
+		ICompilationUnit cu = pack1.createCompilationUnit("E.java", buf.toString(), false, null);
+		SignatureHelpCache.getInstance().invalidate();
+
+		assertNotNull(getSignatureHelp(cu, 2, 50));
+		assertEquals(1, SignatureHelpCache.getInstance().size());
+		ICompilationUnit workingCopy = cu.getWorkingCopy(null);
+		try {
+			// the changes of the same unit are matched against its regions
+			workingCopy.getBuffer().append("// comment\n");
+			workingCopy.reconcile(ICompilationUnit.NO_AST, false, null, null);
+			assertEquals(1, SignatureHelpCache.getInstance().size());
+		} finally {
+			workingCopy.discardWorkingCopy();
+		}
+		workingCopy = other.getWorkingCopy(null);
+		try {
+			workingCopy.getBuffer().setContents("package test1;\npublic class F {\n	void println(int i) {}\n}\n");
+			workingCopy.reconcile(ICompilationUnit.NO_AST, false, null, null);
+			assertEquals(0, SignatureHelpCache.getInstance().size());
+		} finally {
+			workingCopy.discardWorkingCopy();
+		}
+	}
+
 	@Test
 	public void testSignatureHelp_binary() throws JavaModelException {
 		IPackageFragment pack1 = sourceFolder.createPackageFragment("test1", false, null);
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.managers;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IWorkspaceDescription;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.junit.Test;
+
+public class ActiveProjectBuildOrderTest extends AbstractProjectsManagerBasedTest {
+
+	@Test
+	public void testBuildOrder() throws Exception {
+		IProject core = createProject("core");
+		IProject api = createProject("api", core);
+		IProject util = createProject("util");
+		IProject app = createProject("app", api, util);
+		IProject other = createProject("other", core);
+		createProject("unrelated");
+
+		// the project, its dependents and their prerequisites
+		assertBuildOrder(ActiveProjectBuildOrder.getBuildOrder(api), core, api, util, app);
+		assertBuildOrder(ActiveProjectBuildOrder.getBuildOrder(core), core, api, util, app, other);
+		assertBuildOrder(ActiveProjectBuildOrder.getBuildOrder(other), core, other);
+	}
+
+	@Test
+	public void testConcurrentDescriptionUpdates() throws Exception {
+		IWorkspaceDescription initial = ResourcesPlugin.getWorkspace().getDescription();
+		try {
+			Thread buildOrderUpdates = new Thread(() -> {
+				for (int i = 0; i < 50; i++) {
+					String[] buildOrder = { "project" + i };
+					try {
+						ProjectsManager.updateWorkspaceDescription(description -> {
+							description.setBuildOrder(buildOrder);
+							return true;
+						});
+					} catch (CoreException e) {
+						throw new IllegalStateException(e);
+					}
+				}
+			});
+			buildOrderUpdates.start();
+			for (int i = 0; i < 50; i++) {
+				ProjectsManager.setAutoBuilding(i % 2 == 0);
+			}
+			buildOrderUpdates.join();
+
+			// no update is lost
+			IWorkspaceDescription description = ResourcesPlugin.getWorkspace().getDescription();
+			assertFalse(description.isAutoBuilding());
+			assertArrayEquals(new String[] { "project49" }, description.getBuildOrder());
+		} finally {
+			ResourcesPlugin.getWorkspace().setDescription(initial);
+		}
+	}
+
+	/**
+	 * Checks that the build order contains the expected projects only, each
+	 * after its prerequisites.
+	 */
+	private static void assertBuildOrder(String[] buildOrder, IProject... expected) throws CoreException {
+		List<String> order = Arrays.asList(buildOrder);
+		assertEquals(order.toString(), expected.length, order.size());
+		for (IProject project : expected) {
+			assertTrue(project.getName() + " is missing: " + order, order.contains(project.getName()));
+			for (IProject referenced : project.getReferencedProjects()) {
+				assertTrue(referenced.getName() + " must be built before " + project.getName() + ": " + order, order.indexOf(referenced.getName()) < order.indexOf(project.getName()));
+			}
+		}
+	}
+
+	private static IProject createProject(String name, IProject... references) throws CoreException {
+		IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(name);
+		project.create(null);
+		project.open(null);
+		IProjectDescription description = project.getDescription();
+		description.setReferencedProjects(references);
+		project.setDescription(description, null);
+		return project;
+	}
+}
@@ -29,10 +29,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.commons.io.FileUtils;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.jobs.IJobChangeEvent;
 import org.eclipse.core.runtime.jobs.IJobChangeListener;
@@ -41,6 +44,7 @@ import org.eclipse.core.runtime.jobs.JobChangeAdapter;
 import org.eclipse.jdt.core.IClasspathEntry;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.ls.core.internal.ClassFileUtil;
 import org.eclipse.jdt.ls.core.internal.DependencyUtil;
 import org.eclipse.jdt.ls.core.internal.JavaProjectHelper;
@@ -122,6 +126,89 @@ public class InvisibleProjectBuildSupportTest extends AbstractInvisibleProjectBa
 
 	}
 
+	@Test
+	public void testIncrementalLibDetection() throws Exception {
+		File projectFolder = createSourceFolderWithLibs("incrementalLibDetection");
+		IProject project = importRootFolder(projectFolder, "Test.java");
+		assertNoErrors(project);
+		IJavaProject javaProject = JavaCore.create(project);
+		assertEquals(Set.of("foo.jar"), getIndexedLibraries(project));
+		Path libPath = projectFolder.toPath().resolve(InvisibleProjectBuildSupport.LIB_FOLDER);
+
+		//add a jar
+		Path jar = libPath.resolve("bar.jar");
+		Files.copy(libPath.resolve("foo.jar"), jar);
+		projectsManager.fileChanged(jar.toUri().toString(), CHANGE_TYPE.CREATED);
+		waitForBackgroundJobs();
+		{
+			IClasspathEntry[] classpath = javaProject.getRawClasspath();
+			assertEquals("Unexpected classpath:\n" + JavaProjectHelper.toString(classpath), 4, classpath.length);
+			assertEquals("foo.jar", classpath[2].getPath().lastSegment());
+			assertEquals("foo-sources.jar", classpath[2].getSourceAttachmentPath().lastSegment());
+			assertEquals("bar.jar", classpath[3].getPath().lastSegment());
+			assertNull(classpath[3].getSourceAttachmentPath());
+			assertEquals(Set.of("foo.jar", "bar.jar"), getIndexedLibraries(project));
+		}
+
+		//add its sources
+		Path sources = libPath.resolve("bar-sources.jar");
+		Files.copy(libPath.resolve("foo-sources.jar"), sources);
+		projectsManager.fileChanged(sources.toUri().toString(), CHANGE_TYPE.CREATED);
+		waitForBackgroundJobs();
+		{
+			IClasspathEntry[] classpath = javaProject.getRawClasspath();
+			assertEquals("Unexpected classpath:\n" + JavaProjectHelper.toString(classpath), 4, classpath.length);
+			assertEquals("foo-sources.jar", getLibraryEntry(javaProject, "foo.jar").getSourceAttachmentPath().lastSegment());
+			assertEquals("bar-sources.jar", getLibraryEntry(javaProject, "bar.jar").getSourceAttachmentPath().lastSegment());
+		}
+
+		//remove the jar
+		Files.delete(jar);
+		projectsManager.fileChanged(jar.toUri().toString(), CHANGE_TYPE.DELETED);
+		waitForBackgroundJobs();
+		{
+			IClasspathEntry[] classpath = javaProject.getRawClasspath();
+			assertEquals("Unexpected classpath:\n" + JavaProjectHelper.toString(classpath), 3, classpath.length);
+			assertEquals("foo.jar", classpath[2].getPath().lastSegment());
+			assertEquals(Set.of("foo.jar"), getIndexedLibraries(project));
+		}
+
+		//add a jar in a sub folder
+		Path subFolder = Files.createDirectories(libPath.resolve("sub"));
+		Path subJar = subFolder.resolve("baz.jar");
+		Files.copy(libPath.resolve("foo.jar"), subJar);
+		projectsManager.fileChanged(subJar.toUri().toString(), CHANGE_TYPE.CREATED);
+		waitForBackgroundJobs();
+		assertNotNull(getLibraryEntry(javaProject, "baz.jar"));
+		assertEquals(Set.of("foo.jar", "baz.jar"), getIndexedLibraries(project));
+
+		//remove the sub folder
+		FileUtils.deleteDirectory(subFolder.toFile());
+		UpdateClasspathJob.getInstance().updateClasspath(javaProject, preferenceManager.getPreferences().getReferencedLibraries(), subFolder);
+		waitForBackgroundJobs();
+		{
+			IClasspathEntry[] classpath = javaProject.getRawClasspath();
+			assertEquals("Unexpected classpath:\n" + JavaProjectHelper.toString(classpath), 3, classpath.length);
+			assertNull(getLibraryEntry(javaProject, "baz.jar"));
+			assertEquals(Set.of("foo.jar"), getIndexedLibraries(project));
+		}
+		assertNoErrors(project);
+
+		//the index is dropped with the project
+		project.delete(IResource.NEVER_DELETE_PROJECT_CONTENT | IResource.FORCE, monitor);
+		assertNull(UpdateClasspathJob.getInstance().getIndexedLibraries(project));
+	}
+
+	private static Set<String> getIndexedLibraries(IProject project) {
+		Set<Path> libraries = UpdateClasspathJob.getInstance().getIndexedLibraries(project);
+		assertNotNull("Libraries not indexed", libraries);
+		return libraries.stream().map(library -> library.getFileName().toString()).collect(Collectors.toSet());
+	}
+
+	private static IClasspathEntry getLibraryEntry(IJavaProject javaProject, String jarName) throws JavaModelException {
+		return Stream.of(javaProject.getRawClasspath()).filter(cpe -> cpe.getEntryKind() == IClasspathEntry.CPE_LIBRARY && jarName.equals(cpe.getPath().lastSegment())).findFirst().orElse(null);
+	}
+
 	@Test
 	public void testDebounceJarDetection() throws Exception {
 		File projectFolder = createSourceFolderWithMissingLibs("dynamicLibDetection");
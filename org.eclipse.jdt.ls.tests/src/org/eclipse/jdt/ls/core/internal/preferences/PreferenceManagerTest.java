@@ -140,6 +140,26 @@ public class PreferenceManagerTest {
 		assertFalse("A listener has been called", called[0]);
 	}
 
+	@Test
+	public void testSubscribedPreferencesChangeListener() throws Exception {
+		PreferenceManager.initialize();
+		int called[] = new int[1];
+		IPreferencesChangeListener listener = (oldPreferences, newPreferences) -> called[0]++;
+		preferenceManager.addPreferencesChangeListener(listener, Preferences.JAVA_FORMATTER_URL);
+		try {
+			preferenceManager.update(Preferences.createFrom(Map.of("java", Map.of("format", Map.of("settings", Map.of("url", "a.xml"))))));
+			assertEquals("The listener must be called when the configuration is unknown", 1, called[0]);
+			preferenceManager.update(Preferences.createFrom(Map.of("java.format.settings.url", "a.xml", "java.format.enabled", Boolean.FALSE)));
+			assertEquals("The listener must not be called when other keys change", 1, called[0]);
+			preferenceManager.update(Preferences.createFrom(Map.of("java", Map.of("format", Map.of("settings", Map.of("url", "b.xml"))))));
+			assertEquals("The listener must be called when its keys change", 2, called[0]);
+			preferenceManager.update(Preferences.createFrom(Map.of("java", Map.of("format", Map.of("enabled", Boolean.TRUE)))));
+			assertEquals("The listener must be called when its keys are removed", 3, called[0]);
+		} finally {
+			preferenceManager.removePreferencesChangeListener(listener);
+		}
+	}
+
 	@Test
 	public void testUpdateFileHeaderTemplate() {
 		PreferenceManager.initialize();